@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks. Accepts the same command line arguments as
+ * {@code org.openjdk.jmh.Main}, but writes a JSON report to
+ * {@value #DEFAULT_RESULT_FILE} unless another result format or file is
+ * specified via {@code -rf} or {@code -rff}.
+ *
+ * @author Matthias Fussenegger
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * The name of the result file if not specified otherwise.
+     */
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+        throw new AssertionError("Holds static members only");
+    }
+
+    /**
+     * @param args the command line arguments (see {@code java -jar benchmarks.jar -h}).
+     * @throws Exception if parsing the arguments or running the benchmarks fails.
+     */
+    public static void main(String[] args) throws Exception {
+        final CommandLineOptions cmdOptions = new CommandLineOptions(args);
+
+        if (cmdOptions.shouldHelp()) {
+            cmdOptions.showHelp();
+            return;
+        } else if (cmdOptions.shouldList()) {
+            new Runner(cmdOptions).list();
+            return;
+        }
+
+        final ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmdOptions);
+
+        if (!cmdOptions.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmdOptions.getResult().hasValue()) {
+            builder.result(DEFAULT_RESULT_FILE);
+        }
+
+        new Runner(builder.build()).run();
+    }
+}
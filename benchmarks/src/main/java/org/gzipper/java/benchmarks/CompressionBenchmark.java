@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.benchmarks;
+
+import org.gzipper.java.application.ArchiveInfo;
+import org.gzipper.java.application.ArchiveInfoFactory;
+import org.gzipper.java.application.model.ArchiveType;
+import org.gzipper.java.application.model.OS;
+import org.gzipper.java.application.model.OperatingSystem;
+import org.gzipper.java.util.Settings;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks the {@code compress} and {@code extract} operations of every
+ * {@link ArchiveType} against the generated corpora of {@link Corpus}.
+ * <p>
+ * The parameter {@code threads} defines how many operations are performed
+ * concurrently (each with its own algorithm instance and output), since the
+ * algorithms themselves are single-threaded. Note that the compression level
+ * is only considered by algorithms that support it (ZIP, JAR and GZIP based).
+ *
+ * @author Matthias Fussenegger
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class CompressionBenchmark {
+
+    @Param({"ZIP", "JAR", "GZIP", "TAR", "TAR_GZ", "TAR_BZ2", "TAR_LZ", "TAR_XZ"})
+    public String archiveType;
+
+    @Param({"SMALL_TEXT", "SMALL_RANDOM", "LARGE_TEXT", "LARGE_RANDOM"})
+    public String corpus;
+
+    @Param({"1", "6", "9"})
+    public int level;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private Path _workDir;
+
+    private ArchiveType _type;
+
+    private List<File> _files;
+
+    private List<ArchiveInfo> _compressInfos;
+
+    private List<ArchiveInfo> _extractInfos;
+
+    private ExecutorService _executor;
+
+    private static File findFirstFile(File dir) throws IOException {
+        try (Stream<Path> walk = Files.walk(dir.toPath())) {
+            return walk.filter(Files::isRegularFile)
+                    .sorted()
+                    .findFirst()
+                    .map(Path::toFile)
+                    .orElseThrow(() -> new IOException("Corpus is empty"));
+        }
+    }
+
+    private static void await(List<Future<?>> futures) throws Exception {
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Settings.getInstance().init(null, new OperatingSystem(OS.UNIX));
+
+        _type = ArchiveType.valueOf(archiveType);
+        _workDir = Files.createTempDirectory("gzipper_bench");
+        final File corpusDir = Corpus.valueOf(corpus).generate(_workDir);
+        // GZIP does not support directories, hence only a single file is compressed
+        _files = _type == ArchiveType.GZIP
+                ? List.of(findFirstFile(corpusDir))
+                : List.of(Objects.requireNonNull(corpusDir.listFiles()));
+
+        _compressInfos = new ArrayList<>(threads);
+        _extractInfos = new ArrayList<>(threads);
+        _executor = Executors.newFixedThreadPool(threads);
+
+        for (int i = 0; i < threads; ++i) {
+            final Path outDir = Files.createDirectories(_workDir.resolve("out" + i));
+            final Path extractDir = Files.createDirectories(_workDir.resolve("extract" + i));
+            final var info = ArchiveInfoFactory.createArchiveInfo(
+                    _type, "archive", level, _files, outDir.toString());
+            _compressInfos.add(info);
+            // create the archive to be extracted by the extract benchmark
+            _type.getAlgorithm().compress(info);
+            final String archiveName = outDir.resolve(info.getArchiveName()).toString();
+            _extractInfos.add(ArchiveInfoFactory.createArchiveInfo(_type, archiveName, extractDir.toString()));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void cleanUpExtractedFiles() throws IOException {
+        for (ArchiveInfo info : _extractInfos) {
+            final Path extractDir = Path.of(info.getOutputPath());
+            try (Stream<Path> children = Files.list(extractDir)) {
+                for (Path child : (Iterable<Path>) children::iterator) {
+                    Corpus.delete(child);
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        _executor.shutdownNow();
+        Corpus.delete(_workDir);
+    }
+
+    @Benchmark
+    public void compress() throws Exception {
+        final List<Future<?>> futures = new ArrayList<>(threads);
+        for (ArchiveInfo info : _compressInfos) {
+            futures.add(_executor.submit(() -> {
+                _type.getAlgorithm().compress(info);
+                return null;
+            }));
+        }
+        await(futures);
+    }
+
+    @Benchmark
+    public void extract() throws Exception {
+        final List<Future<?>> futures = new ArrayList<>(threads);
+        for (ArchiveInfo info : _extractInfos) {
+            futures.add(_executor.submit(() -> {
+                _type.getAlgorithm().extract(info);
+                return null;
+            }));
+        }
+        await(futures);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Enumeration of generated corpora the benchmarks are run against. Each corpus
+ * is generated deterministically (with a fixed seed), so that results of
+ * different runs and machines remain comparable.
+ * <p>
+ * The size of each corpus can be scaled via the system property
+ * {@value #SCALE_PROPERTY} (defaults to {@code 1}).
+ *
+ * @author Matthias Fussenegger
+ */
+public enum Corpus {
+
+    /**
+     * Many small files consisting of compressible text.
+     */
+    SMALL_TEXT(2000, 4 * 1024, true),
+    /**
+     * Many small files consisting of incompressible (random) data.
+     */
+    SMALL_RANDOM(2000, 4 * 1024, false),
+    /**
+     * A few huge files consisting of compressible text.
+     */
+    LARGE_TEXT(2, 64 * 1024 * 1024, true),
+    /**
+     * A few huge files consisting of incompressible (random) data.
+     */
+    LARGE_RANDOM(2, 64 * 1024 * 1024, false);
+
+    /**
+     * Name of the system property which is used to scale the corpus size.
+     */
+    public static final String SCALE_PROPERTY = "gzipper.bench.scale";
+
+    /**
+     * The seed to be used so that generated data is always the same.
+     */
+    private static final long SEED = 0x677A6970L;
+
+    private static final String[] WORDS = {
+            "lorem", "ipsum", "dolor", "sit", "amet", "archive", "compress", "extract",
+            "gzipper", "entry", "stream", "buffer", "deflate", "inflate", "header",
+            "the", "of", "and", "to", "in", "is", "for", "with", "that", "on"
+    };
+
+    private final int _numberOfFiles;
+
+    private final int _fileSize;
+
+    private final boolean _isText;
+
+    Corpus(int numberOfFiles, int fileSize, boolean isText) {
+        _numberOfFiles = numberOfFiles;
+        _fileSize = fileSize;
+        _isText = isText;
+    }
+
+    private static double getScale() {
+        return Double.parseDouble(System.getProperty(SCALE_PROPERTY, "1"));
+    }
+
+    private static void writeText(OutputStream os, Random random, long size) throws IOException {
+        final StringBuilder sb = new StringBuilder(128);
+        long written = 0;
+        while (written < size) {
+            sb.setLength(0);
+            final int wordsPerLine = 8 + random.nextInt(8);
+            for (int i = 0; i < wordsPerLine; ++i) {
+                sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            sb.append('\n');
+            final byte[] line = sb.toString().getBytes(StandardCharsets.US_ASCII);
+            final int length = (int) Math.min(line.length, size - written);
+            os.write(line, 0, length);
+            written += length;
+        }
+    }
+
+    private static void writeRandom(OutputStream os, Random random, long size) throws IOException {
+        final byte[] buffer = new byte[64 * 1024];
+        long written = 0;
+        while (written < size) {
+            random.nextBytes(buffer);
+            final int length = (int) Math.min(buffer.length, size - written);
+            os.write(buffer, 0, length);
+            written += length;
+        }
+    }
+
+    /**
+     * Returns the total size of this corpus in bytes (without scaling).
+     *
+     * @return the total size of this corpus in bytes.
+     */
+    public long getTotalSize() {
+        return (long) _numberOfFiles * _fileSize;
+    }
+
+    /**
+     * Generates this corpus into a new folder below the specified directory.
+     * Small files are distributed among sub-folders to also reflect the cost
+     * of traversing directories.
+     *
+     * @param parent the directory in which to create the corpus folder.
+     * @return the folder which holds the generated files.
+     * @throws IOException if an I/O error occurs.
+     */
+    public File generate(Path parent) throws IOException {
+        final double scale = getScale();
+        final long fileSize = Math.max(1, (long) (_fileSize * (_numberOfFiles > 100 ? 1 : scale)));
+        final int numberOfFiles = Math.max(1, (int) (_numberOfFiles * (_numberOfFiles > 100 ? scale : 1)));
+
+        final Path root = Files.createDirectories(parent.resolve(name().toLowerCase()));
+        final Random random = new Random(SEED);
+
+        for (int i = 0; i < numberOfFiles; ++i) {
+            final Path dir = Files.createDirectories(root.resolve("dir" + (i / 100)));
+            final Path file = dir.resolve("file" + i + (_isText ? ".txt" : ".bin"));
+            try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(file))) {
+                if (_isText) {
+                    writeText(os, random, fileSize);
+                } else {
+                    writeRandom(os, random, fileSize);
+                }
+            }
+        }
+
+        return root.toFile();
+    }
+
+    /**
+     * Deletes the specified file or directory recursively.
+     *
+     * @param path the file or directory to be deleted.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(path)) {
+            for (Path p : (Iterable<Path>) walk.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+}
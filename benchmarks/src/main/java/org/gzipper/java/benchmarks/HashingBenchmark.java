@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.benchmarks;
+
+import org.gzipper.java.application.hashing.FileDigestReader;
+import org.gzipper.java.application.hashing.MessageDigestAlgorithm;
+import org.gzipper.java.application.hashing.MessageDigestProvider;
+import org.gzipper.java.application.hashing.MessageDigestResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the throughput of hashing a single file with each
+ * {@link MessageDigestAlgorithm} using different buffer sizes and strategies
+ * of reading the file. The {@link Strategy#READ_ALL_BYTES} strategy ignores the
+ * buffer size and {@link Strategy#MMAP} uses it as the size of mapped windows.
+ * {@link Strategy#READER} uses {@link FileDigestReader}, which also ignores
+ * the buffer size.
+ *
+ * @author Matthias Fussenegger
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class HashingBenchmark {
+
+    /**
+     * Strategies of reading the file to be hashed.
+     */
+    public enum Strategy {
+        STREAM, READ_ALL_BYTES, MMAP, CHANNEL, READER
+    }
+
+    @Param({"MD5", "SHA_1", "SHA_256", "SHA_384", "SHA_512", "CRC32C", "ADLER_32", "XXHASH_64"})
+    public String algorithm;
+
+    @Param({"8192", "65536", "1048576"})
+    public int bufferSize;
+
+    @Param({"STREAM", "READ_ALL_BYTES", "MMAP", "CHANNEL", "READER"})
+    public String strategy;
+
+    @Param({"1048576", "67108864"})
+    public int fileSize;
+
+    private Path _file;
+
+    private MessageDigestAlgorithm _algorithm;
+
+    private Strategy _strategy;
+
+    private ByteBuffer _directBuffer;
+
+    private byte[] _heapBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        _algorithm = MessageDigestAlgorithm.valueOf(algorithm);
+        _strategy = Strategy.valueOf(strategy);
+        _file = Files.createTempFile("gzipper_bench_hash", null);
+        _directBuffer = ByteBuffer.allocateDirect(bufferSize);
+        _heapBuffer = new byte[bufferSize];
+
+        final Random random = new Random(fileSize);
+        final byte[] chunk = new byte[64 * 1024];
+        try (OutputStream os = Files.newOutputStream(_file)) {
+            for (long written = 0; written < fileSize; written += chunk.length) {
+                random.nextBytes(chunk);
+                os.write(chunk, 0, (int) Math.min(chunk.length, fileSize - written));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(_file);
+    }
+
+    private MessageDigestResult hashStream() throws Exception {
+        final MessageDigestProvider provider = MessageDigestProvider.createProvider(_algorithm);
+        try (FileInputStream fis = new FileInputStream(_file.toFile());
+             BufferedInputStream bis = new BufferedInputStream(fis, bufferSize)) {
+            int readBytes;
+            while ((readBytes = bis.read(_heapBuffer, 0, _heapBuffer.length)) > 0) {
+                provider.updateHash(_heapBuffer, 0, readBytes);
+            }
+        }
+        return provider.computeHash();
+    }
+
+    private MessageDigestResult hashAllBytes() throws IOException {
+        final byte[] bytes = Files.readAllBytes(_file);
+        return MessageDigestProvider.computeHash(bytes, _algorithm);
+    }
+
+    private byte[] hashMapped() throws Exception {
+        final MessageDigest digest = MessageDigestProvider.createMessageDigest(_algorithm);
+        try (FileChannel channel = FileChannel.open(_file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            for (long position = 0; position < size; position += bufferSize) {
+                final long length = Math.min(bufferSize, size - position);
+                final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                digest.update(window);
+            }
+        }
+        return digest.digest();
+    }
+
+    private byte[] hashChannel() throws Exception {
+        final MessageDigest digest = MessageDigestProvider.createMessageDigest(_algorithm);
+        try (FileChannel channel = FileChannel.open(_file, StandardOpenOption.READ)) {
+            _directBuffer.clear();
+            while (channel.read(_directBuffer) != -1) {
+                _directBuffer.flip();
+                digest.update(_directBuffer);
+                _directBuffer.clear();
+            }
+        }
+        return digest.digest();
+    }
+
+    private MessageDigestResult hashReader() throws Exception {
+        final MessageDigestProvider provider = MessageDigestProvider.createProvider(_algorithm);
+        FileDigestReader.read(_file, provider::updateHash, () -> true);
+        return provider.computeHash();
+    }
+
+    @Benchmark
+    public Object hash() throws Exception {
+        return switch (_strategy) {
+            case STREAM -> hashStream();
+            case READ_ALL_BYTES -> hashAllBytes();
+            case MMAP -> hashMapped();
+            case CHANNEL -> hashChannel();
+            case READER -> hashReader();
+        };
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.benchmarks;
+
+import org.gzipper.java.application.hashing.MessageDigestProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link MessageDigestProvider#convertToHex(byte[])} against
+ * alternative implementations, using the digest lengths of the supported
+ * message digest algorithms (MD5 to SHA-512).
+ *
+ * @author Matthias Fussenegger
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HexConversionBenchmark {
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    @Param({"16", "20", "32", "48", "64"})
+    public int digestLength;
+
+    private byte[] _digest;
+
+    @Setup
+    public void setUp() {
+        _digest = new byte[digestLength];
+        new Random(digestLength).nextBytes(_digest);
+    }
+
+    @Benchmark
+    public String convertToHex() {
+        return MessageDigestProvider.convertToHex(_digest);
+    }
+
+    @Benchmark
+    public String lookupTable() {
+        final char[] chars = new char[_digest.length * 2];
+        for (int i = 0; i < _digest.length; ++i) {
+            final int value = _digest[i] & 0xFF;
+            chars[i * 2] = HEX_DIGITS[value >>> 4];
+            chars[i * 2 + 1] = HEX_DIGITS[value & 0x0F];
+        }
+        return new String(chars);
+    }
+
+    @Benchmark
+    public String hexFormat() {
+        return HexFormat.of().withUpperCase().formatHex(_digest);
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.gzipper.java.application
 
+import org.gzipper.java.application.hashing.MessageDigestAlgorithm
 import org.gzipper.java.application.model.ArchiveType
 import java.io.File
 
@@ -47,6 +48,30 @@ class ArchiveInfo internal constructor(
     var outputPath: String
 ) {
 
+    /**
+     * The algorithm of the sidecar checksum manifest to be written together
+     * with the archive, or <code>null</code> if no manifest is to be written.
+     */
+    var manifestAlgorithm: MessageDigestAlgorithm? = null
+
+    /**
+     * True if files with identical content are to be stored only once, e.g.
+     * as hard links in case of TAR archives.
+     */
+    var deduplicate: Boolean = false
+
+    /**
+     * The maximum size of each volume in bytes if the archive is to be split
+     * into volumes, or zero if a single file is to be written.
+     */
+    var volumeSize: Long = 0
+
+    /**
+     * True if the extracted entries are to be recorded in a journal, so that
+     * an interrupted extraction can be resumed without starting over.
+     */
+    var resumable: Boolean = false
+
     override fun toString(): String {
         return """
             ArchiveInfo{
@@ -54,7 +79,11 @@ class ArchiveInfo internal constructor(
             Compression level : ${level},
             Files : ${files},
             Archive name : ${archiveName},
-            Output path : ${outputPath}}
+            Output path : ${outputPath},
+            Manifest algorithm : ${manifestAlgorithm},
+            Deduplicate : ${deduplicate},
+            Volume size : ${volumeSize},
+            Resumable : ${resumable}}
             """.trimIndent()
     }
 }
\ No newline at end of file
@@ -16,9 +16,11 @@
  */
 package org.gzipper.java.application;
 
+import org.gzipper.java.application.hashing.MessageDigestAlgorithm;
 import org.gzipper.java.application.model.ArchiveType;
 import org.gzipper.java.application.util.FileUtils;
 import org.gzipper.java.exceptions.GZipperException;
+import org.gzipper.java.util.Settings;
 
 import java.io.File;
 import java.util.*;
@@ -31,6 +33,32 @@ import java.util.zip.Deflater;
  */
 public final class ArchiveInfoFactory {
 
+    /**
+     * Name of the property which defines the algorithm of the checksum
+     * manifest to be written alongside each archive. If empty, no manifest
+     * is written.
+     */
+    private static final String MANIFEST_ALGORITHM_PROPERTY = "compressionManifestAlgorithm";
+
+    /**
+     * Name of the property which defines whether files with identical content
+     * are to be stored only once in each archive.
+     */
+    private static final String DEDUPLICATION_PROPERTY = "compressionDeduplicationEnabled";
+
+    /**
+     * Name of the property which defines the maximum size of each volume in
+     * MiB if archives are to be split into volumes. If zero, archives are
+     * written as a single file.
+     */
+    private static final String VOLUME_SIZE_PROPERTY = "compressionVolumeSize";
+
+    /**
+     * Name of the property which defines whether extracted entries are
+     * recorded in a journal, so that interrupted extractions can be resumed.
+     */
+    private static final String EXTRACTION_JOURNAL_PROPERTY = "extractionJournalEnabled";
+
     private ArchiveInfoFactory() {
         throw new AssertionError("Holds static members only");
     }
@@ -174,6 +202,26 @@ public final class ArchiveInfoFactory {
         return new ArchiveInfo(archiveType, archiveName, 0, null, outputPath);
     }
 
+    /**
+     * Applies the settings of the application to the specified
+     * {@link ArchiveInfo}, i.e. deduplication, the checksum manifest and the
+     * size of the volumes when compressing and the journal when extracting.
+     *
+     * @param info the {@link ArchiveInfo} of an operation.
+     */
+    public static void applySettings(ArchiveInfo info) {
+        info.setResumable(Settings.getInstance().evaluateProperty(EXTRACTION_JOURNAL_PROPERTY));
+        info.setDeduplicate(Settings.getInstance().evaluateProperty(DEDUPLICATION_PROPERTY));
+        final int volumeSize = Settings.getInstance().evaluateIntProperty(VOLUME_SIZE_PROPERTY, 0);
+        info.setVolumeSize(Math.max(0, volumeSize) * 1024L * 1024L);
+        final String property = Settings.getInstance().getProperty(MANIFEST_ALGORITHM_PROPERTY);
+        if (property != null && !property.isBlank()) {
+            Arrays.stream(MessageDigestAlgorithm.values())
+                    .filter(algorithm -> algorithm.getAlgorithmName().equalsIgnoreCase(property.trim()))
+                    .findFirst().ifPresent(info::setManifestAlgorithm);
+        }
+    }
+
     private static String checkAddExtension(String archiveName, ArchiveType archiveType) {
 
         String name = archiveName;
@@ -18,6 +18,7 @@ package org.gzipper.java.application;
 
 import org.apache.commons.compress.CompressException;
 import org.gzipper.java.application.algorithm.CompressionAlgorithm;
+import org.gzipper.java.application.algorithm.DeduplicationStats;
 import org.gzipper.java.application.concurrency.Interruptible;
 import org.gzipper.java.application.observer.Listener;
 import org.gzipper.java.exceptions.GZipperException;
@@ -93,6 +94,7 @@ public final class ArchiveOperation implements Callable<Boolean>, Interruptible
         switch (_compressionMode) {
             case COMPRESS -> _algorithm.compress(_archiveInfo);
             case DECOMPRESS -> _algorithm.extract(_archiveInfo);
+            case UPDATE -> _algorithm.update(_archiveInfo);
             default -> throw GZipperException.createWithReason(
                     GZipperException.Reason.ILLEGAL_MODE,
                     "Mode could not be determined");
@@ -117,6 +119,15 @@ public final class ArchiveOperation implements Callable<Boolean>, Interruptible
         return _archiveInfo;
     }
 
+    /**
+     * Returns the statistics about the files which have been deduplicated.
+     *
+     * @return the statistics about the files which have been deduplicated.
+     */
+    public DeduplicationStats getDeduplicationStats() {
+        return _algorithm.getDeduplicationStats();
+    }
+
     /**
      * Returns true if this operation is completed, false otherwise.
      *
@@ -146,6 +157,8 @@ public final class ArchiveOperation implements Callable<Boolean>, Interruptible
                 if (cause instanceof GZipperException inner) {
                     if (inner.getReason() == GZipperException.Reason.NO_DIR_SUPPORTED) {
                         Log.w(I18N.getString("noDirSupported.text"), true);
+                    } else if (inner.getReason() == GZipperException.Reason.NO_UPDATE_SUPPORTED) {
+                        Log.w(I18N.getString("noUpdateSupported.text"), true);
                     }
                 }
                 Log.e(ex.getLocalizedMessage(), ex);
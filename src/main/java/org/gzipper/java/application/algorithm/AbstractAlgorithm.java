@@ -19,11 +19,15 @@ package org.gzipper.java.application.algorithm;
 import org.apache.commons.compress.archivers.ArchiveException;
 import org.apache.commons.compress.compressors.CompressorException;
 import org.gzipper.java.application.ArchiveInfo;
+import org.gzipper.java.application.hashing.MessageDigestAlgorithm;
 import org.gzipper.java.application.observer.NotifierImpl;
 import org.gzipper.java.application.predicates.Predicates;
+import org.gzipper.java.exceptions.GZipperException;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Objects;
 import java.util.function.Predicate;
 
@@ -36,6 +40,12 @@ import java.util.function.Predicate;
  */
 public abstract class AbstractAlgorithm extends NotifierImpl<Integer> implements CompressionAlgorithm {
 
+    /**
+     * The size of the buffer used when computing hash values of entries. It is
+     * large enough for the digests to be updated in parallel.
+     */
+    protected static final int HASH_BUFFER_SIZE = 64 * 1024;
+
     /**
      * If set to true the currently running operation will be interrupted.
      */
@@ -46,6 +56,37 @@ public abstract class AbstractAlgorithm extends NotifierImpl<Integer> implements
      */
     protected int compressionLevel;
 
+    /**
+     * The algorithm of the sidecar checksum manifest to be written when
+     * compressing, or {@code null} if no manifest is to be written.
+     */
+    protected MessageDigestAlgorithm manifestAlgorithm;
+
+    /**
+     * True if files with identical content are to be stored only once when
+     * compressing, if supported by the archive type.
+     */
+    protected boolean deduplicate;
+
+    /**
+     * The maximum size of each volume in bytes when compressing, or zero if
+     * the archive is not to be split into volumes. Only supported by archive
+     * types which are derived from {@link ArchivingAlgorithm}.
+     */
+    protected long volumeSize;
+
+    /**
+     * True if extracted entries are to be recorded in a journal, so that an
+     * interrupted extraction can be resumed. Only supported by archive types
+     * which are derived from {@link ArchivingAlgorithm}.
+     */
+    protected boolean resumable;
+
+    /**
+     * The statistics about duplicate files of the last compression.
+     */
+    protected final DeduplicationStats deduplicationStats = new DeduplicationStats();
+
     /**
      * Object used to update the progress of the algorithm.
      */
@@ -56,6 +97,12 @@ public abstract class AbstractAlgorithm extends NotifierImpl<Integer> implements
      */
     protected Predicate<String> filterPredicate;
 
+    /**
+     * True if a predicate has been set, i.e. if files or entries may be
+     * skipped. Otherwise, {@link #filterPredicate} accepts everything.
+     */
+    protected boolean filtered = false;
+
     /**
      * The default constructor of this class.
      */
@@ -97,22 +144,70 @@ public abstract class AbstractAlgorithm extends NotifierImpl<Integer> implements
         changeValue(algorithmProgress.getProgress());
     }
 
+    /**
+     * Copies the remaining data of the specified input stream to the specified
+     * output stream and updates the progress accordingly.
+     *
+     * @param input  the stream to be read.
+     * @param output the stream to be written.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected final void copyStream(InputStream input, OutputStream output) throws IOException {
+        final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+        int readBytes;
+        while (!interrupt && (readBytes = input.read(buffer)) != -1) {
+            output.write(buffer, 0, readBytes);
+            updateProgress(readBytes);
+        }
+    }
+
     @Override
     public final void compress(ArchiveInfo info) throws IOException, ArchiveException, CompressorException {
         final File[] files = new File[Objects.requireNonNull(info.getFiles()).size()];
         compressionLevel = info.getLevel();
+        manifestAlgorithm = info.getManifestAlgorithm();
+        deduplicate = info.getDeduplicate();
+        volumeSize = info.getVolumeSize();
         compress(info.getFiles().toArray(files), info.getOutputPath(), info.getArchiveName());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Updating is not supported by default, since most archive types would
+     * require the archive to be recompressed as a whole.
+     */
+    @Override
+    public void update(File[] files, String location, String name)
+            throws IOException, ArchiveException, CompressorException {
+        throw new IOException(GZipperException.createWithReason(
+                GZipperException.Reason.NO_UPDATE_SUPPORTED,
+                "Archive type does not support updating"));
+    }
+
+    @Override
+    public final void update(ArchiveInfo info) throws IOException, ArchiveException, CompressorException {
+        final File[] files = new File[Objects.requireNonNull(info.getFiles()).size()];
+        compressionLevel = info.getLevel();
+        update(info.getFiles().toArray(files), info.getOutputPath(), info.getArchiveName());
+    }
+
     @Override
     public final void extract(ArchiveInfo info) throws IOException, ArchiveException, CompressorException {
+        resumable = info.getResumable();
         extract(info.getOutputPath(), info.getArchiveName());
     }
 
+    @Override
+    public final DeduplicationStats getDeduplicationStats() {
+        return deduplicationStats;
+    }
+
     @Override
     public final void setPredicate(Predicate<String> predicate) {
         if (predicate != null) {
             filterPredicate = predicate;
+            filtered = true;
         }
     }
 
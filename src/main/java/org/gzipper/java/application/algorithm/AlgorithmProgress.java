@@ -61,12 +61,13 @@ public final class AlgorithmProgress {
     }
 
     /**
-     * Returns the precise progress.
+     * Returns the precise progress, which is always zero if the total size is
+     * unknown, e.g. when reading from a stream.
      *
      * @return the current progress.
      */
     double getProgressPrecise() {
-        return ((double) _totalBytesRead / _totalSize) * 100;
+        return _totalSize > 0 ? ((double) _totalBytesRead / _totalSize) * 100 : 0;
     }
 
     /**
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm;
+
+/**
+ * Information about a single entry of an archive as returned by
+ * {@link CompressionAlgorithm#list(String)}.
+ *
+ * @author Matthias Fussenegger
+ */
+public final class ArchiveEntryInfo {
+
+    /**
+     * Value of sizes and times which are not known.
+     */
+    public static final long UNKNOWN = -1;
+
+    private final String _name;
+
+    private final long _size;
+
+    private final long _compressedSize;
+
+    private final long _lastModified;
+
+    private final String _method;
+
+    private final boolean _directory;
+
+    /**
+     * Constructs a new instance of this class using the specified values.
+     *
+     * @param name           the name of the entry.
+     * @param size           the uncompressed size or {@link #UNKNOWN}.
+     * @param compressedSize the compressed size or {@link #UNKNOWN}.
+     * @param lastModified   the modification time in milliseconds since the
+     *                       epoch or {@link #UNKNOWN}.
+     * @param method         the compression method, may be {@code null}.
+     * @param directory      true if the entry is a directory.
+     */
+    public ArchiveEntryInfo(String name, long size, long compressedSize,
+                            long lastModified, String method, boolean directory) {
+        _name = name;
+        _size = size;
+        _compressedSize = compressedSize;
+        _lastModified = lastModified;
+        _method = method;
+        _directory = directory;
+    }
+
+    /**
+     * Returns the name of the entry, which is its path within the archive.
+     *
+     * @return the name of the entry.
+     */
+    public String getName() {
+        return _name;
+    }
+
+    /**
+     * Returns the uncompressed size of the entry.
+     *
+     * @return the uncompressed size or {@link #UNKNOWN}.
+     */
+    public long getSize() {
+        return _size;
+    }
+
+    /**
+     * Returns the compressed size of the entry. This is only known if each
+     * entry is compressed individually, e.g. in case of ZIP.
+     *
+     * @return the compressed size or {@link #UNKNOWN}.
+     */
+    public long getCompressedSize() {
+        return _compressedSize;
+    }
+
+    /**
+     * Returns the modification time of the entry.
+     *
+     * @return the modification time in milliseconds since the epoch or
+     * {@link #UNKNOWN}.
+     */
+    public long getLastModified() {
+        return _lastModified;
+    }
+
+    /**
+     * Returns the compression method of the entry, e.g. {@code DEFLATED} in
+     * case of ZIP. For tarballs, this is the compressor of the whole archive.
+     *
+     * @return the compression method or {@code null} if not compressed or
+     * unknown.
+     */
+    public String getMethod() {
+        return _method;
+    }
+
+    /**
+     * Returns whether the entry is a directory.
+     *
+     * @return true if the entry is a directory.
+     */
+    public boolean isDirectory() {
+        return _directory;
+    }
+
+    @Override
+    public String toString() {
+        return _name;
+    }
+}
@@ -21,13 +21,29 @@ import org.apache.commons.compress.compressors.CompressorException;
 import org.apache.commons.compress.compressors.CompressorInputStream;
 import org.apache.commons.compress.compressors.CompressorOutputStream;
 import org.apache.commons.compress.compressors.CompressorStreamFactory;
+import org.gzipper.java.application.hashing.FileDigestReader;
+import org.gzipper.java.application.hashing.MessageDigestAlgorithm;
+import org.gzipper.java.application.hashing.MessageDigestProvider;
+import org.gzipper.java.application.hashing.MessageDigestResult;
+import org.gzipper.java.application.hashing.MultiMessageDigestProvider;
 import org.gzipper.java.application.util.FileUtils;
 import org.gzipper.java.application.util.StringUtils;
+import org.gzipper.java.exceptions.GZipperException;
 import org.gzipper.java.i18n.I18N;
 import org.gzipper.java.util.Log;
 
 import java.io.*;
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author Matthias Fussenegger
@@ -54,6 +70,19 @@ public abstract class ArchivingAlgorithm extends AbstractAlgorithm {
      */
     protected final CompressorStreamFactory _compressorStreamFactory;
 
+    /**
+     * The journal of the current extraction or {@code null} if the extraction
+     * is not resumable.
+     */
+    private ExtractionJournal _journal;
+
+    /**
+     * The files which have been written by the current extraction, mapped by
+     * the names of their entries. The name of a file differs from the name of
+     * its entry if a unique name had to be generated.
+     */
+    private final Map<String, File> _extractedFiles = new HashMap<>();
+
     /**
      * Creates a new instance for archiving operations.
      *
@@ -71,10 +100,66 @@ public abstract class ArchivingAlgorithm extends AbstractAlgorithm {
     public final void extract(String location, String fullname)
             throws IOException, ArchiveException, CompressorException {
 
+        fullname = getArchiveName(FileUtils.normalize(fullname));
         final File archive = new File(fullname);
-        initAlgorithmProgress(archive);
+        initAlgorithmProgress(getVolumes(archive).toArray(File[]::new));
+
+        final String displayName = FileUtils.getDisplayName(fullname);
+        final File outputFolder = new File(FileUtils.combine(location, displayName));
+
+        try {
+            if (resumable) {
+                extractResumable(archive, outputFolder, displayName);
+            } else {
+                extractEntries(archive, outputFolder);
+            }
+        } finally {
+            _extractedFiles.clear();
+        }
+    }
+
+    private void extractResumable(File archive, File outputFolder, String displayName)
+            throws IOException, ArchiveException, CompressorException {
+
+        final Predicate<String> predicate = filterPredicate;
+        final boolean wasFiltered = filtered;
+        try (ExtractionJournal journal = ExtractionJournal.open(outputFolder)) {
+            if (journal.isResumed()) {
+                Log.i("Resuming extraction of {0}, {1} entries have already been extracted",
+                        true, displayName, journal.getCompletedCount());
+                // skipping entries allows some archive types to seek past them
+                filterPredicate = predicate.and(journal::isPending);
+                filtered = true;
+            }
+            _journal = journal;
+            extractEntries(archive, outputFolder);
+        } finally {
+            _journal = null;
+            filterPredicate = predicate;
+            filtered = wasFiltered;
+        }
+        if (!interrupt) {
+            Files.delete(ExtractionJournal.getFile(outputFolder).toPath());
+        }
+    }
 
-        try (final FileInputStream fis = new FileInputStream(archive);
+    /**
+     * Extracts the entries of the specified archive which are accepted by the
+     * predicate. The default implementation reads the archive stream from its
+     * beginning to its end, hence all entries have to be read, even if most of
+     * them are skipped. Specific algorithms may e.g. read a central directory
+     * instead to only read the content of the accepted entries.
+     *
+     * @param archive      the archive to be extracted.
+     * @param outputFolder the folder where to store the extracted entries.
+     * @throws IOException         if an I/O error occurs.
+     * @throws ArchiveException    if an error related to the archiver occurs.
+     * @throws CompressorException if an error related to the compressor occurs.
+     */
+    protected void extractEntries(File archive, File outputFolder)
+            throws IOException, ArchiveException, CompressorException {
+
+        try (final InputStream fis = openArchive(archive);
              final BufferedInputStream bis = new BufferedInputStream(fis);
              final CompressorInputStream cis = makeCompressorInputStream(bis);
              final ArchiveInputStream ais = cis != null
@@ -82,53 +167,16 @@ public abstract class ArchivingAlgorithm extends AbstractAlgorithm {
                      : makeArchiveInputStream(bis)) {
 
             ArchiveEntry entry = ais.getNextEntry();
-            fullname = FileUtils.normalize(fullname);
-
-            final String displayName = FileUtils.getDisplayName(fullname);
-            final String outputFolderName = FileUtils.combine(location, displayName);
-            final File outputFolder = new File(outputFolderName);
-
-            if (createOutputFolderIfNotExists(outputFolder)) {
-                Log.e(I18N.getString("errorCreatingDirectory.text", FileUtils.getPath(outputFolder)));
-                throw new IOException(String.format("%s could not be created", FileUtils.getPath(outputFolder)));
-            }
+            createOutputFolder(outputFolder);
 
             while (!interrupt && entry != null) {
                 final String entryName = entry.getName();
                 if (filterPredicate.test(entryName)) { // check predicate first
-                    final String uniqueName = FileUtils.generateUniqueFilename(
-                            FileUtils.getPath(outputFolder), entryName);
-                    final File newFile = new File(uniqueName);
-                    // check if entry contains a directory
-                    if (entryName.indexOf('/') > -1) {
-                        if (!newFile.getParentFile().exists()) {
-                            // also create parent directories by calling "mkdirs"
-                            if (!newFile.getParentFile().mkdirs()) {
-                                final String parentFilePath = FileUtils.getPath(newFile.getParentFile());
-                                Log.e(I18N.getString("errorCreatingDirectory.text", parentFilePath));
-                                throw new IOException(String.format("%s could not be created", parentFilePath));
-                            }
-                        }
-                    }
-                    if (!entry.isDirectory()) {
-                        // create new output stream and write bytes to file
-                        try (BufferedOutputStream bos = new BufferedOutputStream(new FileOutputStream(newFile))) {
-                            final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
-                            int readBytes;
-                            while (!interrupt && (readBytes = ais.read(buffer)) != -1) {
-                                bos.write(buffer, 0, readBytes);
-                                updateProgress(readBytes);
-                            }
-                        } catch (IOException ex) {
-                            if (!interrupt) {
-                                Log.e(ex.getLocalizedMessage(), ex);
-                                Log.e("{0}\n{1}",
-                                        I18N.getString("errorWritingFile.text"),
-                                        newFile.getPath()
-                                );
-                            }
-                            throw ex; // re-throw
-                        }
+                    final String linkName = getLinkName(entry);
+                    if (linkName != null) {
+                        extractLink(entryName, linkName, outputFolder);
+                    } else {
+                        extractEntry(entryName, entry.isDirectory() ? null : ais, outputFolder);
                     }
                 }
                 if (!interrupt) {
@@ -138,29 +186,377 @@ public abstract class ArchivingAlgorithm extends AbstractAlgorithm {
         }
     }
 
+    @Override
+    public final void extract(InputStream input, OutputStream output)
+            throws IOException, ArchiveException, CompressorException {
+
+        initAlgorithmProgress(); // as the size of the input is unknown
+
+        try (final BufferedInputStream bis = new BufferedInputStream(new CloseShieldInputStream(input));
+             final CompressorInputStream cis = makeCompressorInputStream(bis);
+             final ArchiveInputStream ais = cis != null
+                     ? makeArchiveInputStream(cis)
+                     : makeArchiveInputStream(bis)) {
+
+            ArchiveEntry entry;
+            while (!interrupt && (entry = ais.getNextEntry()) != null) {
+                // hard links have no content of their own
+                if (entry.isDirectory() || getLinkName(entry) != null || !filterPredicate.test(entry.getName())) {
+                    continue; // skip entry
+                }
+                copyStream(ais, output);
+            }
+        }
+        output.flush();
+    }
+
+    /**
+     * Returns the name of the entry to which the specified entry is a hard
+     * link, i.e. the entry has no content of its own, but the same content as
+     * the linked entry. Archive types without hard links return {@code null},
+     * which is the default.
+     *
+     * @param entry the entry as read from the archive.
+     * @return the name of the linked entry or {@code null} if the entry is
+     * not a hard link.
+     */
+    protected String getLinkName(ArchiveEntry entry) {
+        return null;
+    }
+
+    /**
+     * Extracts a hard link by copying the file to which the linked entry has
+     * been extracted before. A warning is logged if the linked entry has not
+     * been extracted, e.g. because it has not been accepted by the filter.
+     *
+     * @param entryName    the name of the link.
+     * @param linkName     the name of the linked entry.
+     * @param outputFolder the folder where to store the extracted entries.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected final void extractLink(String entryName, String linkName, File outputFolder) throws IOException {
+        extractLink(entryName, linkName, outputFolder, null);
+    }
+
+    /**
+     * Extracts a hard link by copying the file to which the linked entry has
+     * been extracted before. If the linked entry has not been extracted, e.g.
+     * because it has not been accepted by the filter, its content is read from
+     * the archive using the specified reader instead. A warning is logged if
+     * the content is not available either way.
+     *
+     * @param entryName    the name of the link.
+     * @param linkName     the name of the linked entry.
+     * @param outputFolder the folder where to store the extracted entries.
+     * @param reader       reads the content of the linked entry from the
+     *                     archive, may be {@code null}.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected final void extractLink(String entryName, String linkName, File outputFolder,
+                                     EntryReader reader) throws IOException {
+        File target = _extractedFiles.get(linkName);
+        if (target == null && _journal != null) { // extracted before the extraction has been resumed
+            target = _journal.getCompletedFile(linkName);
+        }
+        try (InputStream stream = target != null && target.isFile() ? new FileInputStream(target)
+                : reader != null ? reader.read(linkName) : null) {
+            if (stream == null) {
+                Log.w("{0} could not be extracted, because {1} has not been extracted",
+                        false, entryName, linkName);
+                return;
+            }
+            extractEntry(entryName, stream, outputFolder);
+        }
+    }
+
+    /**
+     * Creates the specified output folder if it does not exist yet.
+     *
+     * @param outputFolder the folder where to store the extracted entries.
+     * @throws IOException if the folder could not be created.
+     */
+    protected final void createOutputFolder(File outputFolder) throws IOException {
+        if (createOutputFolderIfNotExists(outputFolder)) {
+            Log.e(I18N.getString("errorCreatingDirectory.text", FileUtils.getPath(outputFolder)));
+            throw new IOException(String.format("%s could not be created", FileUtils.getPath(outputFolder)));
+        }
+    }
+
+    /**
+     * Extracts a single entry to the specified output folder. Parent
+     * directories are created if required.
+     *
+     * @param entryName    the name of the entry.
+     * @param stream       the content of the entry or {@code null} if the
+     *                     entry is a directory.
+     * @param outputFolder the folder where to store the extracted entries.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected final void extractEntry(String entryName, InputStream stream, File outputFolder) throws IOException {
+        // partially written file of a resumed extraction is overwritten
+        final File incompleteFile = _journal != null ? _journal.getIncompleteFile(entryName) : null;
+        final File newFile = incompleteFile != null ? incompleteFile : new File(
+                FileUtils.generateUniqueFilename(FileUtils.getPath(outputFolder), entryName));
+        // check if entry contains a directory
+        if (entryName.indexOf('/') > -1) {
+            if (!newFile.getParentFile().exists()) {
+                // also create parent directories by calling "mkdirs"
+                if (!newFile.getParentFile().mkdirs()) {
+                    final String parentFilePath = FileUtils.getPath(newFile.getParentFile());
+                    Log.e(I18N.getString("errorCreatingDirectory.text", parentFilePath));
+                    throw new IOException(String.format("%s could not be created", parentFilePath));
+                }
+            }
+        }
+        if (stream != null) {
+            if (_journal != null) {
+                _journal.begin(entryName, newFile);
+            }
+            // create new output stream and write bytes to file
+            try (BufferedOutputStream bos = new BufferedOutputStream(new FileOutputStream(newFile))) {
+                final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+                int readBytes;
+                while (!interrupt && (readBytes = stream.read(buffer)) != -1) {
+                    bos.write(buffer, 0, readBytes);
+                    updateProgress(readBytes);
+                }
+            } catch (IOException ex) {
+                if (!interrupt) {
+                    Log.e(ex.getLocalizedMessage(), ex);
+                    Log.e("{0}\n{1}",
+                            I18N.getString("errorWritingFile.text"),
+                            newFile.getPath()
+                    );
+                }
+                throw ex; // re-throw
+            }
+            if (!interrupt) {
+                if (_journal != null) {
+                    _journal.complete(newFile);
+                }
+                _extractedFiles.put(entryName, newFile);
+            }
+        }
+    }
+
+    @Override
+    public final void hash(String fullname, MultiMessageDigestProvider provider,
+                           BiConsumer<String, Map<MessageDigestAlgorithm, MessageDigestResult>> listener)
+            throws IOException, ArchiveException, CompressorException {
+
+        final File archive = new File(getArchiveName(fullname));
+        initAlgorithmProgress(getVolumes(archive).toArray(File[]::new));
+
+        try (final InputStream fis = openArchive(archive);
+             final BufferedInputStream bis = new BufferedInputStream(fis);
+             final CompressorInputStream cis = makeCompressorInputStream(bis);
+             final ArchiveInputStream ais = cis != null
+                     ? makeArchiveInputStream(cis)
+                     : makeArchiveInputStream(bis)) {
+
+            final byte[] buffer = new byte[HASH_BUFFER_SIZE];
+            // the hash values of hard links are those of the linked entries
+            final Map<String, Map<MessageDigestAlgorithm, MessageDigestResult>> results = new HashMap<>();
+            ArchiveEntry entry;
+
+            while (!interrupt && (entry = ais.getNextEntry()) != null) {
+                final String entryName = entry.getName();
+                if (entry.isDirectory() || !filterPredicate.test(entryName)) {
+                    continue; // skip entry
+                }
+                final String linkName = getLinkName(entry);
+                if (linkName != null) {
+                    final Map<MessageDigestAlgorithm, MessageDigestResult> result = results.get(linkName);
+                    if (result != null) {
+                        listener.accept(entryName, result);
+                    }
+                    continue;
+                }
+                provider.reset();
+                int readBytes;
+                while (!interrupt && (readBytes = ais.read(buffer)) != -1) {
+                    provider.updateHash(buffer, 0, readBytes);
+                    updateProgress(readBytes);
+                }
+                if (!interrupt) {
+                    final Map<MessageDigestAlgorithm, MessageDigestResult> result = provider.computeHash();
+                    results.put(entryName, result);
+                    listener.accept(entryName, result);
+                }
+            }
+        }
+    }
+
+    @Override
+    public final Stream<ArchiveEntryInfo> list(String fullname)
+            throws IOException, ArchiveException, CompressorException {
+        return listEntries(new File(getArchiveName(fullname))).filter(entry -> filterPredicate.test(entry.getName()));
+    }
+
+    /**
+     * Lists the entries of the specified archive lazily. The default
+     * implementation reads the archive stream, whereby the content of each
+     * entry is skipped. This allows to seek over the content of uncompressed
+     * archives, but compressed streams still have to be decompressed. Hence
+     * specific algorithms may e.g. read a central directory instead.
+     *
+     * @param archive the archive of which to list the entries.
+     * @return a stream of the entries, which closes the archive on close.
+     * @throws IOException         if an I/O error occurs.
+     * @throws ArchiveException    if an error related to the archiver occurs.
+     * @throws CompressorException if an error related to the compressor occurs.
+     */
+    protected Stream<ArchiveEntryInfo> listEntries(File archive)
+            throws IOException, ArchiveException, CompressorException {
+
+        final BufferedInputStream bis = new BufferedInputStream(openArchive(archive));
+        final ArchiveInputStream ais;
+        try {
+            final CompressorInputStream cis = makeCompressorInputStream(bis);
+            ais = cis != null ? makeArchiveInputStream(cis) : makeArchiveInputStream(bis);
+        } catch (IOException | RuntimeException ex) {
+            bis.close();
+            throw ex;
+        }
+
+        final Spliterator<ArchiveEntryInfo> spliterator = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super ArchiveEntryInfo> action) {
+                try {
+                    final ArchiveEntry entry = interrupt ? null : ais.getNextEntry();
+                    if (entry == null) {
+                        return false;
+                    }
+                    action.accept(createEntryInfo(entry));
+                    return true;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                ais.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    /**
+     * Creates the information about the specified entry.
+     *
+     * @param entry the entry as read from the archive.
+     * @return the information about the specified entry.
+     */
+    protected ArchiveEntryInfo createEntryInfo(ArchiveEntry entry) {
+        final long lastModified = entry.getLastModifiedDate() != null
+                ? entry.getLastModifiedDate().getTime()
+                : ArchiveEntryInfo.UNKNOWN;
+        return new ArchiveEntryInfo(entry.getName(), entry.getSize(), ArchiveEntryInfo.UNKNOWN,
+                lastModified, _compressionType, entry.isDirectory());
+    }
+
     @Override
     public final void compress(File[] files, String location, String name)
             throws IOException, ArchiveException, CompressorException {
 
         String archiveName = FileUtils.combine(location, name);
         initAlgorithmProgress(files);
+        deduplicationStats.reset();
+
+        deleteVolumes(archiveName); // would otherwise be read as part of the new archive
+
+        final Deduplication deduplication = deduplicate ? findDuplicates(files, archiveName) : null;
+        final File archive = new File(archiveName);
+        final ArchiveOutputStream splitStream = volumeSize > 0
+                ? makeSplitArchiveOutputStream(archive, volumeSize)
+                : null;
+        final VolumeSync volumeSync = volumeSize > 0
+                ? new VolumeSync(number -> getVolume(archiveName, number), splitStream != null ? archive : null)
+                : null;
+
+        try (volumeSync;
+             final ManifestWriter manifest = ManifestWriter.create(archiveName, manifestAlgorithm)) {
+            try (final ArchiveOutputStream aos = splitStream != null
+                    ? splitStream
+                    : openArchiveOutputStream(archiveName, volumeSync)) {
+
+                String basePath = StringUtils.EMPTY;
+                // the volumes of split streams are written by the streams themselves
+                compress(files, basePath, aos, archiveName, manifest, deduplication,
+                        splitStream != null ? volumeSync : null);
+            }
+            // the manifest is deleted on close unless the archive is complete
+            if (manifest != null && !interrupt) {
+                manifest.commit();
+            }
+        }
+    }
+
+    @Override
+    public final void compress(InputStream input, OutputStream output, String name, int level)
+            throws IOException, ArchiveException, CompressorException {
+
+        initAlgorithmProgress(); // as the size of the input is unknown
+        compressionLevel = level;
+        final ArchiveEntry entry = createStreamEntry(Objects.requireNonNull(name));
+        if (entry == null) {
+            throw new IOException(GZipperException.createWithReason(
+                    GZipperException.Reason.NO_STREAM_SUPPORTED,
+                    "Archive type requires the size of each entry in advance"));
+        }
 
-        try (final FileOutputStream fos = new FileOutputStream(archiveName);
-             final BufferedOutputStream bos = new BufferedOutputStream(fos);
+        try (final BufferedOutputStream bos = new BufferedOutputStream(new CloseShieldOutputStream(output));
              final CompressorOutputStream cos = makeCompressorOutputStream(bos);
              final ArchiveOutputStream aos = cos != null
                      ? makeArchiveOutputStream(cos)
                      : makeArchiveOutputStream(bos)) {
-
-            String basePath = StringUtils.EMPTY;
-            compress(files, basePath, aos, archiveName);
+            aos.putArchiveEntry(entry);
+            copyStream(input, aos);
+            aos.closeArchiveEntry();
         }
     }
 
-    private void compress(File[] files, String base, ArchiveOutputStream aos, String archiveName) throws IOException {
+    /**
+     * Creates the entry which holds the data of a stream, whose size is not
+     * known before the data has been written. Archive types which require the
+     * size in advance return {@code null}, which is the default.
+     *
+     * @param entryName the name of the entry.
+     * @return a new entry or {@code null} if entries of unknown size are not
+     * supported.
+     */
+    protected ArchiveEntry createStreamEntry(String entryName) {
+        return null;
+    }
 
-        final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
-        int readBytes;
+    private ArchiveOutputStream openArchiveOutputStream(String archiveName, VolumeSync volumeSync)
+            throws IOException, ArchiveException, CompressorException {
+
+        final OutputStream out;
+        if (volumeSync != null) {
+            // an existing archive would otherwise be read as the last volume
+            Files.deleteIfExists(Paths.get(archiveName));
+            out = new VolumeOutputStream(volumeSync, volumeSize);
+        } else {
+            out = new FileOutputStream(archiveName);
+        }
+        try {
+            final BufferedOutputStream bos = new BufferedOutputStream(out);
+            final CompressorOutputStream cos = makeCompressorOutputStream(bos);
+            return cos != null ? makeArchiveOutputStream(cos) : makeArchiveOutputStream(bos);
+        } catch (IOException | RuntimeException ex) {
+            out.close();
+            throw ex;
+        }
+    }
+
+    private void compress(File[] files, String base, ArchiveOutputStream aos, String archiveName,
+                          ManifestWriter manifest, Deduplication deduplication,
+                          VolumeSync completedVolumes) throws IOException {
 
         if (files.length > 0) {
             for (int i = 0; !interrupt && i < files.length; ++i) {
@@ -172,27 +568,17 @@ public abstract class ArchivingAlgorithm extends AbstractAlgorithm {
                     if (!filterPredicate.test(newFile.getName())) {
                         continue; // skip entry
                     }
-                    // read and compress the file
-                    try (BufferedInputStream buf = new BufferedInputStream(new FileInputStream(newFile))) {
-                        // create next archive entry and put it on output stream
-                        ArchiveEntry entry = aos.createArchiveEntry(newFile, entryName);
-                        aos.putArchiveEntry(entry);
-                        // write bytes to file
-                        while (!interrupt && (readBytes = buf.read(buffer)) != -1) {
-                            aos.write(buffer, 0, readBytes);
-                            updateProgress(readBytes);
-                        }
-                        aos.closeArchiveEntry();
-                    } catch (IOException ex) {
-                        if (!interrupt) {
-                            Log.e(ex.getLocalizedMessage(), ex);
-                            Log.e("{0}\n{1}", I18N.getString("errorReadingFile.text"), newFile.getPath());
-                            throw ex; // re-throw
-                        }
+                    if (deduplication == null || !compressDuplicate(
+                            newFile, entryName, aos, archiveName, manifest, deduplication)) {
+                        compressFile(newFile, entryName, aos, manifest, deduplication);
+                    }
+                    if (completedVolumes != null) {
+                        completedVolumes.syncCompletedVolumes();
                     }
                 } else if (newFile.isDirectory()) {
                     final File[] children = getChildrenExcludingArchiveToBeCreated(archiveName, newFile);
-                    compress(children, entryName + "/", aos, archiveName);
+                    compress(children, entryName + "/", aos, archiveName, manifest, deduplication,
+                            completedVolumes);
                 } else {
                     Log.i(I18N.getString("skippingUnsupportedFile.text"), true, FileUtils.getPath(newFile));
                 }
@@ -200,6 +586,238 @@ public abstract class ArchivingAlgorithm extends AbstractAlgorithm {
         }
     }
 
+    /**
+     * Collects the files to be compressed, just like they would be traversed
+     * when compressing, i.e. directories are traversed recursively and files
+     * not accepted by the predicate are skipped.
+     *
+     * @param files       the files selected to be compressed.
+     * @param base        the prefix of the entry names, which is the path of
+     *                    the parent directory within the archive.
+     * @param archiveName the full name of the archive, which is excluded.
+     * @param result      the map to which the files are added, using the name
+     *                    of their entry as key, in the order of traversal.
+     */
+    protected final void collectFiles(File[] files, String base, String archiveName, Map<String, File> result) {
+        for (File file : files) {
+            final String entryName = base + file.getName();
+            if (file.isFile()) {
+                if (filterPredicate.test(file.getName())) {
+                    result.put(entryName, file);
+                }
+            } else if (file.isDirectory()) {
+                final File[] children = getChildrenExcludingArchiveToBeCreated(archiveName, file);
+                collectFiles(children, entryName + "/", archiveName, result);
+            } else {
+                Log.i(I18N.getString("skippingUnsupportedFile.text"), true, FileUtils.getPath(file));
+            }
+        }
+    }
+
+    /**
+     * Compresses a single file and puts it as a new entry on the specified
+     * archive stream.
+     *
+     * @param file      the file to be compressed.
+     * @param entryName the name of the entry.
+     * @param aos       the stream of the archive.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected final void compressFile(File file, String entryName, ArchiveOutputStream aos) throws IOException {
+        compressFile(file, entryName, aos, null, null);
+    }
+
+    private void compressFile(File file, String entryName, ArchiveOutputStream aos,
+                              ManifestWriter manifest, Deduplication deduplication) throws IOException {
+
+        final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+        int readBytes;
+
+        // read and compress the file
+        try (BufferedInputStream buf = new BufferedInputStream(new FileInputStream(file))) {
+            // create next archive entry and put it on output stream
+            ArchiveEntry entry = aos.createArchiveEntry(file, entryName);
+            aos.putArchiveEntry(entry);
+            final long dataOffset = aos.getBytesWritten();
+            // write bytes to file
+            while (!interrupt && (readBytes = buf.read(buffer)) != -1) {
+                aos.write(buffer, 0, readBytes);
+                if (manifest != null) {
+                    manifest.update(buffer, 0, readBytes);
+                }
+                updateProgress(readBytes);
+            }
+            aos.closeArchiveEntry();
+            final String hashedValue = manifest != null && !interrupt ? manifest.completeEntry(entryName) : null;
+            if (deduplication != null && deduplication.isOriginal(entryName)) {
+                deduplication._written.put(entryName, new WrittenEntry(entry, dataOffset, hashedValue));
+            }
+        } catch (IOException ex) {
+            if (manifest != null) {
+                manifest.discardEntry();
+            }
+            if (!interrupt) {
+                Log.e(ex.getLocalizedMessage(), ex);
+                Log.e("{0}\n{1}", I18N.getString("errorReadingFile.text"), file.getPath());
+                throw ex; // re-throw
+            }
+        }
+    }
+
+    private boolean compressDuplicate(File file, String entryName, ArchiveOutputStream aos, String archiveName,
+                                      ManifestWriter manifest, Deduplication deduplication) throws IOException {
+
+        final String originalName = deduplication._duplicates.get(entryName);
+        final WrittenEntry original = originalName != null ? deduplication._written.get(originalName) : null;
+        if (original == null || !putDuplicateEntry(new File(archiveName), aos, file, entryName, original)) {
+            return false; // original has not been written or duplicates are not supported
+        }
+        if (manifest != null && original.getHashedValue() != null) {
+            manifest.writeEntry(entryName, original.getHashedValue());
+        }
+        deduplicationStats.add(file.length());
+        updateProgress(file.length());
+        return true;
+    }
+
+    /**
+     * Finds the files whose content is identical to the content of a file
+     * which is compressed before them. Only files of equal size are hashed.
+     */
+    private Deduplication findDuplicates(File[] files, String archiveName) throws IOException {
+
+        final Map<String, File> sources = new LinkedHashMap<>();
+        collectFiles(files, StringUtils.EMPTY, archiveName, sources);
+
+        final Map<Long, List<Map.Entry<String, File>>> bySize = new HashMap<>();
+        for (Map.Entry<String, File> source : sources.entrySet()) {
+            final long size = source.getValue().length();
+            if (size > 0) { // empty files do not need to be deduplicated
+                bySize.computeIfAbsent(size, key -> new ArrayList<>()).add(source);
+            }
+        }
+
+        final MessageDigest digest;
+        try {
+            digest = MessageDigestProvider.createMessageDigest(MessageDigestAlgorithm.SHA_256);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IOException("Algorithm for deduplication is not supported", ex);
+        }
+
+        final Deduplication deduplication = new Deduplication();
+        for (List<Map.Entry<String, File>> bucket : bySize.values()) {
+            if (bucket.size() < 2) {
+                continue; // file is unique
+            }
+            final Map<ByteBuffer, String> originals = new HashMap<>();
+            for (Map.Entry<String, File> source : bucket) {
+                if (interrupt) {
+                    return deduplication;
+                }
+                digest.reset();
+                try {
+                    FileDigestReader.read(source.getValue().toPath(), digest::update, () -> !interrupt);
+                } catch (IOException ex) {
+                    Log.w("File could not be checked for duplicates", ex, false);
+                    continue; // file is compressed as usual
+                }
+                final String original = originals.putIfAbsent(ByteBuffer.wrap(digest.digest()), source.getKey());
+                if (original != null) {
+                    deduplication.add(source.getKey(), original);
+                }
+            }
+        }
+        return deduplication;
+    }
+
+    /**
+     * Puts an entry for a file whose content is identical to the content of
+     * an entry which has already been written, so that the content does not
+     * have to be compressed (and stored) again. Archive types which do not
+     * support this return {@code false}, which is the default.
+     *
+     * @param archive   the archive which is being written.
+     * @param aos       the stream of the archive.
+     * @param file      the duplicate file.
+     * @param entryName the name of the entry of the duplicate file.
+     * @param original  the entry which has been written for the first file
+     *                  with the same content.
+     * @return true if the entry has been put, false if the file is to be
+     * compressed as usual.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected boolean putDuplicateEntry(File archive, ArchiveOutputStream aos, File file,
+                                        String entryName, WrittenEntry original) throws IOException {
+        return false;
+    }
+
+    /**
+     * An entry which has been written to an archive and whose content is
+     * identical to the content of at least one other file.
+     */
+    protected static final class WrittenEntry {
+
+        private final ArchiveEntry _entry;
+
+        private final long _dataOffset;
+
+        private final String _hashedValue;
+
+        private WrittenEntry(ArchiveEntry entry, long dataOffset, String hashedValue) {
+            _entry = entry;
+            _dataOffset = dataOffset;
+            _hashedValue = hashedValue;
+        }
+
+        /**
+         * Returns the entry, which has been completed, i.e. its size and, in
+         * case of ZIP archives, its checksum and compressed size are known.
+         *
+         * @return the entry which has been written.
+         */
+        public ArchiveEntry getEntry() {
+            return _entry;
+        }
+
+        /**
+         * Returns the number of bytes which had been written to the archive
+         * stream when the data of the entry began, see
+         * {@link ArchiveOutputStream#getBytesWritten()}. In case of ZIP
+         * archives, this is the offset of the compressed data in the archive.
+         *
+         * @return the offset of the data of the entry.
+         */
+        public long getDataOffset() {
+            return _dataOffset;
+        }
+
+        private String getHashedValue() {
+            return _hashedValue;
+        }
+    }
+
+    /**
+     * Holds the duplicate files of a compression and the written entries of
+     * the files which they are duplicates of.
+     */
+    private static final class Deduplication {
+
+        private final Map<String, String> _duplicates = new HashMap<>();
+
+        private final Set<String> _originals = new HashSet<>();
+
+        private final Map<String, WrittenEntry> _written = new HashMap<>();
+
+        private void add(String entryName, String originalName) {
+            _duplicates.put(entryName, originalName);
+            _originals.add(originalName);
+        }
+
+        private boolean isOriginal(String entryName) {
+            return _originals.contains(entryName);
+        }
+    }
+
     private boolean createOutputFolderIfNotExists(File outputFolder) {
         return !outputFolder.exists() && !outputFolder.mkdir();
     }
@@ -208,13 +826,128 @@ public abstract class ArchivingAlgorithm extends AbstractAlgorithm {
 
         File[] children = getFiles(FileUtils.getPath(directory));
 
+        final String manifestName = manifestAlgorithm != null
+                ? ManifestWriter.getManifestName(archiveName, manifestAlgorithm)
+                : null;
+
         children = Arrays.stream(children)
                 .filter(file -> !FileUtils.getPath(file).equals(archiveName))
+                .filter(file -> !FileUtils.getPath(file).equals(manifestName))
+                .filter(file -> !isVolume(archiveName, file))
                 .toArray(File[]::new);
 
         return children;
     }
 
+    private boolean isVolume(String archiveName, File file) {
+        // volumes only differ from each other in their trailing number
+        final String prefix = FileUtils.normalize(getVolume(archiveName, 1).getPath()).replaceFirst("\\d+$", "");
+        final String path = FileUtils.normalize(FileUtils.getPath(file));
+        return path.startsWith(prefix) && path.substring(prefix.length()).matches("\\d+");
+    }
+
+    private void deleteVolumes(String archiveName) throws IOException {
+        File volume;
+        for (int number = 1; (volume = getVolume(archiveName, number)).isFile(); ++number) {
+            Files.delete(volume.toPath());
+        }
+    }
+
+    /**
+     * Returns the volume with the specified number of a split archive. By
+     * default, the volumes are numbered sequentially and the archive itself
+     * does not exist, e.g. {@code archive.tar.gz.001}. Specific algorithms may
+     * use the naming scheme of their archive type instead.
+     *
+     * @param archiveName the full name of the archive.
+     * @param number      the number of the volume, starting with {@code 1}.
+     * @return the volume with the specified number.
+     */
+    protected File getVolume(String archiveName, int number) {
+        return new File(String.format("%s.%03d", archiveName, number));
+    }
+
+    /**
+     * Creates a stream which writes a split archive on its own. By default,
+     * {@code null} is returned, in which case the output of the regular
+     * archive stream is split into volumes as returned by
+     * {@link #getVolume(String, int)}.
+     *
+     * @param archive    the archive to be created.
+     * @param volumeSize the maximum size of each volume in bytes.
+     * @return a new stream or {@code null} to split the output of the regular
+     * archive stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected ArchiveOutputStream makeSplitArchiveOutputStream(File archive, long volumeSize) throws IOException {
+        return null;
+    }
+
+    /**
+     * Checks whether the specified archive has been split into volumes.
+     *
+     * @param archive the archive to be checked.
+     * @return true if the archive has been split into volumes.
+     */
+    protected final boolean isSplit(File archive) {
+        return getVolume(archive.getPath(), 1).isFile();
+    }
+
+    /**
+     * Returns the volumes of the specified archive in order. If the archive
+     * has not been split, the archive itself is the only volume.
+     *
+     * @param archive the archive of which to return the volumes.
+     * @return the volumes of the specified archive.
+     */
+    protected final List<File> getVolumes(File archive) {
+        final List<File> volumes = new ArrayList<>();
+        File volume;
+        for (int number = 1; (volume = getVolume(archive.getPath(), number)).isFile(); ++number) {
+            volumes.add(volume);
+        }
+        if (archive.isFile() || volumes.isEmpty()) {
+            volumes.add(archive); // e.g. the last volume of a split ZIP archive
+        }
+        return volumes;
+    }
+
+    /**
+     * Opens the specified archive for reading. The volumes of split archives
+     * are read one after another, as if they were a single file.
+     *
+     * @param archive the archive to be opened.
+     * @return a stream of the archive.
+     * @throws IOException if the archive or one of its volumes cannot be opened.
+     */
+    protected final InputStream openArchive(File archive) throws IOException {
+        final List<File> volumes = getVolumes(archive);
+        if (volumes.size() == 1) {
+            return new FileInputStream(volumes.get(0));
+        }
+        final Vector<InputStream> streams = new Vector<>(volumes.size());
+        try {
+            for (File volume : volumes) {
+                streams.add(new FileInputStream(volume));
+            }
+        } catch (IOException ex) {
+            for (InputStream stream : streams) {
+                stream.close();
+            }
+            throw ex;
+        }
+        return new SequenceInputStream(streams.elements());
+    }
+
+    private String getArchiveName(String fullname) {
+        // the first volume may be selected instead of the archive
+        final String archiveName = fullname.replaceFirst("\\.\\d+$", "");
+        if (!archiveName.equals(fullname) && getVolume(archiveName, 1).equals(new File(fullname))) {
+            return archiveName;
+        }
+        return fullname;
+    }
+
     /**
      * Creates a new instance of an {@link ArchiveInputStream}. This can be used
      * so that specific algorithms can e.g. skip the archive stream.
@@ -270,4 +1003,21 @@ public abstract class ArchivingAlgorithm extends AbstractAlgorithm {
             throws IOException, CompressorException {
         return _compressorStreamFactory.createCompressorOutputStream(_compressionType, stream);
     }
+
+    /**
+     * Reads the content of an entry from the archive which is being extracted.
+     */
+    @FunctionalInterface
+    protected interface EntryReader {
+
+        /**
+         * Opens the content of the specified entry.
+         *
+         * @param entryName the name of the entry.
+         * @return the content of the entry, which is closed by the caller, or
+         * {@code null} if the archive contains no such file.
+         * @throws IOException if an I/O error occurs.
+         */
+        InputStream read(String entryName) throws IOException;
+    }
 }
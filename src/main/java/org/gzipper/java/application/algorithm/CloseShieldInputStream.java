@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm;
+
+import java.io.FilterInputStream;
+import java.io.InputStream;
+
+/**
+ * Stream which does not close the underlying stream, which is still owned by
+ * the caller, e.g. if it is the standard input.
+ *
+ * @author Matthias Fussenegger
+ */
+final class CloseShieldInputStream extends FilterInputStream {
+
+    CloseShieldInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public void close() {
+        // the underlying stream is owned by the caller
+    }
+}
@@ -20,11 +20,22 @@ import org.apache.commons.compress.archivers.ArchiveException;
 import org.apache.commons.compress.compressors.CompressorException;
 import org.gzipper.java.application.ArchiveInfo;
 import org.gzipper.java.application.concurrency.Interruptible;
+import org.gzipper.java.application.hashing.MessageDigestAlgorithm;
+import org.gzipper.java.application.hashing.MessageDigestResult;
+import org.gzipper.java.application.hashing.MultiMessageDigestProvider;
 import org.gzipper.java.application.observer.Notifier;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Any implementing class offers methods for compression and decompression.
@@ -65,6 +76,77 @@ public interface CompressionAlgorithm extends Interruptible, Notifier<Integer> {
     void compress(ArchiveInfo info)
             throws IOException, ArchiveException, CompressorException;
 
+    /**
+     * Compresses the data read from the specified input stream and writes the
+     * compressed data to the specified output stream, e.g. to be used in shell
+     * pipelines. Archive types store the data as a single entry. Neither of
+     * the streams is closed, but the output stream is flushed.
+     *
+     * @param input  the stream of the data to be compressed.
+     * @param output the stream to which the compressed data is written.
+     * @param name   the name of the entry or the file name to be stored in
+     *               the header, may be {@code null} if not supported.
+     * @param level  the compression level, if supported by the algorithm.
+     * @throws IOException         if an I/O error occurs or if the archive
+     *                             type requires the size of each entry in
+     *                             advance, which is the case for TAR.
+     * @throws ArchiveException    if an error related to the archiver occurs.
+     * @throws CompressorException if an error related to the compressor occurs.
+     */
+    void compress(InputStream input, OutputStream output, String name, int level)
+            throws IOException, ArchiveException, CompressorException;
+
+    /**
+     * Compresses the data read from the specified channel and writes the
+     * compressed data to the other channel, see
+     * {@link #compress(InputStream, OutputStream, String, int)}.
+     *
+     * @param input  the channel of the data to be compressed.
+     * @param output the channel to which the compressed data is written.
+     * @param name   the name of the entry or the file name to be stored in
+     *               the header, may be {@code null} if not supported.
+     * @param level  the compression level, if supported by the algorithm.
+     * @throws IOException         if an I/O error occurs or if the archive
+     *                             type requires the size of each entry in
+     *                             advance.
+     * @throws ArchiveException    if an error related to the archiver occurs.
+     * @throws CompressorException if an error related to the compressor occurs.
+     */
+    default void compress(ReadableByteChannel input, WritableByteChannel output, String name, int level)
+            throws IOException, ArchiveException, CompressorException {
+        compress(Channels.newInputStream(input), Channels.newOutputStream(output), name, level);
+    }
+
+    /**
+     * Updates an existing archive with the specified files, i.e. files which
+     * are not yet contained in the archive are added and entries whose file
+     * has been modified are replaced. All other entries are kept. If the
+     * archive does not exist, it is created just like when compressing.
+     *
+     * @param files    the files to be added to the archive.
+     * @param location defines where the archive is stored.
+     * @param name     the name of the archive without the directory path.
+     * @throws IOException         if an I/O error occurs or if updating is not
+     *                             supported by the archive type.
+     * @throws ArchiveException    if an error related to the archiver occurs.
+     * @throws CompressorException if an error related to the compressor occurs.
+     */
+    void update(File[] files, String location, String name)
+            throws IOException, ArchiveException, CompressorException;
+
+    /**
+     * Updates an existing archive with the files specified in
+     * {@link ArchiveInfo}, see {@link #update(File[], String, String)}.
+     *
+     * @param info POJO that holds information required for the update.
+     * @throws IOException         if an I/O error occurs or if updating is not
+     *                             supported by the archive type.
+     * @throws ArchiveException    if an error related to the archiver occurs.
+     * @throws CompressorException if an error related to the compressor occurs.
+     */
+    void update(ArchiveInfo info)
+            throws IOException, ArchiveException, CompressorException;
+
     /**
      * Extracts an archive using the algorithm of the concrete class and stores
      * the files of the archive to the specified path.
@@ -90,6 +172,79 @@ public interface CompressionAlgorithm extends Interruptible, Notifier<Integer> {
     void extract(ArchiveInfo info)
             throws IOException, ArchiveException, CompressorException;
 
+    /**
+     * Decompresses the data read from the specified input stream and writes
+     * the decompressed data to the specified output stream. The content of
+     * the accepted entries of archive types is written one after another,
+     * whereby directories and hard links are skipped. Neither of the streams
+     * is closed, but the output stream is flushed.
+     *
+     * @param input  the stream of the compressed data.
+     * @param output the stream to which the decompressed data is written.
+     * @throws IOException         if an I/O error occurs.
+     * @throws ArchiveException    if an error related to the archiver occurs.
+     * @throws CompressorException if an error related to the compressor occurs.
+     */
+    void extract(InputStream input, OutputStream output)
+            throws IOException, ArchiveException, CompressorException;
+
+    /**
+     * Decompresses the data read from the specified channel and writes the
+     * decompressed data to the other channel, see
+     * {@link #extract(InputStream, OutputStream)}.
+     *
+     * @param input  the channel of the compressed data.
+     * @param output the channel to which the decompressed data is written.
+     * @throws IOException         if an I/O error occurs.
+     * @throws ArchiveException    if an error related to the archiver occurs.
+     * @throws CompressorException if an error related to the compressor occurs.
+     */
+    default void extract(ReadableByteChannel input, WritableByteChannel output)
+            throws IOException, ArchiveException, CompressorException {
+        extract(Channels.newInputStream(input), Channels.newOutputStream(output));
+    }
+
+    /**
+     * Computes the hash values of the entries of an archive without extracting
+     * them, i.e. the content of each entry is streamed directly into the
+     * specified provider. Directories and entries not accepted by the
+     * predicate are skipped. The provider is reset after each entry.
+     *
+     * @param fullname the filename of the archive.
+     * @param provider the provider of the digests to be computed.
+     * @param listener the listener to be notified with the name of each entry
+     *                 and its hash values, in the order of the archive.
+     * @throws IOException         if an I/O error occurs.
+     * @throws ArchiveException    if an error related to the archiver occurs.
+     * @throws CompressorException if an error related to the compressor occurs.
+     */
+    void hash(String fullname, MultiMessageDigestProvider provider,
+              BiConsumer<String, Map<MessageDigestAlgorithm, MessageDigestResult>> listener)
+            throws IOException, ArchiveException, CompressorException;
+
+    /**
+     * Lists the entries of an archive without extracting them. The entries
+     * are read lazily while the returned stream is consumed, which has to be
+     * closed afterwards. Entries not accepted by the predicate are skipped.
+     *
+     * @param fullname the filename of the archive.
+     * @return a stream of the entries, in the order of the archive.
+     * @throws IOException         if an I/O error occurs.
+     * @throws ArchiveException    if an error related to the archiver occurs.
+     * @throws CompressorException if an error related to the compressor occurs.
+     */
+    Stream<ArchiveEntryInfo> list(String fullname)
+            throws IOException, ArchiveException, CompressorException;
+
+    /**
+     * Returns the statistics about duplicate files of the last compression,
+     * which are only collected if deduplication has been enabled, see
+     * {@link ArchiveInfo#getDeduplicate()}.
+     *
+     * @return the statistics about duplicate files.
+     */
+    DeduplicationStats getDeduplicationStats();
+
     /**
      * Sets the specified {@link Predicate} which will be used as a filter when
      * compressing files or decompressing archive entries by evaluating the name
@@ -18,11 +18,17 @@ package org.gzipper.java.application.algorithm;
 
 import org.apache.commons.compress.compressors.CompressorInputStream;
 import org.apache.commons.compress.compressors.CompressorOutputStream;
+import org.gzipper.java.application.hashing.MessageDigestAlgorithm;
+import org.gzipper.java.application.hashing.MessageDigestResult;
+import org.gzipper.java.application.hashing.MultiMessageDigestProvider;
 import org.gzipper.java.application.util.FileUtils;
 import org.gzipper.java.application.util.StringUtils;
 import org.gzipper.java.exceptions.GZipperException;
 
 import java.io.*;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 /**
  * @author Matthias Fussenegger
@@ -46,15 +52,25 @@ public abstract class CompressorAlgorithm extends AbstractAlgorithm {
 
             final var options = new CompressorOptions(file.getName(), compressionLevel);
 
-            try (final FileInputStream fis = new FileInputStream(file);
-                 final BufferedInputStream bis = new BufferedInputStream(fis);
-                 final CompressorOutputStream cos = makeCompressorOutputStream(
-                         new BufferedOutputStream(new FileOutputStream(fullname)), options)) {
-                final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
-                int readBytes;
-                while (!interrupt && (readBytes = bis.read(buffer)) != -1) {
-                    cos.write(buffer, 0, readBytes);
-                    updateProgress(readBytes);
+            try (final ManifestWriter manifest = ManifestWriter.create(fullname, manifestAlgorithm)) {
+                try (final FileInputStream fis = new FileInputStream(file);
+                     final BufferedInputStream bis = new BufferedInputStream(fis);
+                     final CompressorOutputStream cos = makeCompressorOutputStream(
+                             new BufferedOutputStream(new FileOutputStream(fullname)), options)) {
+                    final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+                    int readBytes;
+                    while (!interrupt && (readBytes = bis.read(buffer)) != -1) {
+                        cos.write(buffer, 0, readBytes);
+                        if (manifest != null) {
+                            manifest.update(buffer, 0, readBytes);
+                        }
+                        updateProgress(readBytes);
+                    }
+                }
+                // the manifest is deleted on close unless the file is complete
+                if (manifest != null && !interrupt) {
+                    manifest.completeEntry(file.getName());
+                    manifest.commit();
                 }
             }
         } else {
@@ -64,6 +80,31 @@ public abstract class CompressorAlgorithm extends AbstractAlgorithm {
         }
     }
 
+    @Override
+    public final void compress(InputStream input, OutputStream output, String name, int level) throws IOException {
+
+        initAlgorithmProgress(); // as the size of the input is unknown
+        compressionLevel = level;
+        final var options = new CompressorOptions(name, compressionLevel);
+
+        try (final CompressorOutputStream cos = makeCompressorOutputStream(
+                new BufferedOutputStream(new CloseShieldOutputStream(output)), options)) {
+            copyStream(input, cos);
+        }
+    }
+
+    @Override
+    public final void extract(InputStream input, OutputStream output) throws IOException {
+
+        initAlgorithmProgress(); // as the size of the input is unknown
+
+        try (final CompressorInputStream cis = makeCompressorInputStream(
+                new BufferedInputStream(new CloseShieldInputStream(input)), new CompressorOptions())) {
+            copyStream(cis, output);
+        }
+        output.flush();
+    }
+
     @Override
     public final void extract(String location, String fullname) throws IOException {
 
@@ -100,6 +141,65 @@ public abstract class CompressorAlgorithm extends AbstractAlgorithm {
         }
     }
 
+    @Override
+    public final void hash(String fullname, MultiMessageDigestProvider provider,
+                           BiConsumer<String, Map<MessageDigestAlgorithm, MessageDigestResult>> listener)
+            throws IOException {
+
+        final File archive = new File(fullname);
+
+        // check predicate first
+        if (!filterPredicate.test(archive.getName())) {
+            return; // ignore file
+        }
+
+        initAlgorithmProgress(archive);
+        CompressorOptions options = new CompressorOptions();
+
+        try (final CompressorInputStream gcis = makeCompressorInputStream(
+                new BufferedInputStream(new FileInputStream(archive)), options)) {
+
+            // use name as defined in header if present, like on extraction
+            final String entryName = StringUtils.isNullOrEmpty(options._name)
+                    ? FileUtils.getDisplayName(fullname)
+                    : options._name;
+
+            provider.reset();
+            final byte[] buffer = new byte[HASH_BUFFER_SIZE];
+            int readBytes;
+            while (!interrupt && (readBytes = gcis.read(buffer)) != -1) {
+                provider.updateHash(buffer, 0, readBytes);
+                updateProgress(readBytes);
+            }
+            if (!interrupt) {
+                listener.accept(entryName, provider.computeHash());
+            }
+        }
+    }
+
+    @Override
+    public final Stream<ArchiveEntryInfo> list(String fullname) throws IOException {
+
+        final File archive = new File(fullname);
+
+        // check predicate first
+        if (!filterPredicate.test(archive.getName())) {
+            return Stream.empty();
+        }
+
+        CompressorOptions options = new CompressorOptions();
+
+        // only the header is read, the size is unknown without decompression
+        try (final CompressorInputStream cis = makeCompressorInputStream(
+                new BufferedInputStream(new FileInputStream(archive)), options)) {
+            final String entryName = StringUtils.isNullOrEmpty(options._name)
+                    ? FileUtils.getDisplayName(fullname)
+                    : options._name;
+            return Stream.of(new ArchiveEntryInfo(entryName, ArchiveEntryInfo.UNKNOWN,
+                    archive.length(), archive.lastModified(), null, false));
+        }
+    }
+
     /**
      * Creates a new instance of {@link CompressorInputStream}. This is used so
      * that specific algorithms can e.g. apply individual parameters.
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm;
+
+/**
+ * Statistics about the files which have not been compressed because their
+ * content is identical to the content of a file which has already been
+ * stored in the archive.
+ *
+ * @author Matthias Fussenegger
+ */
+public final class DeduplicationStats {
+
+    private volatile int _duplicateCount;
+
+    private volatile long _savedBytes;
+
+    /**
+     * Adds a duplicate file of the specified size.
+     *
+     * @param size the size of the duplicate file.
+     */
+    synchronized void add(long size) {
+        ++_duplicateCount;
+        _savedBytes += size;
+    }
+
+    /**
+     * Resets the statistics, e.g. before a new archive is created.
+     */
+    synchronized void reset() {
+        _duplicateCount = 0;
+        _savedBytes = 0;
+    }
+
+    /**
+     * Returns the number of files which have been stored as duplicates.
+     *
+     * @return the number of duplicate files.
+     */
+    public int getDuplicateCount() {
+        return _duplicateCount;
+    }
+
+    /**
+     * Returns the number of uncompressed bytes which did not have to be
+     * compressed (and stored again in case of TAR archives).
+     *
+     * @return the total size of the duplicate files.
+     */
+    public long getSavedBytes() {
+        return _savedBytes;
+    }
+}
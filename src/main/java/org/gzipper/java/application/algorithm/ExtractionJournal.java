@@ -0,0 +1,290 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm;
+
+import java.io.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Append-only journal of the entries which have been extracted to an output
+ * folder, so that an interrupted extraction can be resumed. Before an entry
+ * is written, its name and the path of its file are recorded, and once the
+ * file is complete, its size. If the journal already exists when opened, the
+ * extraction is resumed: an entry whose file still has the recorded size is
+ * skipped, whereas the file of an entry which has not been completed, i.e.
+ * the file written last, is overwritten instead of writing another file with
+ * a unique name next to it. Directories are not recorded, since creating
+ * them again is harmless.
+ *
+ * @author Matthias Fussenegger
+ */
+final class ExtractionJournal implements Closeable {
+
+    /**
+     * The extension of the journal, which is appended to the output folder.
+     */
+    static final String EXTENSION = ".journal";
+
+    private static final byte BEGIN = 'B';
+
+    private static final byte COMPLETE = 'C';
+
+    private final File _outputFolder;
+
+    private final Map<String, Record> _completed = new HashMap<>();
+
+    private final Map<String, String> _incomplete = new HashMap<>();
+
+    private final boolean _resumed;
+
+    private final DataOutputStream _stream;
+
+    private final FileOutputStream _fileStream;
+
+    private ExtractionJournal(File journal, File outputFolder) throws IOException {
+        _outputFolder = outputFolder;
+        _resumed = journal.isFile();
+        final long length = _resumed ? read(journal) : 0;
+        _fileStream = new FileOutputStream(journal, true);
+        try {
+            // a record which has been truncated, e.g. by a crash, is overwritten
+            _fileStream.getChannel().truncate(length);
+        } catch (IOException ex) {
+            _fileStream.close();
+            throw ex;
+        }
+        _stream = new DataOutputStream(new BufferedOutputStream(_fileStream));
+    }
+
+    /**
+     * Opens the journal of the specified output folder, which is created if
+     * it does not exist yet.
+     *
+     * @param outputFolder the folder where to store the extracted entries.
+     * @return the journal of the output folder.
+     * @throws IOException if the journal cannot be read or created.
+     */
+    static ExtractionJournal open(File outputFolder) throws IOException {
+        return new ExtractionJournal(getFile(outputFolder), outputFolder);
+    }
+
+    /**
+     * Returns the journal file of the specified output folder.
+     *
+     * @param outputFolder the folder where to store the extracted entries.
+     * @return the journal file, which may not exist.
+     */
+    static File getFile(File outputFolder) {
+        return new File(outputFolder.getPath() + EXTENSION);
+    }
+
+    /**
+     * Reads the records of the specified journal.
+     *
+     * @param journal the journal to be read.
+     * @return the length of the journal up to the end of the last complete
+     * record.
+     * @throws IOException if the journal cannot be read or is corrupt.
+     */
+    private long read(File journal) throws IOException {
+        final CountingInputStream counter = new CountingInputStream(
+                new BufferedInputStream(new FileInputStream(journal)));
+        long length = 0;
+        String entryName = null;
+        String path = null;
+        try (DataInputStream stream = new DataInputStream(counter)) {
+            int type;
+            while ((type = stream.read()) != -1) {
+                if (type == BEGIN) {
+                    final String name = stream.readUTF();
+                    final String file = stream.readUTF();
+                    if (entryName != null) { // writing of previous entry failed
+                        _incomplete.put(entryName, path);
+                    }
+                    entryName = name;
+                    path = file;
+                } else if (type == COMPLETE && entryName != null) {
+                    _completed.put(entryName, new Record(path, stream.readLong()));
+                    entryName = null;
+                } else {
+                    throw new IOException("Journal is corrupt: " + journal);
+                }
+                length = counter._count;
+            }
+        } catch (EOFException ex) {
+            // last record has been truncated, e.g. by a crash
+        }
+        if (entryName != null) {
+            _incomplete.put(entryName, path);
+        }
+        return length;
+    }
+
+    /**
+     * Returns true if the extraction is resumed, i.e. if the journal has
+     * already existed.
+     *
+     * @return true if the extraction is resumed, false otherwise.
+     */
+    boolean isResumed() {
+        return _resumed;
+    }
+
+    /**
+     * Returns the number of entries which have been completed before the
+     * extraction has been resumed.
+     *
+     * @return the number of completed entries.
+     */
+    int getCompletedCount() {
+        return _completed.size();
+    }
+
+    /**
+     * Returns true if the specified entry still has to be extracted, i.e. if
+     * it has not been completed or if the size of its file differs from the
+     * recorded size, in which case the file is overwritten.
+     *
+     * @param entryName the name of the entry.
+     * @return true if the entry has to be extracted, false otherwise.
+     */
+    synchronized boolean isPending(String entryName) {
+        final Record record = _completed.get(entryName);
+        if (record == null) {
+            return true;
+        }
+        final File file = new File(_outputFolder, record._path);
+        final boolean valid = file.isFile() && file.length() == record._size;
+        if (!valid) {
+            _completed.remove(entryName);
+            _incomplete.put(entryName, record._path);
+        }
+        return !valid;
+    }
+
+    /**
+     * Returns the file of the specified entry if it has been written
+     * partially before the extraction has been resumed.
+     *
+     * @param entryName the name of the entry.
+     * @return the file to be overwritten or {@code null} if the entry has not
+     * been written before.
+     */
+    synchronized File getIncompleteFile(String entryName) {
+        final String path = _incomplete.remove(entryName);
+        return path != null ? new File(_outputFolder, path) : null;
+    }
+
+    /**
+     * Returns the file of the specified entry if it has been completed before
+     * the extraction has been resumed.
+     *
+     * @param entryName the name of the entry.
+     * @return the completed file or {@code null} if the entry has not been
+     * completed before.
+     */
+    synchronized File getCompletedFile(String entryName) {
+        final Record record = _completed.get(entryName);
+        return record != null ? new File(_outputFolder, record._path) : null;
+    }
+
+    /**
+     * Records that the specified entry is about to be written to the
+     * specified file.
+     *
+     * @param entryName the name of the entry.
+     * @param file      the file to which the entry is written.
+     * @throws IOException if the journal cannot be written.
+     */
+    synchronized void begin(String entryName, File file) throws IOException {
+        _stream.writeByte(BEGIN);
+        _stream.writeUTF(entryName);
+        _stream.writeUTF(_outputFolder.toPath().relativize(file.toPath()).toString());
+        _stream.flush();
+    }
+
+    /**
+     * Records that the entry which has been begun last has been completely
+     * written to the specified file.
+     *
+     * @param file the file to which the entry has been written.
+     * @throws IOException if the journal cannot be written.
+     */
+    synchronized void complete(File file) throws IOException {
+        _stream.writeByte(COMPLETE);
+        _stream.writeLong(file.length());
+        _stream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (_stream) {
+            _stream.flush();
+            _fileStream.getFD().sync();
+        }
+    }
+
+    /**
+     * Counts the bytes which have been read from the underlying stream.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long _count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = in.read();
+            if (b >= 0) {
+                ++_count;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int n = in.read(b, off, len);
+            if (n > 0) {
+                _count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            final long skipped = in.skip(n);
+            _count += skipped;
+            return skipped;
+        }
+    }
+
+    private static final class Record {
+
+        private final String _path;
+
+        private final long _size;
+
+        private Record(String path, long size) {
+            _path = path;
+            _size = size;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm;
+
+import org.gzipper.java.application.hashing.ChecksumManifest;
+import org.gzipper.java.application.hashing.MessageDigestAlgorithm;
+import org.gzipper.java.application.hashing.MessageDigestProvider;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+/**
+ * Writes a sidecar checksum manifest while an archive is created. The bytes
+ * of each file are passed to this writer as they are read for compression,
+ * hence no file has to be read a second time. The manifest is deleted when
+ * closed unless it has been committed, i.e. unless the archive has been
+ * completed.
+ *
+ * @author Matthias Fussenegger
+ */
+final class ManifestWriter implements Closeable {
+
+    private final MessageDigestAlgorithm _algorithm;
+
+    private final MessageDigestProvider _provider;
+
+    private final Writer _writer;
+
+    private final Path _manifest;
+
+    private boolean _committed;
+
+    private ManifestWriter(MessageDigestAlgorithm algorithm, Path manifest) throws IOException {
+        try {
+            _provider = MessageDigestProvider.createProvider(algorithm);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IOException("Algorithm of manifest is not supported", ex);
+        }
+        _algorithm = algorithm;
+        _manifest = manifest;
+        _writer = Files.newBufferedWriter(manifest, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the name of the sidecar manifest of the specified archive, which
+     * is the name of the archive with the tag of the algorithm appended, e.g.
+     * {@code archive.zip.sha256}.
+     *
+     * @param archiveName the full name of the archive.
+     * @param algorithm   the algorithm of the manifest.
+     * @return the full name of the sidecar manifest.
+     */
+    static String getManifestName(String archiveName, MessageDigestAlgorithm algorithm) {
+        return archiveName + "." + ChecksumManifest.getTag(algorithm).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Creates a new writer for the sidecar manifest of the specified archive.
+     *
+     * @param archiveName the full name of the archive.
+     * @param algorithm   the algorithm of the manifest, may be {@code null}.
+     * @return a new writer or {@code null} if no algorithm is specified.
+     * @throws IOException if an I/O error occurs.
+     */
+    static ManifestWriter create(String archiveName, MessageDigestAlgorithm algorithm) throws IOException {
+        return algorithm != null
+                ? new ManifestWriter(algorithm, Paths.get(getManifestName(archiveName, algorithm)))
+                : null;
+    }
+
+    /**
+     * Updates the digest of the current file.
+     *
+     * @param bytes  the bytes which have been read.
+     * @param offset starting index in array.
+     * @param length the length to be processed, starting at {@code offset}.
+     */
+    void update(byte[] bytes, int offset, int length) {
+        _provider.updateHash(bytes, offset, length);
+    }
+
+    /**
+     * Completes the current file by writing its digest to the manifest. The
+     * digest is reset afterwards for the next file.
+     *
+     * @param entryName the name of the file as stored in the archive.
+     * @return the digest of the file as hexadecimal string.
+     * @throws IOException if an I/O error occurs.
+     */
+    String completeEntry(String entryName) throws IOException {
+        final String hashedValue = _provider.computeHash().getHashedValue();
+        writeEntry(entryName, hashedValue);
+        return hashedValue;
+    }
+
+    /**
+     * Writes the specified digest of a file to the manifest, e.g. the digest
+     * of an identical file which has been completed before.
+     *
+     * @param entryName   the name of the file as stored in the archive.
+     * @param hashedValue the digest of the file as hexadecimal string.
+     * @throws IOException if an I/O error occurs.
+     */
+    void writeEntry(String entryName, String hashedValue) throws IOException {
+        ChecksumManifest.write(_writer, ChecksumManifest.Format.GNU, _algorithm, entryName, hashedValue);
+    }
+
+    /**
+     * Discards the current digest, e.g. if reading a file has failed.
+     */
+    void discardEntry() {
+        _provider.reset();
+    }
+
+    /**
+     * Marks the manifest as complete, so that it is kept when closed.
+     */
+    void commit() {
+        _committed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            _writer.close();
+        } finally {
+            if (!_committed) { // would not match the interrupted archive
+                Files.deleteIfExists(_manifest);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Stream which splits the written data into volumes of a fixed size. A new
+ * volume is only created once data is written to it, hence the last volume is
+ * never empty (unless nothing has been written at all). Completed volumes are
+ * handed over to a {@link VolumeSync}, which flushes and closes them.
+ *
+ * @author Matthias Fussenegger
+ */
+final class VolumeOutputStream extends OutputStream {
+
+    private final VolumeSync _volumeSync;
+
+    private final long _volumeSize;
+
+    private FileOutputStream _out;
+
+    private long _written;
+
+    /**
+     * Creates a new stream and its first volume.
+     *
+     * @param volumeSync the object which names and flushes the volumes.
+     * @param volumeSize the maximum size of each volume in bytes.
+     * @throws IOException if the first volume cannot be created.
+     */
+    VolumeOutputStream(VolumeSync volumeSync, long volumeSize) throws IOException {
+        if (volumeSize <= 0) {
+            throw new IllegalArgumentException("Volume size must be greater than zero");
+        }
+        _volumeSync = volumeSync;
+        _volumeSize = volumeSize;
+        _out = new FileOutputStream(volumeSync.nextVolume());
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (_written == _volumeSize) {
+                final FileOutputStream completed = _out;
+                _out = null;
+                _volumeSync.sync(completed);
+                _out = new FileOutputStream(_volumeSync.nextVolume());
+                _written = 0;
+            }
+            final int count = (int) Math.min(len, _volumeSize - _written);
+            _out.write(b, off, count);
+            _written += count;
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (_out != null) {
+            _volumeSync.sync(_out);
+            _out = null;
+        }
+    }
+}
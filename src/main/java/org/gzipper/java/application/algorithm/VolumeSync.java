@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm;
+
+import org.gzipper.java.application.util.TaskHandler;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Flushes the completed volumes of a split archive to the storage device in
+ * the background, so that they can already be processed further, e.g.
+ * uploaded, while the following volumes are still being written. The volumes
+ * are numbered starting with {@code 1}. Closing waits until all volumes have
+ * been flushed.
+ *
+ * @author Matthias Fussenegger
+ */
+final class VolumeSync implements Closeable {
+
+    private final TaskHandler _taskHandler = new TaskHandler(TaskHandler.ExecutorType.QUEUED);
+
+    private final List<Future<?>> _pending = new ArrayList<>();
+
+    private final IntFunction<File> _volumes;
+
+    private final File _lastVolume;
+
+    private int _volumeCount;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param volumes    function which returns the volume with the specified
+     *                   number.
+     * @param lastVolume the last volume if it is not numbered, which is the
+     *                   case for split ZIP archives, otherwise {@code null}.
+     */
+    VolumeSync(IntFunction<File> volumes, File lastVolume) {
+        _volumes = volumes;
+        _lastVolume = lastVolume;
+    }
+
+    /**
+     * Returns the next volume to be written.
+     *
+     * @return the next volume to be written.
+     */
+    File nextVolume() {
+        return _volumes.apply(++_volumeCount);
+    }
+
+    /**
+     * Flushes and closes the specified stream of a completed volume.
+     *
+     * @param stream the stream of the completed volume.
+     */
+    void sync(FileOutputStream stream) {
+        _pending.add(_taskHandler.submit(() -> {
+            try (stream) {
+                stream.getChannel().force(true);
+            }
+            return null;
+        }));
+    }
+
+    /**
+     * Flushes the volumes which have been completed by another writer since
+     * the last call. A volume is considered completed as soon as the volume
+     * following it exists, since the writer may still rename the volume which
+     * is currently being written, e.g. if it turns out to be the last one.
+     */
+    void syncCompletedVolumes() {
+        while (_volumes.apply(_volumeCount + 2).isFile()) {
+            sync(_volumes.apply(++_volumeCount));
+        }
+    }
+
+    private void sync(File volume) {
+        _pending.add(_taskHandler.submit(() -> {
+            try (FileChannel channel = FileChannel.open(volume.toPath(), StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            return null;
+        }));
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException exception = null;
+        try {
+            if (_lastVolume != null) { // the writer has completed all volumes
+                File volume;
+                while ((volume = _volumes.apply(_volumeCount + 1)).isFile()) {
+                    ++_volumeCount;
+                    sync(volume);
+                }
+                if (_lastVolume.isFile()) {
+                    sync(_lastVolume);
+                }
+            }
+            for (Future<?> future : _pending) {
+                try {
+                    future.get();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Flushing of volumes has been interrupted");
+                } catch (ExecutionException ex) {
+                    if (exception == null) {
+                        exception = ex.getCause() instanceof IOException ioException
+                                ? ioException : new IOException(ex.getCause());
+                    }
+                }
+            }
+        } finally {
+            _taskHandler.close();
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
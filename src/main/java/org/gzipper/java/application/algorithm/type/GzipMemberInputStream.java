@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm.type;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses a stream which consists of one or more GZIP members. Other
+ * than {@link java.util.zip.GZIPInputStream}, this stream keeps track of the
+ * compressed and uncompressed offset of each member, since a member can be
+ * decompressed independently of the previous ones. Hence, the stream can also
+ * be started at the beginning of any member, given its offsets.
+ *
+ * @author Matthias Fussenegger
+ */
+final class GzipMemberInputStream extends InputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int FHCRC = 2, FEXTRA = 4, FNAME = 8, FCOMMENT = 16;
+
+    private final InputStream _in;
+
+    private final MemberListener _listener;
+
+    private final byte[] _buffer = new byte[BUFFER_SIZE];
+
+    private final Inflater _inflater = new Inflater(true);
+
+    private final CRC32 _crc = new CRC32();
+
+    private final byte[] _single = new byte[1];
+
+    private int _bufferPos, _bufferLength;
+
+    /**
+     * The compressed offset of the next byte which has not been consumed.
+     */
+    private long _compressedPosition;
+
+    /**
+     * The uncompressed offset of the next byte to be returned.
+     */
+    private long _position;
+
+    private boolean _inMember, _firstMember = true, _eof;
+
+    /**
+     * Creates a new stream, which starts at the beginning of a member.
+     *
+     * @param in                 the compressed stream, positioned at the
+     *                           beginning of a member.
+     * @param compressedOffset   the compressed offset of the member.
+     * @param uncompressedOffset the uncompressed offset of the member.
+     * @param listener           the listener to be notified whenever a new
+     *                           member starts, may be {@code null}.
+     */
+    GzipMemberInputStream(InputStream in, long compressedOffset,
+                          long uncompressedOffset, MemberListener listener) {
+        _in = in;
+        _compressedPosition = compressedOffset;
+        _position = uncompressedOffset;
+        _listener = listener;
+    }
+
+    /**
+     * Returns the uncompressed offset of the next byte to be read.
+     *
+     * @return the uncompressed offset of the next byte to be read.
+     */
+    long getPosition() {
+        return _position;
+    }
+
+    private boolean fill() throws IOException {
+        if (_bufferPos < _bufferLength) {
+            return true;
+        }
+        final int n = _in.read(_buffer);
+        if (n <= 0) {
+            return false;
+        }
+        _bufferPos = 0;
+        _bufferLength = n;
+        return true;
+    }
+
+    private int readByte() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        ++_compressedPosition;
+        return _buffer[_bufferPos++] & 0xFF;
+    }
+
+    private int readByteFully() throws IOException {
+        final int b = readByte();
+        if (b < 0) {
+            throw new EOFException("Unexpected end of GZIP stream");
+        }
+        return b;
+    }
+
+    private int readShort() throws IOException {
+        return readByteFully() | readByteFully() << 8;
+    }
+
+    private long readInt() throws IOException {
+        return readShort() | (long) readShort() << 16;
+    }
+
+    /**
+     * Reads the header of the next member.
+     *
+     * @return {@code false} if the end of the stream has been reached.
+     */
+    private boolean startMember() throws IOException {
+        final long memberOffset = _compressedPosition;
+        final int id1 = readByte();
+        if (id1 < 0) {
+            return false;
+        }
+        if (id1 != 0x1F || readByteFully() != 0x8B || readByteFully() != 8) {
+            if (_firstMember) {
+                throw new ZipException("Not in GZIP format");
+            }
+            return false; // ignore trailing garbage as done by gzip
+        }
+        final int flags = readByteFully();
+        for (int i = 0; i < 6; ++i) { // MTIME, XFL and OS
+            readByteFully();
+        }
+        if ((flags & FEXTRA) != 0) {
+            for (int length = readShort(); length > 0; --length) {
+                readByteFully();
+            }
+        }
+        if ((flags & FNAME) != 0) {
+            while (readByteFully() != 0) {
+                // skip zero-terminated file name
+            }
+        }
+        if ((flags & FCOMMENT) != 0) {
+            while (readByteFully() != 0) {
+                // skip zero-terminated comment
+            }
+        }
+        if ((flags & FHCRC) != 0) {
+            readShort();
+        }
+
+        if (_listener != null) {
+            _listener.memberStarted(memberOffset, _position);
+        }
+        _inflater.reset();
+        _crc.reset();
+        _inMember = true;
+        _firstMember = false;
+        return true;
+    }
+
+    private void finishMember() throws IOException {
+        // give back the bytes which have not been consumed by the inflater
+        final int remaining = _inflater.getRemaining();
+        _bufferPos = _bufferLength - remaining;
+        _compressedPosition -= remaining;
+
+        if (readInt() != _crc.getValue()) {
+            throw new ZipException("Corrupt GZIP trailer (CRC32)");
+        }
+        if (readInt() != (_inflater.getBytesWritten() & 0xFFFFFFFFL)) {
+            throw new ZipException("Corrupt GZIP trailer (ISIZE)");
+        }
+        _inMember = false;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(_single, 0, 1) == -1 ? -1 : _single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (!_eof) {
+            if (!_inMember && !startMember()) {
+                _eof = true;
+                break;
+            }
+            if (_inflater.needsInput()) {
+                if (!fill()) {
+                    throw new EOFException("Unexpected end of GZIP stream");
+                }
+                final int length = _bufferLength - _bufferPos;
+                _inflater.setInput(_buffer, _bufferPos, length);
+                _bufferPos = _bufferLength;
+                _compressedPosition += length;
+            }
+            final int n;
+            try {
+                n = _inflater.inflate(b, off, len);
+            } catch (DataFormatException ex) {
+                throw new ZipException(ex.getMessage());
+            }
+            if (n > 0) {
+                _crc.update(b, off, n);
+                _position += n;
+                return n;
+            }
+            if (_inflater.finished()) {
+                finishMember();
+            } else if (_inflater.needsDictionary()) {
+                throw new ZipException("Unexpected preset dictionary");
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        final byte[] buffer = new byte[(int) Math.min(n, BUFFER_SIZE)];
+        long skipped = 0;
+        while (skipped < n) {
+            final int read = read(buffer, 0, (int) Math.min(n - skipped, buffer.length));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        _inflater.end();
+        _in.close();
+    }
+
+    /**
+     * Listener to be notified whenever a new member starts.
+     */
+    @FunctionalInterface
+    interface MemberListener {
+
+        /**
+         * Called after the header of a member has been read.
+         *
+         * @param compressedOffset   the compressed offset of the member.
+         * @param uncompressedOffset the uncompressed offset of the member.
+         */
+        void memberStarted(long compressedOffset, long uncompressedOffset);
+    }
+}
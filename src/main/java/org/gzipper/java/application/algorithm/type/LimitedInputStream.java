@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm.type;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Stream which returns a fixed number of bytes of another stream, which is
+ * not closed.
+ *
+ * @author Matthias Fussenegger
+ */
+final class LimitedInputStream extends FilterInputStream {
+
+    private long _remaining;
+
+    LimitedInputStream(InputStream in, long limit) {
+        super(in);
+        _remaining = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (_remaining <= 0) {
+            return -1;
+        }
+        final int b = in.read();
+        if (b >= 0) {
+            --_remaining;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (_remaining <= 0) {
+            return -1;
+        }
+        final int n = in.read(b, off, (int) Math.min(len, _remaining));
+        if (n > 0) {
+            _remaining -= n;
+        }
+        return n;
+    }
+
+    @Override
+    public void close() {
+        // the underlying stream is still in use
+    }
+}
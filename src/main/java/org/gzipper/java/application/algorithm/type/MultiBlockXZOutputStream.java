@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm.type;
+
+import org.apache.commons.compress.compressors.CompressorOutputStream;
+import org.tukaani.xz.LZMA2Options;
+import org.tukaani.xz.XZOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes an XZ stream which consists of several blocks, each holding at most a
+ * fixed number of uncompressed bytes. The sizes of the blocks are stored in the
+ * index of the stream, which allows to seek to the beginning of any block and
+ * to decompress the blocks independently of each other, see
+ * {@link org.tukaani.xz.SeekableXZInputStream}.
+ *
+ * @author Matthias Fussenegger
+ */
+final class MultiBlockXZOutputStream extends CompressorOutputStream<XZOutputStream> {
+
+    private final long _blockSize;
+
+    private long _blockBytes;
+
+    /**
+     * Creates a new stream.
+     *
+     * @param out       the stream to which the XZ stream is written.
+     * @param options   the options of the LZMA2 filter.
+     * @param blockSize the maximum number of uncompressed bytes per block.
+     * @throws IOException if an I/O error occurs.
+     */
+    MultiBlockXZOutputStream(OutputStream out, LZMA2Options options, long blockSize) throws IOException {
+        super(new XZOutputStream(out, options));
+        _blockSize = blockSize;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out().write(b);
+        if (++_blockBytes == _blockSize) {
+            endBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            final int count = (int) Math.min(len, _blockSize - _blockBytes);
+            out().write(b, off, count);
+            _blockBytes += count;
+            off += count;
+            len -= count;
+            if (_blockBytes == _blockSize) {
+                endBlock();
+            }
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out().finish();
+    }
+
+    private void endBlock() throws IOException {
+        out().endBlock();
+        _blockBytes = 0;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm.type;
+
+import org.apache.commons.compress.compressors.CompressorOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipParameters;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a GZIP stream which consists of several members, each holding at
+ * most a fixed number of uncompressed bytes. Every member can be decompressed
+ * independently, which allows to start decompression at the beginning of any
+ * member, see {@link TarGzipIndex}. Multiple members are part of the GZIP
+ * specification (RFC 1952) and decompressed as a whole by all common tools.
+ *
+ * @author Matthias Fussenegger
+ */
+final class MultiMemberGzipOutputStream extends CompressorOutputStream<OutputStream> {
+
+    private final OutputStream _out;
+
+    private final GzipParameters _params;
+
+    private final long _memberSize;
+
+    private GzipCompressorOutputStream _member;
+
+    private long _memberBytes;
+
+    private boolean _closed;
+
+    /**
+     * Creates a new stream.
+     *
+     * @param out        the stream to which the members are written.
+     * @param params     the parameters to be applied to each member.
+     * @param memberSize the maximum number of uncompressed bytes per member.
+     */
+    MultiMemberGzipOutputStream(OutputStream out, GzipParameters params, long memberSize) {
+        super(out);
+        // the members must not close the underlying stream
+        _out = new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        _params = params;
+        _memberSize = memberSize;
+    }
+
+    private GzipCompressorOutputStream currentMember() throws IOException {
+        if (_member == null) {
+            _member = new GzipCompressorOutputStream(_out, _params);
+            _memberBytes = 0;
+        }
+        return _member;
+    }
+
+    private void finishMember() throws IOException {
+        _member.close();
+        _member = null;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        currentMember().write(b);
+        if (++_memberBytes == _memberSize) {
+            finishMember();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            final GzipCompressorOutputStream member = currentMember();
+            final int count = (int) Math.min(len, _memberSize - _memberBytes);
+            member.write(b, off, count);
+            _memberBytes += count;
+            off += count;
+            len -= count;
+            if (_memberBytes == _memberSize) {
+                finishMember();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (_member != null) {
+            _member.flush();
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (_closed) {
+            return;
+        }
+        _closed = true;
+        try {
+            currentMember(); // an empty stream still requires one member
+            finishMember();
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm.type;
+
+import org.gzipper.java.application.util.TaskHandler;
+import org.tukaani.xz.SeekableFileInputStream;
+import org.tukaani.xz.SeekableXZInputStream;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decompresses the blocks of an XZ file in parallel and returns them in
+ * order. Each worker uses its own {@link SeekableXZInputStream} to decompress
+ * a whole block into memory, hence the number of blocks which are decompressed
+ * ahead of the reader is limited by the size of the largest block. Since
+ * several archives may be extracted at the same time, all streams share the
+ * memory to be used, whereby each stream may always decompress one block.
+ *
+ * @author Matthias Fussenegger
+ */
+final class ParallelXZInputStream extends InputStream {
+
+    /**
+     * The maximum number of bytes of decompressed blocks to be held in memory
+     * by all streams together.
+     */
+    private static final long MAX_BUFFERED_BYTES = Runtime.getRuntime().maxMemory() / 4;
+
+    /**
+     * The number of bytes which are currently reserved by open streams.
+     */
+    private static final AtomicLong BUFFERED_BYTES = new AtomicLong();
+
+    private final SeekableXZInputStream _index;
+
+    private final BlockingQueue<SeekableXZInputStream> _decoders;
+
+    private final List<SeekableXZInputStream> _allDecoders = new ArrayList<>();
+
+    private final TaskHandler _taskHandler;
+
+    private final Deque<Future<byte[]>> _pending = new ArrayDeque<>();
+
+    private final int _lookahead;
+
+    private final long _reservedBytes;
+
+    private boolean _closed;
+
+    private int _nextBlock;
+
+    private byte[] _block = new byte[0];
+
+    private int _blockPos;
+
+    /**
+     * Creates a new stream.
+     *
+     * @param file        the XZ file to be decompressed.
+     * @param parallelism the maximum number of blocks to be decompressed at
+     *                    the same time.
+     * @throws IOException if the file cannot be opened or its index is corrupt.
+     */
+    ParallelXZInputStream(File file, int parallelism) throws IOException {
+        _index = open(file);
+        final long largestBlock = Math.max(1, _index.getLargestBlockSize());
+        _lookahead = reserve(parallelism + 1, largestBlock);
+        _reservedBytes = _lookahead * largestBlock;
+        final int workers = Math.min(parallelism, _lookahead);
+        _decoders = new ArrayBlockingQueue<>(workers);
+        try {
+            _decoders.add(_index);
+            _allDecoders.add(_index);
+            for (int i = 1; i < workers; ++i) {
+                final SeekableXZInputStream decoder = open(file);
+                _decoders.add(decoder);
+                _allDecoders.add(decoder);
+            }
+        } catch (IOException ex) {
+            BUFFERED_BYTES.addAndGet(-_reservedBytes);
+            closeDecoders();
+            throw ex;
+        }
+        _taskHandler = new TaskHandler(TaskHandler.ExecutorType.PARALLEL, workers);
+    }
+
+    /**
+     * Reserves memory for up to the specified number of blocks, but for at
+     * least one block, so that each stream makes progress.
+     *
+     * @param blocks    the desired number of blocks.
+     * @param blockSize the size of the largest block.
+     * @return the number of blocks for which memory has been reserved.
+     */
+    private static int reserve(int blocks, long blockSize) {
+        long reserved;
+        int count;
+        do {
+            reserved = BUFFERED_BYTES.get();
+            count = (int) Math.max(1, Math.min(blocks, (MAX_BUFFERED_BYTES - reserved) / blockSize));
+        } while (!BUFFERED_BYTES.compareAndSet(reserved, reserved + count * blockSize));
+        return count;
+    }
+
+    /**
+     * Opens the specified XZ file for random access by reading its index.
+     *
+     * @param file the XZ file to be opened.
+     * @return a seekable stream of the decompressed data.
+     * @throws IOException if the file cannot be opened or its index is corrupt.
+     */
+    static SeekableXZInputStream open(File file) throws IOException {
+        final SeekableFileInputStream stream = new SeekableFileInputStream(file);
+        try {
+            return new SeekableXZInputStream(stream);
+        } catch (IOException | RuntimeException ex) {
+            stream.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the number of blocks of the XZ file.
+     *
+     * @return the number of blocks.
+     */
+    int getBlockCount() {
+        return _index.getBlockCount();
+    }
+
+    private byte[] decompressBlock(int block) throws IOException, InterruptedException {
+        final SeekableXZInputStream decoder = _decoders.take();
+        try {
+            final byte[] buffer = new byte[Math.toIntExact(decoder.getBlockSize(block))];
+            decoder.seekToBlock(block);
+            int offset = 0;
+            while (offset < buffer.length) {
+                final int n = decoder.read(buffer, offset, buffer.length - offset);
+                if (n < 0) {
+                    throw new EOFException("Unexpected end of XZ block");
+                }
+                offset += n;
+            }
+            return buffer;
+        } finally {
+            _decoders.add(decoder);
+        }
+    }
+
+    private boolean nextBlock() throws IOException {
+        while (_pending.size() < _lookahead && _nextBlock < _index.getBlockCount()) {
+            final int block = _nextBlock++;
+            _pending.add(_taskHandler.submit(() -> decompressBlock(block)));
+        }
+        final Future<byte[]> future = _pending.poll();
+        if (future == null) {
+            return false;
+        }
+        try {
+            _block = future.get();
+            _blockPos = 0;
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Decompression has been interrupted");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(ex.getCause());
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (_blockPos == _block.length && !nextBlock()) {
+            return -1;
+        }
+        return _block[_blockPos++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (_blockPos == _block.length) {
+            if (!nextBlock()) {
+                return -1;
+            }
+        }
+        final int count = Math.min(len, _block.length - _blockPos);
+        System.arraycopy(_block, _blockPos, b, off, count);
+        _blockPos += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return _block.length - _blockPos;
+    }
+
+    private void closeDecoders() throws IOException {
+        IOException exception = null;
+        for (SeekableXZInputStream decoder : _allDecoders) {
+            try {
+                decoder.close();
+            } catch (IOException ex) {
+                exception = ex;
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (_closed) {
+            return;
+        }
+        _closed = true;
+        for (Future<byte[]> future : _pending) {
+            future.cancel(true);
+        }
+        _pending.clear();
+        _taskHandler.close();
+        // running workers may still be reading from the decoders
+        boolean interrupted = false;
+        while (true) {
+            try {
+                _taskHandler.awaitTermination();
+                break;
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        BUFFERED_BYTES.addAndGet(-_reservedBytes);
+        closeDecoders();
+    }
+}
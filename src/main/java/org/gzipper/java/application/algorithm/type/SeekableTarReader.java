@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm.type;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarConstants;
+import org.tukaani.xz.SeekableInputStream;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the entries of a TAR archive from a seekable stream. Other than
+ * {@link TarArchiveInputStream}, which reads (and decompresses) the content of
+ * skipped entries, this reader seeks over the content. In case of a
+ * {@link org.tukaani.xz.SeekableXZInputStream}, only the blocks which contain
+ * headers or the content of read entries are decompressed.
+ * <p>
+ * Since the headers are read independently of each other, global PAX headers
+ * only apply to the entry which follows them.
+ *
+ * @author Matthias Fussenegger
+ */
+final class SeekableTarReader implements Closeable {
+
+    private final SeekableInputStream _in;
+
+    /**
+     * Stream which reads from {@link #_in} but does not close it.
+     */
+    private final InputStream _view;
+
+    private TarArchiveInputStream _current;
+
+    private long _currentHeader;
+
+    private long _nextHeader;
+
+    /**
+     * Creates a new reader.
+     *
+     * @param in the uncompressed TAR archive, which is closed by this reader.
+     */
+    SeekableTarReader(SeekableInputStream in) {
+        _in = in;
+        _view = new FilterInputStream(in) {
+            @Override
+            public void close() {
+                // the underlying stream is still in use
+            }
+        };
+    }
+
+    /**
+     * Reads the header of the next entry, whereby the content of the current
+     * entry is skipped if it has not been read completely.
+     *
+     * @return the next entry or {@code null} if there are no more entries.
+     * @throws IOException if an I/O error occurs.
+     */
+    TarArchiveEntry getNextEntry() throws IOException {
+        if (_nextHeader >= _in.length()) {
+            return null;
+        }
+        _currentHeader = _nextHeader;
+        _in.seek(_nextHeader);
+        _current = new TarArchiveInputStream(_view);
+        final TarArchiveEntry entry = _current.getNextEntry();
+        if (entry != null) {
+            final long contentOffset = _nextHeader + _current.getBytesRead();
+            final long recordSize = TarConstants.DEFAULT_RCDSIZE;
+            // the content is padded to a multiple of the record size
+            _nextHeader = contentOffset + (entry.getSize() + recordSize - 1) / recordSize * recordSize;
+        } else {
+            _nextHeader = _in.length();
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the content of the current entry. It has to be read before the
+     * next entry is requested.
+     *
+     * @return the content of the current entry.
+     */
+    InputStream getContent() {
+        return _current;
+    }
+
+    /**
+     * Returns the offset of the header of the current entry, so that the
+     * entry can be read again using {@link #readEntry(long)}.
+     *
+     * @return the offset of the header of the current entry.
+     */
+    long getHeaderOffset() {
+        return _currentHeader;
+    }
+
+    /**
+     * Reads the header of an entry which has already been read before, which
+     * then becomes the current entry. This does not change which entry is
+     * returned by {@link #getNextEntry()}.
+     *
+     * @param headerOffset the offset of the header of the entry.
+     * @return the entry or {@code null} if there is no entry at the offset.
+     * @throws IOException if an I/O error occurs.
+     */
+    TarArchiveEntry readEntry(long headerOffset) throws IOException {
+        _currentHeader = headerOffset;
+        _in.seek(headerOffset);
+        _current = new TarArchiveInputStream(_view);
+        return _current.getNextEntry();
+    }
+
+    @Override
+    public void close() throws IOException {
+        _in.close();
+    }
+}
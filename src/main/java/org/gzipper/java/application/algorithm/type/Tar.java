@@ -16,17 +16,28 @@
  */
 package org.gzipper.java.application.algorithm.type;
 
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveException;
 import org.apache.commons.compress.archivers.ArchiveOutputStream;
 import org.apache.commons.compress.archivers.ArchiveStreamFactory;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarConstants;
+import org.apache.commons.compress.compressors.CompressorException;
 import org.apache.commons.compress.compressors.CompressorInputStream;
 import org.apache.commons.compress.compressors.CompressorOutputStream;
 import org.apache.commons.compress.compressors.CompressorStreamFactory;
 import org.gzipper.java.application.algorithm.ArchivingAlgorithm;
+import org.gzipper.java.application.util.FileUtils;
+import org.gzipper.java.application.util.StringUtils;
+import org.gzipper.java.util.Log;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.*;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Represents the TAR archive type.
@@ -55,6 +66,103 @@ public class Tar extends ArchivingAlgorithm {
         super(archiveType, compressionType);
     }
 
+    /**
+     * Appends the files which are not contained in the archive yet, which
+     * also resumes an interrupted compression, since the headers of the
+     * archive record which files have already been written: the end-of-archive
+     * marker, as well as an incomplete last entry, is truncated and only the
+     * remaining files are read. Entries cannot be replaced without rewriting
+     * the archive, hence modified files are skipped with a warning. Archives
+     * which are compressed or split into volumes are not supported.
+     */
+    @Override
+    public void update(File[] files, String location, String name)
+            throws IOException, ArchiveException, CompressorException {
+
+        final String archiveName = FileUtils.combine(location, name);
+        final File archive = new File(archiveName);
+        if (_compressionType != null || isSplit(archive)) {
+            super.update(files, location, name);
+            return;
+        } else if (!archive.exists()) {
+            compress(files, location, name);
+            return;
+        }
+
+        initAlgorithmProgress(files);
+        final Map<String, File> sources = new LinkedHashMap<>();
+        collectFiles(files, StringUtils.EMPTY, archiveName, sources);
+
+        final Map<String, TarArchiveEntry> entries = new HashMap<>();
+        final long end = readEntries(archive, entries);
+
+        final Iterator<Map.Entry<String, File>> iter = sources.entrySet().iterator();
+        while (iter.hasNext()) {
+            final Map.Entry<String, File> source = iter.next();
+            final TarArchiveEntry entry = entries.get(source.getKey());
+            if (entry != null) {
+                if (!isUnchanged(entry, source.getValue(), entries)) {
+                    Log.w("{0} has been modified, but cannot be replaced in the TAR archive", true, source.getKey());
+                }
+                updateProgress(source.getValue().length());
+                iter.remove();
+            }
+        }
+
+        try (final FileOutputStream fos = new FileOutputStream(archive, true)) {
+            fos.getChannel().truncate(end); // removes the end-of-archive marker
+            try (final BufferedOutputStream bos = new BufferedOutputStream(fos);
+                 final ArchiveOutputStream aos = makeArchiveOutputStream(bos)) {
+                final Iterator<Map.Entry<String, File>> newFiles = sources.entrySet().iterator();
+                while (!interrupt && newFiles.hasNext()) {
+                    final Map.Entry<String, File> source = newFiles.next();
+                    compressFile(source.getValue(), source.getKey(), aos);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the headers of the complete entries of the specified archive,
+     * which may have been truncated, e.g. if its creation has been
+     * interrupted.
+     *
+     * @param archive the archive to be read.
+     * @param entries the map to which the entries are put by name.
+     * @return the offset after the data of the last complete entry.
+     * @throws IOException if the archive cannot be opened.
+     */
+    private static long readEntries(File archive, Map<String, TarArchiveEntry> entries) throws IOException {
+        final long length = archive.length();
+        long end = 0;
+        try (final FileInputStream fis = new FileInputStream(archive);
+             final TarArchiveInputStream tis = new TarArchiveInputStream(new BufferedInputStream(fis))) {
+            TarArchiveEntry entry;
+            while ((entry = tis.getNextEntry()) != null) {
+                final long size = entry.isLink() || entry.isDirectory() ? 0 : entry.getSize();
+                // the data of each entry is padded to a multiple of the record size
+                final long dataEnd = tis.getBytesRead() + (size + TarConstants.DEFAULT_RCDSIZE - 1)
+                        / TarConstants.DEFAULT_RCDSIZE * TarConstants.DEFAULT_RCDSIZE;
+                if (dataEnd > length) {
+                    break; // data of last entry is incomplete
+                }
+                entries.put(entry.getName(), entry);
+                end = dataEnd;
+            }
+        } catch (EOFException ex) {
+            Log.w("Header of last entry is incomplete, appending after the previous entry", ex, false);
+        }
+        return end;
+    }
+
+    private static boolean isUnchanged(TarArchiveEntry entry, File file, Map<String, TarArchiveEntry> entries) {
+        // hard links written for duplicates have no size, but their target has
+        final TarArchiveEntry content = entry.isLink() ? entries.get(entry.getLinkName()) : entry;
+        // modification time is stored in seconds
+        return (content == null || content.getSize() == file.length())
+                && Math.abs(entry.getModTime().getTime() - file.lastModified()) < 1000;
+    }
+
     @Override
     protected ArchiveOutputStream makeArchiveOutputStream(OutputStream stream) {
         TarArchiveOutputStream taos = new TarArchiveOutputStream(stream);
@@ -63,6 +171,26 @@ public class Tar extends ArchivingAlgorithm {
         return taos;
     }
 
+    /**
+     * Puts a hard link to the original entry, which has no content of its
+     * own. Hard links are extracted as copies of the original entry.
+     */
+    @Override
+    protected boolean putDuplicateEntry(File archive, ArchiveOutputStream aos, File file,
+                                        String entryName, WrittenEntry original) throws IOException {
+        final TarArchiveEntry entry = new TarArchiveEntry(entryName, TarConstants.LF_LINK);
+        entry.setLinkName(original.getEntry().getName());
+        entry.setModTime(file.lastModified());
+        aos.putArchiveEntry(entry);
+        aos.closeArchiveEntry();
+        return true;
+    }
+
+    @Override
+    protected String getLinkName(ArchiveEntry entry) {
+        return entry instanceof TarArchiveEntry tarEntry && tarEntry.isLink() ? tarEntry.getLinkName() : null;
+    }
+
     @Override
     protected CompressorOutputStream makeCompressorOutputStream(OutputStream stream) throws IOException {
         return null;
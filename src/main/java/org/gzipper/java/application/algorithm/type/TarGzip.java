@@ -16,17 +16,21 @@
  */
 package org.gzipper.java.application.algorithm.type;
 
+import org.apache.commons.compress.archivers.ArchiveException;
 import org.apache.commons.compress.archivers.ArchiveStreamFactory;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.CompressorException;
 import org.apache.commons.compress.compressors.CompressorInputStream;
 import org.apache.commons.compress.compressors.CompressorOutputStream;
 import org.apache.commons.compress.compressors.CompressorStreamFactory;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
-import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
 import org.apache.commons.compress.compressors.gzip.GzipParameters;
+import org.gzipper.java.util.Log;
+import org.gzipper.java.util.Settings;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.*;
+import java.nio.file.Path;
 
 /**
  * Represents the TAR+GZ archive type.
@@ -35,6 +39,20 @@ import java.io.OutputStream;
  */
 public class TarGzip extends Tar {
 
+    /**
+     * The maximum number of uncompressed bytes per GZIP member. Since each
+     * member can be decompressed independently, it is the maximum number of
+     * bytes to be decompressed before an entry when using a
+     * {@link TarGzipIndex}, at a negligible cost of compression ratio.
+     */
+    static final long MEMBER_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * Name of the property which defines whether the index of an archive is
+     * to be created when it is extracted as a whole for the first time.
+     */
+    private static final String INDEX_PROPERTY = "tarGzipIndexEnabled";
+
     /**
      * Constructs a new instance of this class using the TAR constant of
      * {@link ArchiveStreamFactory} and the GZIP constant of
@@ -49,11 +67,156 @@ public class TarGzip extends Tar {
         // set additional parameters for compressor stream
         GzipParameters params = Gzip.getDefaultGzipParams(null);
         params.setCompressionLevel(compressionLevel);
-        return new GzipCompressorOutputStream(stream, params);
+        return new MultiMemberGzipOutputStream(stream, params, MEMBER_SIZE);
     }
 
     @Override
     protected CompressorInputStream makeCompressorInputStream(InputStream stream) throws IOException {
-        return new GzipCompressorInputStream(stream);
+        return GzipCompressorInputStream.builder()
+                .setInputStream(stream)
+                .setDecompressConcatenated(true) // consists of several members
+                .get();
+    }
+
+    /**
+     * Extracts the entries using the {@link TarGzipIndex} of the archive if a
+     * valid one exists, so that only the members which contain the accepted
+     * entries are decompressed. Otherwise, the archive is read sequentially
+     * and the index is created on the way if enabled in the settings. Split
+     * archives are always read sequentially.
+     */
+    @Override
+    protected void extractEntries(File archive, File outputFolder)
+            throws IOException, ArchiveException, CompressorException {
+
+        if (isSplit(archive)) {
+            super.extractEntries(archive, outputFolder);
+            return;
+        }
+        final TarGzipIndex index = TarGzipIndex.read(archive.toPath());
+        if (index != null) {
+            extractEntries(archive, index, outputFolder);
+        } else if (Settings.getInstance().evaluateProperty(INDEX_PROPERTY)) {
+            extractEntriesAndBuildIndex(archive, outputFolder);
+        } else {
+            super.extractEntries(archive, outputFolder);
+        }
+    }
+
+    private void extractEntries(File archive, TarGzipIndex index, File outputFolder) throws IOException {
+        createOutputFolder(outputFolder);
+        GzipMemberInputStream stream = null;
+        try {
+            for (TarGzipIndex.Entry entry : index.getEntries()) {
+                if (interrupt) {
+                    break;
+                }
+                if (!filterPredicate.test(entry.getName())) {
+                    continue; // skip entry
+                }
+                if (entry.isDirectory()) {
+                    extractEntry(entry.getName(), null, outputFolder);
+                    continue;
+                }
+                if (entry.getLinkName() != null) {
+                    // the linked entry may not have been accepted by the filter
+                    extractLink(entry.getName(), entry.getLinkName(), outputFolder,
+                            linkName -> readEntry(archive, index, linkName));
+                    continue;
+                }
+                // continue with the current member unless a closer one exists
+                final int checkpoint = index.findCheckpoint(entry.getOffset());
+                if (stream == null || stream.getPosition() > entry.getOffset()
+                        || stream.getPosition() < index.getUncompressedOffset(checkpoint)) {
+                    if (stream != null) {
+                        stream.close();
+                    }
+                    stream = openMember(archive, index, checkpoint);
+                }
+                skipToEntry(stream, entry);
+                extractEntry(entry.getName(), new LimitedInputStream(stream, entry.getSize()), outputFolder);
+            }
+        } finally {
+            if (stream != null) {
+                stream.close();
+            }
+        }
+    }
+
+    private static GzipMemberInputStream openMember(File archive, TarGzipIndex index, int checkpoint)
+            throws IOException {
+        final FileInputStream fis = new FileInputStream(archive);
+        fis.getChannel().position(index.getCompressedOffset(checkpoint));
+        return new GzipMemberInputStream(fis, index.getCompressedOffset(checkpoint),
+                index.getUncompressedOffset(checkpoint), null);
+    }
+
+    private static void skipToEntry(GzipMemberInputStream stream, TarGzipIndex.Entry entry) throws IOException {
+        final long toSkip = entry.getOffset() - stream.getPosition();
+        if (stream.skip(toSkip) != toSkip) {
+            throw new EOFException("Index does not match archive");
+        }
+    }
+
+    /**
+     * Reads the content of the specified entry independently of the member
+     * which is currently being read, e.g. for a hard link to an entry which
+     * has not been extracted.
+     */
+    private static InputStream readEntry(File archive, TarGzipIndex index, String entryName) throws IOException {
+        for (TarGzipIndex.Entry entry : index.getEntries()) {
+            if (entry.getName().equals(entryName) && !entry.isDirectory() && entry.getLinkName() == null) {
+                final GzipMemberInputStream stream = openMember(archive, index, index.findCheckpoint(entry.getOffset()));
+                try {
+                    skipToEntry(stream, entry);
+                } catch (IOException ex) {
+                    stream.close();
+                    throw ex;
+                }
+                return new FilterInputStream(new LimitedInputStream(stream, entry.getSize())) {
+                    @Override
+                    public void close() throws IOException {
+                        stream.close();
+                    }
+                };
+            }
+        }
+        return null;
+    }
+
+    private void extractEntriesAndBuildIndex(File archive, File outputFolder) throws IOException {
+        final TarGzipIndex.Builder builder = new TarGzipIndex.Builder();
+        try (GzipMemberInputStream gis = new GzipMemberInputStream(
+                new FileInputStream(archive), 0, 0, builder);
+             TarArchiveInputStream tis = new TarArchiveInputStream(gis)) {
+
+            TarArchiveEntry entry = tis.getNextEntry();
+            createOutputFolder(outputFolder);
+
+            while (!interrupt && entry != null) {
+                builder.addEntry(entry, tis.getBytesRead());
+                final String entryName = entry.getName();
+                if (filterPredicate.test(entryName)) { // check predicate first
+                    final String linkName = getLinkName(entry);
+                    if (linkName != null) {
+                        extractLink(entryName, linkName, outputFolder);
+                    } else {
+                        extractEntry(entryName, entry.isDirectory() ? null : tis, outputFolder);
+                    }
+                }
+                if (!interrupt) {
+                    entry = tis.getNextEntry();
+                }
+            }
+        }
+
+        if (!interrupt) {
+            final Path path = archive.toPath();
+            try {
+                builder.build(path).write(path);
+            } catch (IOException ex) {
+                Log.w("Index of archive could not be written", ex, false);
+            }
+        }
     }
 }
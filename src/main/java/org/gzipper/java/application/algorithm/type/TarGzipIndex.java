@@ -0,0 +1,332 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm.type;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.gzipper.java.application.util.StringUtils;
+import org.gzipper.java.util.Log;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Random-access index of a TAR+GZ archive, which allows to extract single
+ * entries without decompressing everything before them. The index consists of
+ * checkpoints, which are the compressed and uncompressed offsets of the GZIP
+ * members of the archive, and the uncompressed offset of the content of each
+ * entry. Decompression then starts at the closest member before an entry.
+ * <p>
+ * Since each member is independent, no window of previously decompressed data
+ * has to be stored. Archives created by this application consist of several
+ * members (see {@link MultiMemberGzipOutputStream}). Archives consisting of a
+ * single member can be indexed too, but decompression then always starts at
+ * the beginning of the archive.
+ * <p>
+ * The index is stored in a sidecar file next to the archive, which is only
+ * considered valid as long as the size and time of last modification of the
+ * archive are unchanged.
+ *
+ * @author Matthias Fussenegger
+ */
+public final class TarGzipIndex {
+
+    private static final int MAGIC = 0x475A5449; // "GZTI"
+
+    private static final int VERSION = 2;
+
+    /**
+     * The extension which is appended to the name of the archive to get the
+     * name of the index file.
+     */
+    public static final String EXTENSION = ".index";
+
+    private final long _archiveSize;
+
+    private final long _archiveLastModified;
+
+    private final long[] _compressedOffsets;
+
+    private final long[] _uncompressedOffsets;
+
+    private final List<Entry> _entries;
+
+    private TarGzipIndex(long archiveSize, long archiveLastModified, long[] compressedOffsets,
+                         long[] uncompressedOffsets, List<Entry> entries) {
+        _archiveSize = archiveSize;
+        _archiveLastModified = archiveLastModified;
+        _compressedOffsets = compressedOffsets;
+        _uncompressedOffsets = uncompressedOffsets;
+        _entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Returns the path of the index file of the specified archive.
+     *
+     * @param archive the path of the archive.
+     * @return the path of the index file.
+     */
+    public static Path getIndexPath(Path archive) {
+        return archive.resolveSibling(archive.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Builds the index of the specified archive, which requires the whole
+     * archive to be decompressed once. The content of the entries is skipped.
+     *
+     * @param archive the path of the archive.
+     * @return the index of the archive.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static TarGzipIndex build(Path archive) throws IOException {
+        final Builder builder = new Builder();
+        try (GzipMemberInputStream gis = new GzipMemberInputStream(
+                Files.newInputStream(archive), 0, 0, builder);
+             TarArchiveInputStream tis = new TarArchiveInputStream(gis)) {
+            TarArchiveEntry entry;
+            while ((entry = tis.getNextEntry()) != null) {
+                builder.addEntry(entry, tis.getBytesRead());
+            }
+        }
+        return builder.build(archive);
+    }
+
+    /**
+     * Reads the index of the specified archive from its index file.
+     *
+     * @param archive the path of the archive.
+     * @return the index or {@code null} if the index file does not exist, is
+     * corrupt or does not match the archive anymore.
+     */
+    public static TarGzipIndex read(Path archive) {
+        final Path file = getIndexPath(archive);
+        try (DataInputStream dis = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (dis.readInt() != MAGIC || dis.readInt() != VERSION) {
+                return null;
+            }
+            final long archiveSize = dis.readLong();
+            final long archiveLastModified = dis.readLong();
+            if (archiveSize != Files.size(archive)
+                    || archiveLastModified != Files.getLastModifiedTime(archive).toMillis()) {
+                return null; // archive has changed
+            }
+            final int checkpoints = dis.readInt();
+            final long[] compressedOffsets = new long[checkpoints];
+            final long[] uncompressedOffsets = new long[checkpoints];
+            for (int i = 0; i < checkpoints; ++i) {
+                compressedOffsets[i] = dis.readLong();
+                uncompressedOffsets[i] = dis.readLong();
+            }
+            final int count = dis.readInt();
+            final List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; ++i) {
+                final String name = dis.readUTF();
+                final long offset = dis.readLong();
+                final long size = dis.readLong();
+                final boolean directory = dis.readBoolean();
+                final String linkName = dis.readUTF();
+                entries.add(new Entry(name, offset, size, directory, linkName.isEmpty() ? null : linkName));
+            }
+            return new TarGzipIndex(archiveSize, archiveLastModified,
+                    compressedOffsets, uncompressedOffsets, entries);
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            Log.w("Index of archive could not be read", ex, false);
+            return null;
+        }
+    }
+
+    /**
+     * Writes this index to the index file of the specified archive.
+     *
+     * @param archive the path of the archive.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void write(Path archive) throws IOException {
+        final Path file = getIndexPath(archive);
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream dos = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            dos.writeInt(MAGIC);
+            dos.writeInt(VERSION);
+            dos.writeLong(_archiveSize);
+            dos.writeLong(_archiveLastModified);
+            dos.writeInt(_compressedOffsets.length);
+            for (int i = 0; i < _compressedOffsets.length; ++i) {
+                dos.writeLong(_compressedOffsets[i]);
+                dos.writeLong(_uncompressedOffsets[i]);
+            }
+            dos.writeInt(_entries.size());
+            for (Entry entry : _entries) {
+                dos.writeUTF(entry._name);
+                dos.writeLong(entry._offset);
+                dos.writeLong(entry._size);
+                dos.writeBoolean(entry._directory);
+                dos.writeUTF(entry._linkName != null ? entry._linkName : StringUtils.EMPTY);
+            }
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Returns the entries of the archive in their order of appearance.
+     *
+     * @return an unmodifiable list of the entries.
+     */
+    public List<Entry> getEntries() {
+        return _entries;
+    }
+
+    /**
+     * Returns the number of checkpoints, i.e. the number of GZIP members.
+     *
+     * @return the number of checkpoints.
+     */
+    public int getCheckpointCount() {
+        return _compressedOffsets.length;
+    }
+
+    /**
+     * Returns the index of the closest checkpoint at or before the specified
+     * uncompressed offset.
+     *
+     * @param offset the uncompressed offset.
+     * @return the index of the checkpoint.
+     */
+    int findCheckpoint(long offset) {
+        final int index = Arrays.binarySearch(_uncompressedOffsets, offset);
+        // members are never empty except for the last one, hence unique
+        return Math.max(0, index >= 0 ? index : -index - 2);
+    }
+
+    long getCompressedOffset(int checkpoint) {
+        return _compressedOffsets[checkpoint];
+    }
+
+    long getUncompressedOffset(int checkpoint) {
+        return _uncompressedOffsets[checkpoint];
+    }
+
+    /**
+     * A single entry of the indexed archive.
+     */
+    public static final class Entry {
+
+        private final String _name;
+
+        private final long _offset;
+
+        private final long _size;
+
+        private final boolean _directory;
+
+        private final String _linkName;
+
+        Entry(String name, long offset, long size, boolean directory, String linkName) {
+            _name = name;
+            _offset = offset;
+            _size = size;
+            _directory = directory;
+            _linkName = linkName;
+        }
+
+        public String getName() {
+            return _name;
+        }
+
+        /**
+         * Returns the uncompressed offset of the content of the entry.
+         *
+         * @return the uncompressed offset of the content.
+         */
+        public long getOffset() {
+            return _offset;
+        }
+
+        public long getSize() {
+            return _size;
+        }
+
+        public boolean isDirectory() {
+            return _directory;
+        }
+
+        /**
+         * Returns the name of the entry to which this entry is a hard link.
+         *
+         * @return the name of the linked entry or {@code null} if this entry
+         * is not a hard link.
+         */
+        public String getLinkName() {
+            return _linkName;
+        }
+    }
+
+    /**
+     * Collects the checkpoints and entries while an archive is read.
+     */
+    static final class Builder implements GzipMemberInputStream.MemberListener {
+
+        private final List<long[]> _checkpoints = new ArrayList<>();
+
+        private final List<Entry> _entries = new ArrayList<>();
+
+        @Override
+        public void memberStarted(long compressedOffset, long uncompressedOffset) {
+            if (!_checkpoints.isEmpty() && _checkpoints.get(_checkpoints.size() - 1)[1] == uncompressedOffset) {
+                _checkpoints.remove(_checkpoints.size() - 1); // previous member is empty
+            }
+            _checkpoints.add(new long[]{compressedOffset, uncompressedOffset});
+        }
+
+        /**
+         * Adds the specified entry, whose header has just been read.
+         *
+         * @param entry  the entry which has been read.
+         * @param offset the uncompressed offset of its content.
+         */
+        void addEntry(TarArchiveEntry entry, long offset) {
+            _entries.add(new Entry(entry.getName(), offset, entry.getSize(), entry.isDirectory(),
+                    entry.isLink() ? entry.getLinkName() : null));
+        }
+
+        TarGzipIndex build(Path archive) throws IOException {
+            final long[] compressedOffsets = new long[_checkpoints.size()];
+            final long[] uncompressedOffsets = new long[_checkpoints.size()];
+            for (int i = 0; i < compressedOffsets.length; ++i) {
+                compressedOffsets[i] = _checkpoints.get(i)[0];
+                uncompressedOffsets[i] = _checkpoints.get(i)[1];
+            }
+            return new TarGzipIndex(Files.size(archive), Files.getLastModifiedTime(archive).toMillis(),
+                    compressedOffsets, uncompressedOffsets, _entries);
+        }
+    }
+}
@@ -16,16 +16,27 @@
  */
 package org.gzipper.java.application.algorithm.type;
 
+import org.apache.commons.compress.archivers.ArchiveException;
 import org.apache.commons.compress.archivers.ArchiveStreamFactory;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.CompressorException;
 import org.apache.commons.compress.compressors.CompressorInputStream;
 import org.apache.commons.compress.compressors.CompressorOutputStream;
 import org.apache.commons.compress.compressors.CompressorStreamFactory;
 import org.apache.commons.compress.compressors.xz.XZCompressorInputStream;
-import org.apache.commons.compress.compressors.xz.XZCompressorOutputStream;
+import org.gzipper.java.application.algorithm.ArchiveEntryInfo;
+import org.gzipper.java.util.Log;
+import org.tukaani.xz.LZMA2Options;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents the TAR+XZ archive type.
@@ -34,6 +45,15 @@ import java.io.OutputStream;
  */
 public class TarXz extends Tar {
 
+    /**
+     * The maximum number of uncompressed bytes per XZ block, which is three
+     * times the dictionary size of the default preset, just like the default
+     * block size of the multithreaded mode of xz. Since each block can be
+     * decompressed independently, it is also the maximum number of bytes to be
+     * decompressed before an entry when seeking.
+     */
+    static final long BLOCK_SIZE = 3L * LZMA2Options.DICT_SIZE_DEFAULT;
+
     /**
      * Constructs a new instance of this class using the TAR constant of
      * {@link ArchiveStreamFactory} and the XZ constant of
@@ -45,12 +65,135 @@ public class TarXz extends Tar {
 
     @Override
     protected CompressorOutputStream makeCompressorOutputStream(OutputStream stream) throws IOException {
-        return new XZCompressorOutputStream(stream);
-
+        return new MultiBlockXZOutputStream(stream, new LZMA2Options(), BLOCK_SIZE);
     }
 
     @Override
     protected CompressorInputStream makeCompressorInputStream(InputStream stream) throws IOException {
         return new XZCompressorInputStream(stream);
     }
+
+    /**
+     * Extracts the entries using the index of the XZ file. If entries are
+     * filtered, the blocks which contain neither headers nor the content of
+     * accepted entries are skipped. Otherwise, all blocks are decompressed in
+     * parallel. Archives consisting of a single block, as well as split
+     * archives, are read sequentially.
+     */
+    @Override
+    protected void extractEntries(File archive, File outputFolder)
+            throws IOException, ArchiveException, CompressorException {
+
+        if (isSplit(archive)) {
+            super.extractEntries(archive, outputFolder);
+            return;
+        }
+        final ParallelXZInputStream stream;
+        try {
+            stream = new ParallelXZInputStream(archive, Runtime.getRuntime().availableProcessors());
+        } catch (IOException ex) {
+            Log.w("Index of XZ file could not be read, reading archive sequentially", ex, false);
+            super.extractEntries(archive, outputFolder);
+            return;
+        }
+
+        if (stream.getBlockCount() <= 1) {
+            stream.close();
+            super.extractEntries(archive, outputFolder);
+        } else if (filtered) {
+            stream.close();
+            extractSelectedEntries(archive, outputFolder);
+        } else {
+            try (BufferedInputStream bis = new BufferedInputStream(stream);
+                 TarArchiveInputStream tis = new TarArchiveInputStream(bis)) {
+                TarArchiveEntry entry = tis.getNextEntry();
+                createOutputFolder(outputFolder);
+                while (!interrupt && entry != null) {
+                    if (entry.isLink()) {
+                        extractLink(entry.getName(), entry.getLinkName(), outputFolder);
+                    } else {
+                        extractEntry(entry.getName(), entry.isDirectory() ? null : tis, outputFolder);
+                    }
+                    if (!interrupt) {
+                        entry = tis.getNextEntry();
+                    }
+                }
+            }
+        }
+    }
+
+    private void extractSelectedEntries(File archive, File outputFolder) throws IOException {
+        try (SeekableTarReader reader = new SeekableTarReader(ParallelXZInputStream.open(archive))) {
+            // the headers of all files, since hard links may refer to files which are not accepted
+            final Map<String, Long> headerOffsets = new HashMap<>();
+            TarArchiveEntry entry = reader.getNextEntry();
+            createOutputFolder(outputFolder);
+            while (!interrupt && entry != null) {
+                final String entryName = entry.getName();
+                if (!entry.isDirectory() && !entry.isLink()) {
+                    headerOffsets.put(entryName, reader.getHeaderOffset());
+                }
+                if (filterPredicate.test(entryName)) { // check predicate first
+                    if (entry.isLink()) {
+                        extractLink(entryName, entry.getLinkName(), outputFolder, linkName -> {
+                            final Long headerOffset = headerOffsets.get(linkName);
+                            return headerOffset != null && reader.readEntry(headerOffset) != null
+                                    ? reader.getContent() : null;
+                        });
+                    } else {
+                        extractEntry(entryName, entry.isDirectory() ? null : reader.getContent(), outputFolder);
+                    }
+                }
+                if (!interrupt) {
+                    entry = reader.getNextEntry();
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists the entries by seeking over their content using the index of the
+     * XZ file, hence blocks which contain no headers are not decompressed.
+     * Split archives are read sequentially.
+     */
+    @Override
+    protected Stream<ArchiveEntryInfo> listEntries(File archive)
+            throws IOException, ArchiveException, CompressorException {
+
+        if (isSplit(archive)) {
+            return super.listEntries(archive);
+        }
+        final SeekableTarReader reader;
+        try {
+            reader = new SeekableTarReader(ParallelXZInputStream.open(archive));
+        } catch (IOException ex) {
+            Log.w("Index of XZ file could not be read, reading archive sequentially", ex, false);
+            return super.listEntries(archive);
+        }
+
+        final Spliterator<ArchiveEntryInfo> spliterator = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super ArchiveEntryInfo> action) {
+                try {
+                    final TarArchiveEntry entry = interrupt ? null : reader.getNextEntry();
+                    if (entry == null) {
+                        return false;
+                    }
+                    action.accept(createEntryInfo(entry));
+                    return true;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
 }
@@ -16,19 +16,45 @@
  */
 package org.gzipper.java.application.algorithm.type;
 
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveException;
 import org.apache.commons.compress.archivers.ArchiveInputStream;
 import org.apache.commons.compress.archivers.ArchiveOutputStream;
 import org.apache.commons.compress.archivers.ArchiveStreamFactory;
 import org.apache.commons.compress.archivers.zip.Zip64Mode;
 import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.archivers.zip.ZipMethod;
+import org.apache.commons.compress.archivers.zip.ZipSplitReadOnlySeekableByteChannel;
+import org.apache.commons.compress.compressors.CompressorException;
 import org.apache.commons.compress.compressors.CompressorInputStream;
 import org.apache.commons.compress.compressors.CompressorOutputStream;
 import org.apache.commons.compress.compressors.CompressorStreamFactory;
+import org.gzipper.java.application.algorithm.ArchiveEntryInfo;
 import org.gzipper.java.application.algorithm.ArchivingAlgorithm;
+import org.gzipper.java.application.util.FileUtils;
+import org.gzipper.java.application.util.StringUtils;
+import org.gzipper.java.util.Log;
 
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents the ZIP archive type.
@@ -66,9 +92,251 @@ public class Zip extends ArchivingAlgorithm {
         return zaos;
     }
 
+    /**
+     * Creates a split ZIP archive, whose volumes are named like the archive
+     * with the extensions {@code .z01}, {@code .z02} and so on, except for the
+     * last volume, which is the archive itself. The size of the volumes has to
+     * be between 64 KiB and 4 GiB.
+     */
+    @Override
+    protected ArchiveOutputStream makeSplitArchiveOutputStream(File archive, long volumeSize) throws IOException {
+        final Path target = archive.toPath();
+        final Path lastVolume = Paths.get(getBaseName(archive.getPath()) + ".zip");
+        final ZipArchiveOutputStream zaos;
+        try {
+            zaos = new ZipArchiveOutputStream(target, volumeSize) {
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    // the last volume is always named like a ZIP archive, e.g. if it is a JAR
+                    if (!lastVolume.equals(target) && Files.exists(lastVolume)) {
+                        Files.move(lastVolume, target, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+            };
+        } catch (IllegalArgumentException ex) {
+            throw new IOException(String.format("%d bytes is not a valid size of ZIP volumes", volumeSize), ex);
+        }
+        zaos.setLevel(compressionLevel);
+        zaos.setUseZip64(Zip64Mode.AsNeeded);
+        return zaos;
+    }
+
+    @Override
+    protected File getVolume(String archiveName, int number) {
+        return new File(String.format("%s.z%02d", getBaseName(archiveName), number));
+    }
+
+    private static String getBaseName(String archiveName) {
+        // only the last extension is replaced, e.g. archive.tar.zip becomes archive.tar.z01
+        final String filename = FileUtils.normalize(archiveName);
+        final int indexOfPeriod = filename.lastIndexOf('.');
+        return indexOfPeriod > filename.lastIndexOf('/') ? filename.substring(0, indexOfPeriod) : filename;
+    }
+
+    private ZipFile openZipFile(File archive) throws IOException {
+        if (!isSplit(archive)) {
+            return ZipFile.builder().setFile(archive).get();
+        }
+        final SeekableByteChannel channel = ZipSplitReadOnlySeekableByteChannel.forFiles(
+                getVolumes(archive).toArray(File[]::new));
+        try {
+            return ZipFile.builder().setSeekableByteChannel(channel).get();
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Puts a new entry with a copy of the compressed data of the original
+     * entry, which is read back from the archive, hence the file does not
+     * have to be compressed again. Its size is the same, though.
+     */
+    @Override
+    protected boolean putDuplicateEntry(File archive, ArchiveOutputStream aos, File file,
+                                        String entryName, WrittenEntry original) throws IOException {
+        if (volumeSize > 0) {
+            return false; // the data is not located at its offset in a single file
+        }
+        if (!(aos instanceof ZipArchiveOutputStream zaos)
+                || !(original.getEntry() instanceof ZipArchiveEntry source)) {
+            return false;
+        }
+        final ZipArchiveEntry entry = (ZipArchiveEntry) zaos.createArchiveEntry(file, entryName);
+        entry.setMethod(source.getMethod());
+        entry.setCrc(source.getCrc());
+        entry.setSize(source.getSize());
+        entry.setCompressedSize(source.getCompressedSize());
+
+        zaos.flush(); // the data of the original entry has to be written to the file
+        try (FileChannel channel = FileChannel.open(archive.toPath(), StandardOpenOption.READ)) {
+            channel.position(original.getDataOffset());
+            final InputStream raw = new LimitedInputStream(Channels.newInputStream(channel), source.getCompressedSize());
+            zaos.addRawArchiveEntry(entry, new BufferedInputStream(raw));
+        }
+        return true;
+    }
+
+    /**
+     * Creates an entry whose sizes and checksum are written after its data,
+     * so that its size does not have to be known in advance.
+     */
+    @Override
+    protected ArchiveEntry createStreamEntry(String entryName) {
+        final ZipArchiveEntry entry = new ZipArchiveEntry(entryName);
+        entry.setTime(System.currentTimeMillis());
+        return entry;
+    }
+
     @Override
     protected ArchiveInputStream makeArchiveInputStream(InputStream stream) {
-        return new ZipArchiveInputStream(stream, null, false, true);
+        // the volumes of split archives are read as a single stream
+        return new ZipArchiveInputStream(stream, null, false, true, true);
+    }
+
+    /**
+     * Updates the archive by writing a new one, which is then moved over the
+     * existing archive. Entries whose file is unchanged, or which are not
+     * part of the specified files at all, are copied as they are, i.e. their
+     * compressed data is neither decompressed nor compressed again. Only new
+     * and modified files are compressed. A file is considered unchanged if its
+     * size equals the size of the entry and its time of last modification
+     * matches the time of the entry within the precision of the ZIP format.
+     * The checksum manifest is not written when updating and the updated
+     * archive is not split into volumes anymore.
+     */
+    @Override
+    public void update(File[] files, String location, String name)
+            throws IOException, ArchiveException, CompressorException {
+
+        final String archiveName = FileUtils.combine(location, name);
+        final File archive = new File(archiveName);
+        if (!archive.exists()) {
+            compress(files, location, name);
+            return;
+        }
+
+        initAlgorithmProgress(files);
+        final Map<String, File> sources = new LinkedHashMap<>();
+        collectFiles(files, StringUtils.EMPTY, archiveName, sources);
+
+        final Path target = archive.toPath();
+        final Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        boolean success = false;
+
+        try {
+            try (final ZipFile zipFile = openZipFile(archive);
+                 final FileOutputStream fos = new FileOutputStream(temp.toFile());
+                 final BufferedOutputStream bos = new BufferedOutputStream(fos);
+                 final ZipArchiveOutputStream zaos = (ZipArchiveOutputStream) makeArchiveOutputStream(bos)) {
+
+                final Iterator<ZipArchiveEntry> iter = zipFile.getEntriesInPhysicalOrder().asIterator();
+                while (!interrupt && iter.hasNext()) {
+                    final ZipArchiveEntry entry = iter.next();
+                    final File file = sources.remove(entry.getName());
+                    if (file == null || isUnchanged(entry, file)) {
+                        zaos.addRawArchiveEntry(entry, zipFile.getRawInputStream(entry));
+                        if (file != null) {
+                            updateProgress(file.length());
+                        }
+                    } else {
+                        compressFile(file, entry.getName(), zaos);
+                    }
+                }
+                // the remaining files are not contained in the archive yet
+                final Iterator<Map.Entry<String, File>> newFiles = sources.entrySet().iterator();
+                while (!interrupt && newFiles.hasNext()) {
+                    final Map.Entry<String, File> source = newFiles.next();
+                    compressFile(source.getValue(), source.getKey(), zaos);
+                }
+            }
+            if (!interrupt) { // the existing archive must not be open anymore
+                try {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException ex) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                success = true;
+                for (File volume : getVolumes(archive)) {
+                    if (!volume.equals(archive)) {
+                        Files.delete(volume.toPath());
+                    }
+                }
+            }
+        } finally {
+            if (!success) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private static boolean isUnchanged(ZipArchiveEntry entry, File file) {
+        // DOS time, which is always present, has a precision of two seconds
+        return !entry.isDirectory() && entry.getSize() == file.length()
+                && Math.abs(entry.getTime() - file.lastModified()) < 2000;
+    }
+
+    /**
+     * Extracts the entries by reading the central directory first, so that
+     * only the content of the accepted entries is read, by seeking to their
+     * local headers directly. If the central directory cannot be read, e.g.
+     * because the archive is truncated, the archive is read sequentially.
+     */
+    @Override
+    protected void extractEntries(File archive, File outputFolder)
+            throws IOException, ArchiveException, CompressorException {
+
+        final ZipFile zipFile;
+        try {
+            zipFile = openZipFile(archive);
+        } catch (IOException ex) {
+            Log.w("Central directory could not be read, reading archive sequentially", ex, false);
+            super.extractEntries(archive, outputFolder);
+            return;
+        }
+
+        try (zipFile) {
+            createOutputFolder(outputFolder);
+            // physical order avoids seeking back and forth
+            final Iterator<ZipArchiveEntry> iter = zipFile.getEntriesInPhysicalOrder().asIterator();
+            while (!interrupt && iter.hasNext()) {
+                final ZipArchiveEntry entry = iter.next();
+                if (!filterPredicate.test(entry.getName())) {
+                    continue; // skip entry
+                }
+                if (entry.isDirectory()) {
+                    extractEntry(entry.getName(), null, outputFolder);
+                } else {
+                    try (InputStream stream = zipFile.getInputStream(entry)) {
+                        extractEntry(entry.getName(), stream, outputFolder);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists the entries by reading the central directory only, hence the
+     * content of the entries is neither read nor decompressed.
+     */
+    @Override
+    protected Stream<ArchiveEntryInfo> listEntries(File archive) throws IOException {
+        final ZipFile zipFile = openZipFile(archive);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                        zipFile.getEntries().asIterator(), Spliterator.ORDERED), false)
+                .map(this::createEntryInfo)
+                .onClose(() -> ZipFile.closeQuietly(zipFile));
+    }
+
+    @Override
+    protected ArchiveEntryInfo createEntryInfo(ArchiveEntry entry) {
+        if (entry instanceof ZipArchiveEntry zipEntry) {
+            final ZipMethod method = ZipMethod.getMethodByCode(zipEntry.getMethod());
+            return new ArchiveEntryInfo(zipEntry.getName(), zipEntry.getSize(), zipEntry.getCompressedSize(),
+                    zipEntry.getTime(), method != null ? method.name() : null, zipEntry.isDirectory());
+        }
+        return super.createEntryInfo(entry);
     }
 
     @Override
@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.hashing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Reads and writes checksum manifests as created by {@code md5sum},
+ * {@code sha256sum} and the like. Both formats are supported:
+ * <ul>
+ * <li>GNU: {@code <digest> <space|asterisk><file>}</li>
+ * <li>BSD: {@code <ALGORITHM> (<file>) = <digest>}</li>
+ * </ul>
+ * If a file name contains a backslash or a line feed, the line starts with a
+ * backslash and these characters are escaped, as done by GNU coreutils.
+ * Empty lines and lines starting with {@code #} are ignored.
+ *
+ * @author Matthias Fussenegger
+ */
+public final class ChecksumManifest {
+
+    private static final Pattern GNU_PATTERN = Pattern.compile("^(\\\\)?([0-9a-fA-F]+) [ *](.+)$");
+
+    private static final Pattern BSD_PATTERN = Pattern.compile("^(\\\\)?([A-Za-z0-9-]+) \\((.+)\\) = ([0-9a-fA-F]+)$");
+
+    /**
+     * The format of a manifest.
+     */
+    public enum Format {
+        GNU, BSD
+    }
+
+    private ChecksumManifest() {
+        throw new AssertionError("Holds static members only");
+    }
+
+    /**
+     * Returns the tag of the specified algorithm as used by the BSD format,
+     * e.g. {@code SHA256} for {@code SHA-256}.
+     *
+     * @param algorithm the algorithm of which to return the tag.
+     * @return the tag of the specified algorithm.
+     */
+    public static String getTag(MessageDigestAlgorithm algorithm) {
+        return algorithm.getAlgorithmName().replace("-", "").toUpperCase(Locale.ROOT);
+    }
+
+    private static Optional<MessageDigestAlgorithm> findByTag(String tag) {
+        final String normalized = tag.replace("-", "").toUpperCase(Locale.ROOT);
+        return Arrays.stream(MessageDigestAlgorithm.values())
+                .filter(algorithm -> getTag(algorithm).equals(normalized))
+                .findFirst();
+    }
+
+    /**
+     * Guesses the algorithm of a manifest from its file name, e.g.
+     * {@code SHA256SUMS} or {@code release.sha1}.
+     *
+     * @param fileName the file name of the manifest.
+     * @return the guessed algorithm or {@code null} if unknown.
+     */
+    public static MessageDigestAlgorithm guessAlgorithm(String fileName) {
+        final String normalized = fileName.replace("-", "").toUpperCase(Locale.ROOT);
+        return Arrays.stream(MessageDigestAlgorithm.values())
+                .sorted(Comparator.comparingInt(algorithm -> -getTag(algorithm).length())) // SHA256 before SHA1
+                .filter(algorithm -> normalized.contains(getTag(algorithm)))
+                .findFirst().orElse(null);
+    }
+
+    /**
+     * Reads the entries of a manifest lazily, i.e. the lines are parsed while
+     * the returned stream is consumed. The algorithm of lines in GNU format is
+     * determined by the length of the digest unless the specified hint matches.
+     *
+     * @param reader the reader of the manifest, which is closed together with
+     *               the returned stream.
+     * @param hint   the expected algorithm or {@code null} if unknown.
+     * @return a stream of all entries.
+     */
+    public static Stream<Entry> read(BufferedReader reader, MessageDigestAlgorithm hint) {
+        final Map<Integer, MessageDigestAlgorithm> byLength = new HashMap<>();
+        for (MessageDigestAlgorithm algorithm : MessageDigestAlgorithm.values()) {
+            // lengths of CRC32C and Adler-32 are equal, hence the former wins
+            byLength.putIfAbsent(getDigestLength(algorithm) * 2, algorithm);
+        }
+        if (hint != null) {
+            byLength.put(getDigestLength(hint) * 2, hint);
+        }
+        final AtomicInteger lineNumber = new AtomicInteger();
+        return reader.lines()
+                .map(line -> parseLine(line, lineNumber.incrementAndGet(), byLength))
+                .filter(Objects::nonNull)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                });
+    }
+
+    private static int getDigestLength(MessageDigestAlgorithm algorithm) {
+        try {
+            return MessageDigestProvider.createMessageDigest(algorithm).getDigestLength();
+        } catch (NoSuchAlgorithmException ex) {
+            return 0;
+        }
+    }
+
+    private static Entry parseLine(String line, int lineNumber, Map<Integer, MessageDigestAlgorithm> byLength) {
+        if (line.isBlank() || line.startsWith("#")) {
+            return null;
+        }
+        Matcher matcher = BSD_PATTERN.matcher(line);
+        if (matcher.matches()) {
+            final String path = matcher.group(1) != null ? unescape(matcher.group(3)) : matcher.group(3);
+            final MessageDigestAlgorithm algorithm = findByTag(matcher.group(2)).orElse(null);
+            return new Entry(path, algorithm, matcher.group(4), lineNumber);
+        }
+        matcher = GNU_PATTERN.matcher(line);
+        if (matcher.matches()) {
+            final String path = matcher.group(1) != null ? unescape(matcher.group(3)) : matcher.group(3);
+            final String digest = matcher.group(2);
+            return new Entry(path, byLength.get(digest.length()), digest, lineNumber);
+        }
+        return new Entry(line, null, null, lineNumber); // malformed
+    }
+
+    private static String unescape(String value) {
+        final StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); ++i) {
+            final char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                final char next = value.charAt(++i);
+                sb.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    /**
+     * Writes a single line of a manifest.
+     *
+     * @param writer    the writer to be used.
+     * @param format    the format of the manifest.
+     * @param algorithm the algorithm of the digest.
+     * @param path      the path of the file as it is to be written.
+     * @param digest    the digest in hexadecimal representation.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void write(Writer writer, Format format, MessageDigestAlgorithm algorithm,
+                             String path, String digest) throws IOException {
+        final boolean escaped = path.indexOf('\\') >= 0 || path.indexOf('\n') >= 0 || path.indexOf('\r') >= 0;
+        final String name = escaped ? escape(path) : path;
+        final String hex = digest.toLowerCase(Locale.ROOT);
+        if (escaped) {
+            writer.write('\\');
+        }
+        if (format == Format.BSD) {
+            writer.write(getTag(algorithm) + " (" + name + ") = " + hex);
+        } else {
+            writer.write(hex + "  " + name);
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * A single entry of a manifest.
+     */
+    public static final class Entry {
+
+        private final String _path;
+
+        private final MessageDigestAlgorithm _algorithm;
+
+        private final String _digest;
+
+        private final int _lineNumber;
+
+        Entry(String path, MessageDigestAlgorithm algorithm, String digest, int lineNumber) {
+            _path = path;
+            _algorithm = algorithm;
+            _digest = digest;
+            _lineNumber = lineNumber;
+        }
+
+        /**
+         * Returns the path of the file as written in the manifest, or the
+         * whole line if it is malformed.
+         *
+         * @return the path of the file.
+         */
+        public String getPath() {
+            return _path;
+        }
+
+        /**
+         * Returns the algorithm of the expected digest.
+         *
+         * @return the algorithm or {@code null} if unknown or malformed.
+         */
+        public MessageDigestAlgorithm getAlgorithm() {
+            return _algorithm;
+        }
+
+        /**
+         * Returns the expected digest in hexadecimal representation.
+         *
+         * @return the expected digest or {@code null} if malformed.
+         */
+        public String getDigest() {
+            return _digest;
+        }
+
+        /**
+         * Returns the number of the line in the manifest.
+         *
+         * @return the number of the line, starting at one.
+         */
+        public int getLineNumber() {
+            return _lineNumber;
+        }
+
+        /**
+         * Checks whether this entry can be verified, i.e. is well-formed and
+         * of a supported algorithm.
+         *
+         * @return true if this entry can be verified.
+         */
+        public boolean isValid() {
+            return _algorithm != null && _digest != null;
+        }
+    }
+}
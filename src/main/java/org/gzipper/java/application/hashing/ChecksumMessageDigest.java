@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.hashing;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.zip.Checksum;
+
+/**
+ * Adapts a {@link Checksum} to a {@link MessageDigest}, so that
+ * non-cryptographic checksums can be used wherever message digests are. The
+ * digest is the big-endian representation of the checksum value, truncated to
+ * the specified length.
+ *
+ * @author Matthias Fussenegger
+ */
+final class ChecksumMessageDigest extends MessageDigest {
+
+    private final Checksum _checksum;
+
+    private final int _length;
+
+    /**
+     * Creates a new message digest which is backed by the specified checksum.
+     *
+     * @param algorithm the name of the algorithm.
+     * @param checksum  the checksum to be used.
+     * @param length    the length of the digest in bytes, at most eight.
+     */
+    ChecksumMessageDigest(String algorithm, Checksum checksum, int length) {
+        super(algorithm);
+        _checksum = checksum;
+        _length = length;
+    }
+
+    @Override
+    protected int engineGetDigestLength() {
+        return _length;
+    }
+
+    @Override
+    protected void engineUpdate(byte input) {
+        _checksum.update(input);
+    }
+
+    @Override
+    protected void engineUpdate(byte[] input, int offset, int len) {
+        _checksum.update(input, offset, len);
+    }
+
+    @Override
+    protected void engineUpdate(ByteBuffer input) {
+        _checksum.update(input); // CRC32C and Adler32 process direct buffers natively
+    }
+
+    @Override
+    protected byte[] engineDigest() {
+        final long value = _checksum.getValue();
+        final byte[] digest = new byte[_length];
+        for (int i = 0; i < _length; ++i) {
+            digest[i] = (byte) (value >>> (8 * (_length - 1 - i)));
+        }
+        _checksum.reset();
+        return digest;
+    }
+
+    @Override
+    protected void engineReset() {
+        _checksum.reset();
+    }
+}
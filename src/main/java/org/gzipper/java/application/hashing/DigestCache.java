@@ -0,0 +1,342 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.hashing;
+
+import org.gzipper.java.util.Log;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Persistent cache of message digests, which maps the {@link FileIdentity} of
+ * a file to the digests computed so far. Cached digests are only returned if
+ * the identity of the file is unchanged, i.e. if its size, time of last
+ * modification and file key still match.
+ * <p>
+ * The cache is stored in a binary log file to which each update is appended.
+ * The log is compacted when it contains more than twice as many records as
+ * there are cached files and when the cache is closed. The number of cached
+ * files is bounded, the least recently used file is evicted first.
+ * <p>
+ * Format of the log: magic number and version, followed by records of the
+ * canonical path, size, time of last modification, file key and the number
+ * of digests, each consisting of the algorithm name, the length of the digest
+ * and the digest itself. A later record of the same path replaces the former.
+ *
+ * @author Matthias Fussenegger
+ */
+public final class DigestCache implements Closeable {
+
+    private static final int MAGIC = 0x475A4443; // "GZDC"
+
+    private static final int VERSION = 1;
+
+    private Path _file;
+
+    private int _capacity;
+
+    private LinkedHashMap<String, Entry> _entries;
+
+    private DataOutputStream _log;
+
+    /**
+     * The number of records in the log file.
+     */
+    private int _records;
+
+    /**
+     * Whether the order of the entries has changed since the last compaction.
+     */
+    private boolean _dirty;
+
+    private DigestCache() {
+    }
+
+    /**
+     * Creates a new cache, which is stored in the specified file.
+     *
+     * @param file     the log file of the cache.
+     * @param capacity the maximum number of cached files.
+     * @throws IOException if the log file could not be read or written.
+     */
+    DigestCache(Path file, int capacity) throws IOException {
+        open(file, capacity);
+    }
+
+    /**
+     * Initializes the singleton instance of this class. This may only be
+     * called once. If the capacity is less than one, the cache is disabled.
+     *
+     * @param file     the log file of the cache.
+     * @param capacity the maximum number of cached files.
+     */
+    public synchronized void init(File file, int capacity) {
+        if (_entries == null && capacity > 0) {
+            try {
+                open(file.toPath(), capacity);
+            } catch (IOException ex) {
+                Log.e("Digest cache could not be opened", ex);
+                _entries = null;
+            }
+        }
+    }
+
+    private void open(Path file, int capacity) throws IOException {
+        _file = file;
+        _capacity = capacity;
+        _entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > _capacity;
+            }
+        };
+
+        boolean intact = true;
+        if (Files.exists(file)) {
+            intact = load();
+        }
+        if (!intact || _records > _entries.size()) {
+            compact();
+        } else {
+            openLog();
+        }
+    }
+
+    /**
+     * Loads all records from the log file.
+     *
+     * @return {@code false} if the log file is corrupt or truncated.
+     */
+    private boolean load() throws IOException {
+        try (DataInputStream dis = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(_file)))) {
+            if (dis.readInt() != MAGIC || dis.readInt() != VERSION) {
+                return false;
+            }
+            while (true) {
+                final Entry entry;
+                try {
+                    entry = readEntry(dis);
+                } catch (EOFException ex) {
+                    return true;
+                }
+                _entries.remove(entry._identity.getPath()); // to restore order of updates
+                _entries.put(entry._identity.getPath(), entry);
+                ++_records;
+            }
+        } catch (EOFException | StreamCorruptedException | UTFDataFormatException ex) {
+            Log.w("Digest cache is truncated or corrupt", ex, false);
+            return false;
+        }
+    }
+
+    private static Entry readEntry(DataInputStream dis) throws IOException {
+        final String path = dis.readUTF(); // may throw EOFException at the end of the log
+        try {
+            final long size = dis.readLong();
+            final long lastModified = dis.readLong();
+            final String fileKey = dis.readUTF();
+            final Entry entry = new Entry(new FileIdentity(path, size, lastModified, fileKey));
+            final int count = dis.readUnsignedByte();
+            for (int i = 0; i < count; ++i) {
+                final String name = dis.readUTF();
+                final byte[] digest = new byte[dis.readUnsignedShort()];
+                dis.readFully(digest);
+                findAlgorithm(name).ifPresent(algorithm -> entry._digests.put(algorithm, digest));
+            }
+            return entry;
+        } catch (EOFException ex) {
+            throw new StreamCorruptedException("Truncated record"); // not a clean end of the log
+        }
+    }
+
+    private static void writeEntry(DataOutputStream dos, Entry entry) throws IOException {
+        final FileIdentity identity = entry._identity;
+        dos.writeUTF(identity.getPath());
+        dos.writeLong(identity.getSize());
+        dos.writeLong(identity.getLastModified());
+        dos.writeUTF(identity.getFileKey());
+        dos.writeByte(entry._digests.size());
+        for (Map.Entry<MessageDigestAlgorithm, byte[]> digest : entry._digests.entrySet()) {
+            dos.writeUTF(digest.getKey().getAlgorithmName());
+            dos.writeShort(digest.getValue().length);
+            dos.write(digest.getValue());
+        }
+    }
+
+    private static Optional<MessageDigestAlgorithm> findAlgorithm(String name) {
+        return Arrays.stream(MessageDigestAlgorithm.values())
+                .filter(algorithm -> algorithm.getAlgorithmName().equals(name))
+                .findFirst();
+    }
+
+    private void openLog() throws IOException {
+        final boolean exists = Files.exists(_file);
+        _log = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(_file.toFile(), true)));
+        if (!exists) {
+            _log.writeInt(MAGIC);
+            _log.writeInt(VERSION);
+            _log.flush();
+        }
+    }
+
+    /**
+     * Rewrites the log file so that it only contains the cached entries, from
+     * the least to the most recently used one. The file is replaced atomically.
+     */
+    private void compact() throws IOException {
+        if (_log != null) {
+            _log.close();
+            _log = null;
+        }
+        final Path temp = _file.resolveSibling(_file.getFileName() + ".tmp");
+        try (DataOutputStream dos = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            dos.writeInt(MAGIC);
+            dos.writeInt(VERSION);
+            for (Entry entry : _entries.values()) {
+                writeEntry(dos, entry);
+            }
+        }
+        try {
+            Files.move(temp, _file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temp, _file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        _records = _entries.size();
+        _dirty = false;
+        openLog();
+    }
+
+    /**
+     * Returns the cached digest of the file with the specified identity.
+     *
+     * @param identity  the identity of the file.
+     * @param algorithm the algorithm of the digest.
+     * @return an {@link Optional} holding the cached result, if any.
+     */
+    public synchronized Optional<MessageDigestResult> get(FileIdentity identity, MessageDigestAlgorithm algorithm) {
+        if (_entries == null) {
+            return Optional.empty();
+        }
+        final Entry entry = _entries.get(identity.getPath());
+        if (entry == null || !entry._identity.equals(identity)) {
+            return Optional.empty();
+        }
+        _dirty = true;
+        final byte[] digest = entry._digests.get(algorithm);
+        return digest != null
+                ? Optional.of(new MessageDigestResult(digest, MessageDigestProvider.convertToHex(digest)))
+                : Optional.empty();
+    }
+
+    /**
+     * Adds the specified digests of the file with the specified identity to
+     * the cache. Cached digests of the same file are kept if the identity of
+     * the file is unchanged and discarded otherwise.
+     *
+     * @param identity the identity of the file at the time of the computation.
+     * @param results  the digests to be added.
+     */
+    public synchronized void put(FileIdentity identity, Map<MessageDigestAlgorithm, MessageDigestResult> results) {
+        if (_entries == null) {
+            return;
+        }
+        Entry entry = _entries.get(identity.getPath());
+        if (entry == null || !entry._identity.equals(identity)) {
+            entry = new Entry(identity);
+        }
+        for (Map.Entry<MessageDigestAlgorithm, MessageDigestResult> result : results.entrySet()) {
+            if (!result.getValue().isEmpty()) {
+                entry._digests.put(result.getKey(), result.getValue().getHashedBytes());
+            }
+        }
+        _entries.put(identity.getPath(), entry);
+
+        try {
+            writeEntry(_log, entry);
+            _log.flush();
+            if (++_records > 2 * _entries.size()) {
+                compact();
+            }
+        } catch (IOException ex) {
+            Log.e("Digest cache could not be updated", ex);
+        }
+    }
+
+    /**
+     * Returns the number of cached files.
+     *
+     * @return the number of cached files.
+     */
+    public synchronized int size() {
+        return _entries != null ? _entries.size() : 0;
+    }
+
+    /**
+     * Compacts the log file if necessary and closes it.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (_log != null) {
+            if (_dirty || _records > _entries.size()) {
+                compact();
+            }
+            _log.close();
+            _log = null;
+        }
+        _entries = null;
+    }
+
+    /**
+     * Returns the singleton instance of this class.
+     *
+     * @return the singleton instance of this class.
+     */
+    public static DigestCache getInstance() {
+        return DigestCacheHolder.INSTANCE;
+    }
+
+    /**
+     * Holder class for singleton instance.
+     */
+    private static class DigestCacheHolder {
+
+        private static final DigestCache INSTANCE = new DigestCache();
+    }
+
+    /**
+     * Holds the digests of a single file.
+     */
+    private static final class Entry {
+
+        private final FileIdentity _identity;
+
+        private final Map<MessageDigestAlgorithm, byte[]> _digests = new EnumMap<>(MessageDigestAlgorithm.class);
+
+        Entry(FileIdentity identity) {
+            _identity = identity;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.hashing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Reads files to be hashed with bounded memory usage, regardless of the size
+ * of the file. Small files are read via {@link FileChannel} into a direct
+ * buffer, which is reused by each thread. Large files are mapped into memory
+ * window by window, which avoids copying the data into the heap at all.
+ * <p>
+ * Virtual threads are never reused, which is why they should pass a buffer
+ * borrowed from a {@link ReadBufferPool} instead of relying on the buffer of
+ * the current thread.
+ *
+ * @author Matthias Fussenegger
+ */
+public final class FileDigestReader {
+
+    /**
+     * The size of the direct buffer of each thread.
+     */
+    public static final int BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Files of at least this size are mapped into memory.
+     */
+    public static final long MAPPING_THRESHOLD = 1024 * 1024 * 64;
+
+    /**
+     * The size of each mapped window.
+     */
+    private static final long WINDOW_SIZE = 1024 * 1024 * 64;
+
+    private static final ThreadLocal<ByteBuffer> BUFFER
+            = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    private FileDigestReader() {
+        throw new AssertionError("Holds static members only");
+    }
+
+    /**
+     * Reads the specified file and passes its content chunk by chunk to the
+     * specified consumer, which has to consume the remaining bytes of each
+     * buffer (as e.g. {@link java.security.MessageDigest#update(ByteBuffer)}
+     * does) and must not keep any reference to it.
+     *
+     * @param file     the file to be read.
+     * @param consumer the consumer of the buffers.
+     * @param proceed  evaluated before each chunk, reading is stopped if
+     *                 {@code false} is returned.
+     * @return {@code true} if the file has been read completely.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static boolean read(Path file, Consumer<ByteBuffer> consumer, BooleanSupplier proceed) throws IOException {
+        return read(file, BUFFER.get(), consumer, proceed);
+    }
+
+    /**
+     * Reads the specified file like {@link #read(Path, Consumer, BooleanSupplier)}
+     * but uses the specified buffer to read files below the mapping threshold.
+     *
+     * @param file     the file to be read.
+     * @param buffer   the buffer to be used for reading.
+     * @param consumer the consumer of the buffers.
+     * @param proceed  evaluated before each chunk, reading is stopped if
+     *                 {@code false} is returned.
+     * @return {@code true} if the file has been read completely.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static boolean read(Path file, ByteBuffer buffer, Consumer<ByteBuffer> consumer,
+                               BooleanSupplier proceed) throws IOException {
+        return read(file, buffer, consumer, proceed, MAPPING_THRESHOLD, WINDOW_SIZE);
+    }
+
+    /**
+     * Reads the specified file like {@link #read(Path, ByteBuffer, Consumer, BooleanSupplier)}
+     * but with the specified mapping threshold and window size.
+     *
+     * @param file             the file to be read.
+     * @param buffer           the buffer to be used for reading.
+     * @param consumer         the consumer of the buffers.
+     * @param proceed          evaluated before each chunk, reading is stopped
+     *                         if {@code false} is returned.
+     * @param mappingThreshold files of at least this size are mapped.
+     * @param windowSize       the size of each mapped window.
+     * @return {@code true} if the file has been read completely.
+     * @throws IOException if an I/O error occurs.
+     */
+    static boolean read(Path file, ByteBuffer buffer, Consumer<ByteBuffer> consumer, BooleanSupplier proceed,
+                        long mappingThreshold, long windowSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size >= mappingThreshold) {
+                for (long position = 0; position < size; position += windowSize) {
+                    if (!proceed.getAsBoolean()) {
+                        return false;
+                    }
+                    final long length = Math.min(windowSize, size - position);
+                    consumer.accept(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+                }
+            } else {
+                buffer.clear();
+                while (channel.read(buffer) != -1) {
+                    if (!proceed.getAsBoolean()) {
+                        return false;
+                    }
+                    buffer.flip();
+                    consumer.accept(buffer);
+                    buffer.clear();
+                }
+            }
+        }
+        return proceed.getAsBoolean();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.hashing;
+
+import org.gzipper.java.application.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+/**
+ * Identifies the content of a file by its canonical path, size, time of last
+ * modification and file key (e.g. the inode on Unix-based systems). If any of
+ * these attributes changes, the content of the file is considered changed.
+ *
+ * @author Matthias Fussenegger
+ */
+public final class FileIdentity {
+
+    private final String _path;
+
+    private final long _size;
+
+    private final long _lastModified;
+
+    private final String _fileKey;
+
+    FileIdentity(String path, long size, long lastModified, String fileKey) {
+        _path = path;
+        _size = size;
+        _lastModified = lastModified;
+        _fileKey = fileKey;
+    }
+
+    /**
+     * Reads the attributes of the specified file and returns its identity.
+     *
+     * @param file the file of which to return the identity.
+     * @return the identity of the specified file.
+     * @throws IOException if the attributes could not be read.
+     */
+    public static FileIdentity of(Path file) throws IOException {
+        final Path realPath = file.toRealPath();
+        final BasicFileAttributes attrs = Files.readAttributes(realPath, BasicFileAttributes.class);
+        final Object fileKey = attrs.fileKey(); // not available on every platform
+        return new FileIdentity(realPath.toString(), attrs.size(),
+                attrs.lastModifiedTime().toMillis(),
+                fileKey != null ? fileKey.toString() : StringUtils.EMPTY);
+    }
+
+    /**
+     * Returns the canonical path of the file.
+     *
+     * @return the canonical path of the file.
+     */
+    public String getPath() {
+        return _path;
+    }
+
+    /**
+     * Returns the size of the file.
+     *
+     * @return the size of the file in bytes.
+     */
+    public long getSize() {
+        return _size;
+    }
+
+    /**
+     * Returns the time of the last modification of the file.
+     *
+     * @return the time of the last modification in milliseconds since epoch.
+     */
+    public long getLastModified() {
+        return _lastModified;
+    }
+
+    /**
+     * Returns the file key of the file or an empty string if not available.
+     *
+     * @return the file key of the file or an empty string if not available.
+     */
+    public String getFileKey() {
+        return _fileKey;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(_path, _size, _lastModified, _fileKey);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof final FileIdentity other)) {
+            return false;
+        }
+        return _size == other._size
+                && _lastModified == other._lastModified
+                && Objects.equals(_path, other._path)
+                && Objects.equals(_fileKey, other._fileKey);
+    }
+
+    @Override
+    public String toString() {
+        return _path;
+    }
+}
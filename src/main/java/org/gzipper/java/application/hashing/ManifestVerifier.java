@@ -0,0 +1,261 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.hashing;
+
+import org.gzipper.java.application.util.TaskHandler;
+import org.gzipper.java.util.Log;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Verifies the entries of a {@link ChecksumManifest} in parallel. The entries
+ * are consumed as a stream and only a bounded number of them is pending at
+ * any time, hence manifests of arbitrary size can be verified. Each result is
+ * passed to a listener as soon as it is available.
+ *
+ * @author Matthias Fussenegger
+ */
+public final class ManifestVerifier {
+
+    /**
+     * The number of pending entries per thread.
+     */
+    private static final int PENDING_PER_THREAD = 4;
+
+    private final Path _baseDir;
+
+    private final int _parallelism;
+
+    private final boolean _useCache;
+
+    /**
+     * Creates a new verifier.
+     *
+     * @param baseDir     the directory against which relative paths of the
+     *                    manifest are resolved, usually its parent directory.
+     * @param parallelism the number of files to be verified in parallel.
+     * @param useCache    whether digests may be taken from the
+     *                    {@link DigestCache} if the files are unchanged.
+     */
+    public ManifestVerifier(Path baseDir, int parallelism, boolean useCache) {
+        _baseDir = baseDir;
+        _parallelism = Math.max(1, parallelism);
+        _useCache = useCache;
+    }
+
+    /**
+     * Verifies all specified entries. The listener is called concurrently by
+     * the worker threads, in no particular order.
+     *
+     * @param entries  the entries to be verified.
+     * @param listener the listener to be notified of each result.
+     * @param proceed  evaluated regularly, verification is stopped if
+     *                 {@code false} is returned.
+     * @return the summary of the verification.
+     * @throws InterruptedException if the current thread is interrupted.
+     */
+    public Summary verify(Stream<ChecksumManifest.Entry> entries, Consumer<Result> listener,
+                          BooleanSupplier proceed) throws InterruptedException {
+        final Summary summary = new Summary();
+        final int permits = _parallelism * PENDING_PER_THREAD;
+        final Semaphore pending = new Semaphore(permits);
+
+        try (TaskHandler taskHandler = new TaskHandler(TaskHandler.ExecutorType.PARALLEL, _parallelism)) {
+            final Iterator<ChecksumManifest.Entry> iter = entries.iterator();
+            while (iter.hasNext() && proceed.getAsBoolean()) {
+                final ChecksumManifest.Entry entry = iter.next();
+                pending.acquire();
+                taskHandler.submit(() -> {
+                    try {
+                        final Result result = verify(entry, proceed);
+                        if (result != null) {
+                            summary.add(result._status);
+                            listener.accept(result);
+                        }
+                    } catch (RuntimeException ex) {
+                        Log.e("Verification failed", ex);
+                    } finally {
+                        pending.release();
+                    }
+                });
+            }
+            pending.acquire(permits); // wait for pending entries
+        }
+        return summary;
+    }
+
+    /**
+     * Verifies a single entry.
+     *
+     * @return the result or {@code null} if verification has been stopped.
+     */
+    private Result verify(ChecksumManifest.Entry entry, BooleanSupplier proceed) {
+        if (!entry.isValid()) {
+            return new Result(entry, Status.FAILED, null);
+        }
+        final Path file;
+        try {
+            file = _baseDir.resolve(entry.getPath());
+        } catch (InvalidPathException ex) {
+            return new Result(entry, Status.MISSING, null);
+        }
+        if (!Files.isRegularFile(file)) {
+            return new Result(entry, Status.MISSING, null);
+        }
+
+        try {
+            final MessageDigestAlgorithm algorithm = entry.getAlgorithm();
+            final FileIdentity identity = FileIdentity.of(file);
+            Optional<MessageDigestResult> digest = _useCache
+                    ? DigestCache.getInstance().get(identity, algorithm)
+                    : Optional.empty();
+            if (digest.isEmpty()) {
+                final MessageDigestProvider provider = MessageDigestProvider.createProvider(algorithm);
+                if (!FileDigestReader.read(file, provider::updateHash, proceed)) {
+                    return null;
+                }
+                final MessageDigestResult result = provider.computeHash();
+                final Map<MessageDigestAlgorithm, MessageDigestResult> results
+                        = new EnumMap<>(MessageDigestAlgorithm.class);
+                results.put(algorithm, result);
+                DigestCache.getInstance().put(identity, results);
+                digest = Optional.of(result);
+            }
+            final Status status = digest.get().getHashedValue().equalsIgnoreCase(entry.getDigest())
+                    ? Status.OK : Status.MISMATCH;
+            return new Result(entry, status, digest.get());
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            Log.e("Error reading file", ex);
+            return new Result(entry, Status.FAILED, null);
+        }
+    }
+
+    /**
+     * The status of a verified entry.
+     */
+    public enum Status {
+        /**
+         * The digest matches.
+         */
+        OK,
+        /**
+         * The digest does not match.
+         */
+        MISMATCH,
+        /**
+         * The file does not exist.
+         */
+        MISSING,
+        /**
+         * The line is malformed, the algorithm is not supported or the file
+         * could not be read.
+         */
+        FAILED
+    }
+
+    /**
+     * The result of a verified entry.
+     */
+    public static final class Result {
+
+        private final ChecksumManifest.Entry _entry;
+
+        private final Status _status;
+
+        private final MessageDigestResult _actual;
+
+        Result(ChecksumManifest.Entry entry, Status status, MessageDigestResult actual) {
+            _entry = entry;
+            _status = status;
+            _actual = actual;
+        }
+
+        public ChecksumManifest.Entry getEntry() {
+            return _entry;
+        }
+
+        public Status getStatus() {
+            return _status;
+        }
+
+        /**
+         * Returns the computed digest.
+         *
+         * @return the computed digest or {@code null} if not available.
+         */
+        public MessageDigestResult getActual() {
+            return _actual;
+        }
+    }
+
+    /**
+     * Summary of a verification, i.e. the number of entries per status.
+     */
+    public static final class Summary {
+
+        private final Map<Status, AtomicLong> _counts = new EnumMap<>(Status.class);
+
+        Summary() {
+            for (Status status : Status.values()) {
+                _counts.put(status, new AtomicLong());
+            }
+        }
+
+        void add(Status status) {
+            _counts.get(status).incrementAndGet();
+        }
+
+        /**
+         * Returns the number of entries with the specified status.
+         *
+         * @param status the status of the entries.
+         * @return the number of entries with the specified status.
+         */
+        public long getCount(Status status) {
+            return _counts.get(status).get();
+        }
+
+        /**
+         * Checks whether all entries have been verified successfully.
+         *
+         * @return true if there is no entry with a status other than OK.
+         */
+        public boolean isSuccessful() {
+            return getCount(Status.MISMATCH) == 0 && getCount(Status.MISSING) == 0 && getCount(Status.FAILED) == 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("OK: %d, mismatched: %d, missing: %d, failed: %d",
+                    getCount(Status.OK), getCount(Status.MISMATCH),
+                    getCount(Status.MISSING), getCount(Status.FAILED));
+        }
+    }
+}
@@ -17,12 +17,15 @@
 package org.gzipper.java.application.hashing
 
 /**
- * Enumeration for mapping available message digest algorithm names.
+ * Enumeration for mapping available message digest algorithm names. Besides
+ * cryptographic hash functions, this includes non-cryptographic checksums,
+ * which are considerably faster and suitable for verifying data transfers.
  *
  * @author Matthias Fussenegger
  */
 enum class MessageDigestAlgorithm(val algorithmName: String) {
-    MD5("MD5"), SHA_1("SHA-1"), SHA_256("SHA-256"), SHA_384("SHA-384"), SHA_512("SHA-512");
+    MD5("MD5"), SHA_1("SHA-1"), SHA_256("SHA-256"), SHA_384("SHA-384"), SHA_512("SHA-512"),
+    CRC32C("CRC32C"), ADLER_32("Adler-32"), XXHASH_64("XXH64");
 
     override fun toString(): String {
         return algorithmName
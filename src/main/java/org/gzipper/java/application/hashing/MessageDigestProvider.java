@@ -19,8 +19,11 @@ package org.gzipper.java.application.hashing;
 import org.gzipper.java.application.util.StringUtils;
 import org.gzipper.java.util.Log;
 
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32C;
 
 /**
  * @author Matthias Fussenegger
@@ -43,11 +46,31 @@ public class MessageDigestProvider {
      */
     public static MessageDigestProvider createProvider(
             MessageDigestAlgorithm algorithm) throws NoSuchAlgorithmException {
-        String name = algorithm.getAlgorithmName();
-        MessageDigest msgDigest = MessageDigest.getInstance(name);
+        MessageDigest msgDigest = createMessageDigest(algorithm);
         return new MessageDigestProvider(msgDigest);
     }
 
+    /**
+     * Creates a new {@link MessageDigest} for the specified algorithm. The
+     * non-cryptographic checksums are adapted to {@link MessageDigest}, all
+     * other algorithms are requested from the installed security providers.
+     *
+     * @param algorithm the algorithm for the {@link MessageDigest}.
+     * @return a new instance of {@link MessageDigest}.
+     * @throws NoSuchAlgorithmException if the specified algorithm (its name)
+     *                                  does not exist.
+     */
+    public static MessageDigest createMessageDigest(
+            MessageDigestAlgorithm algorithm) throws NoSuchAlgorithmException {
+        final String name = algorithm.getAlgorithmName();
+        return switch (algorithm) {
+            case CRC32C -> new ChecksumMessageDigest(name, new CRC32C(), Integer.BYTES);
+            case ADLER_32 -> new ChecksumMessageDigest(name, new Adler32(), Integer.BYTES);
+            case XXHASH_64 -> new ChecksumMessageDigest(name, new XxHash64(), Long.BYTES);
+            default -> MessageDigest.getInstance(name);
+        };
+    }
+
     /**
      * Returns the algorithm name of the aggregated {@link MessageDigest}.
      *
@@ -80,8 +103,7 @@ public class MessageDigestProvider {
      */
     public static MessageDigestResult computeHash(byte[] bytes, MessageDigestAlgorithm algo) {
         try {
-            final String name = algo.getAlgorithmName();
-            final MessageDigest msgDigest = MessageDigest.getInstance(name);
+            final MessageDigest msgDigest = createMessageDigest(algo);
             byte[] result = msgDigest.digest(bytes);
             return new MessageDigestResult(result, convertToHex(result));
         } catch (NoSuchAlgorithmException ex) {
@@ -102,6 +124,16 @@ public class MessageDigestProvider {
         _messageDigest.update(bytes, offset, length);
     }
 
+    /**
+     * Updates the digest of the aggregated {@link MessageDigest} using the
+     * remaining bytes of the specified buffer, which are consumed.
+     *
+     * @param buffer the buffer to be processed.
+     */
+    public void updateHash(ByteBuffer buffer) {
+        _messageDigest.update(buffer);
+    }
+
     /**
      * Resets the aggregated {@link MessageDigest} for further use.
      */
@@ -109,7 +141,14 @@ public class MessageDigestProvider {
         _messageDigest.reset();
     }
 
-    private static String convertToHex(byte[] bytes) {
+    /**
+     * Converts the specified bytes to their hexadecimal representation
+     * (upper case, without any separators).
+     *
+     * @param bytes the bytes to be converted.
+     * @return the hexadecimal representation of the specified bytes.
+     */
+    public static String convertToHex(byte[] bytes) {
         final StringBuilder sb = new StringBuilder();
         for (byte b : bytes) {
             String formatted = String.format("%02X", b);
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.hashing;
+
+import org.gzipper.java.application.util.TaskHandler;
+
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Computes the hash values of several message digest algorithms in a single
+ * pass, i.e. each processed buffer is fed to all aggregated digests. If a
+ * {@link TaskHandler} is specified, large buffers are processed by the
+ * digests in parallel. The calling thread processes one of the digests itself
+ * unless it is a virtual thread, which should only wait for I/O.
+ *
+ * @author Matthias Fussenegger
+ */
+public class MultiMessageDigestProvider {
+
+    /**
+     * The minimum number of bytes of an update to be processed in parallel.
+     * Smaller updates are processed sequentially since the overhead of
+     * scheduling would outweigh the benefit.
+     */
+    private static final int PARALLEL_THRESHOLD = 64 * 1024;
+
+    private final Map<MessageDigestAlgorithm, MessageDigestProvider> _providers;
+
+    private final TaskHandler _taskHandler;
+
+    private MultiMessageDigestProvider(
+            Map<MessageDigestAlgorithm, MessageDigestProvider> providers,
+            TaskHandler taskHandler) {
+        _providers = providers;
+        _taskHandler = taskHandler;
+    }
+
+    /**
+     * Factory method to create a new instance of
+     * {@link MultiMessageDigestProvider}.
+     *
+     * @param algorithms  the algorithms of which to compute the hash values.
+     * @param taskHandler the handler to be used to update the digests in
+     *                    parallel, may be {@code null}.
+     * @return a new instance of {@link MultiMessageDigestProvider}.
+     * @throws NoSuchAlgorithmException if one of the specified algorithms
+     *                                  does not exist.
+     */
+    public static MultiMessageDigestProvider createProvider(
+            Collection<MessageDigestAlgorithm> algorithms,
+            TaskHandler taskHandler) throws NoSuchAlgorithmException {
+        if (algorithms.isEmpty()) {
+            throw new IllegalArgumentException("At least one algorithm has to be specified");
+        }
+        final Map<MessageDigestAlgorithm, MessageDigestProvider> providers
+                = new EnumMap<>(MessageDigestAlgorithm.class);
+        for (MessageDigestAlgorithm algorithm : algorithms) {
+            providers.put(algorithm, MessageDigestProvider.createProvider(algorithm));
+        }
+        return new MultiMessageDigestProvider(providers, taskHandler);
+    }
+
+    /**
+     * Returns the algorithms of the aggregated digests.
+     *
+     * @return the algorithms of the aggregated digests.
+     */
+    public Set<MessageDigestAlgorithm> getAlgorithms() {
+        return Collections.unmodifiableSet(_providers.keySet());
+    }
+
+    /**
+     * Updates all aggregated digests. This method returns only after all
+     * digests have processed the specified bytes, hence the array can be
+     * reused by the caller afterwards.
+     *
+     * @param bytes  the bytes to be processed.
+     * @param offset starting index in array.
+     * @param length the length to be processed, starting at {@code offset}.
+     */
+    public void updateHash(byte[] bytes, int offset, int length) {
+        if (_taskHandler == null || _providers.size() == 1 || length < PARALLEL_THRESHOLD) {
+            _providers.values().forEach(provider -> provider.updateHash(bytes, offset, length));
+            return;
+        }
+
+        final Iterator<MessageDigestProvider> iter = _providers.values().iterator();
+        final MessageDigestProvider first = Thread.currentThread().isVirtual() ? null : iter.next();
+        final List<Future<?>> futures = new ArrayList<>(_providers.size());
+        while (iter.hasNext()) {
+            final MessageDigestProvider provider = iter.next();
+            futures.add(_taskHandler.submit(() -> provider.updateHash(bytes, offset, length)));
+        }
+        if (first != null) {
+            first.updateHash(bytes, offset, length); // make use of the current thread
+        }
+        awaitCompletion(futures);
+    }
+
+    /**
+     * Updates all aggregated digests using the remaining bytes of the
+     * specified buffer, which are consumed. Each digest processes its own
+     * view of the buffer, hence no bytes are copied.
+     *
+     * @param buffer the buffer to be processed.
+     */
+    public void updateHash(ByteBuffer buffer) {
+        if (_taskHandler == null || _providers.size() == 1 || buffer.remaining() < PARALLEL_THRESHOLD) {
+            _providers.values().forEach(provider -> provider.updateHash(buffer.duplicate()));
+        } else {
+            final Iterator<MessageDigestProvider> iter = _providers.values().iterator();
+            final MessageDigestProvider first = Thread.currentThread().isVirtual() ? null : iter.next();
+            final List<Future<?>> futures = new ArrayList<>(_providers.size());
+            while (iter.hasNext()) {
+                final MessageDigestProvider provider = iter.next();
+                final ByteBuffer view = buffer.duplicate();
+                futures.add(_taskHandler.submit(() -> provider.updateHash(view)));
+            }
+            if (first != null) {
+                first.updateHash(buffer.duplicate()); // make use of the current thread
+            }
+            awaitCompletion(futures);
+        }
+        buffer.position(buffer.limit());
+    }
+
+    /**
+     * Waits for the specified futures to complete. Interrupts are deferred
+     * because the tasks still access the buffer of the caller.
+     */
+    private static void awaitCompletion(List<Future<?>> futures) {
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                } catch (ExecutionException ex) {
+                    throw new IllegalStateException("Updating digest failed", ex.getCause());
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Computes the hash values from the current state of all aggregated
+     * digests, which are reset afterwards.
+     *
+     * @return the results mapped to their algorithms.
+     */
+    public Map<MessageDigestAlgorithm, MessageDigestResult> computeHash() {
+        final Map<MessageDigestAlgorithm, MessageDigestResult> results
+                = new EnumMap<>(MessageDigestAlgorithm.class);
+        _providers.forEach((algorithm, provider) -> results.put(algorithm, provider.computeHash()));
+        return results;
+    }
+
+    /**
+     * Resets all aggregated digests for further use.
+     */
+    public void reset() {
+        _providers.values().forEach(MessageDigestProvider::reset);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.hashing;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of direct buffers to be passed to
+ * {@link FileDigestReader#read(java.nio.file.Path, ByteBuffer, java.util.function.Consumer, java.util.function.BooleanSupplier)}.
+ * Buffers are allocated lazily and never more than the capacity of the pool,
+ * which should match the number of tasks that may run at the same time.
+ *
+ * @author Matthias Fussenegger
+ */
+public final class ReadBufferPool {
+
+    private final BlockingQueue<ByteBuffer> _buffers;
+
+    private final AtomicInteger _allocated = new AtomicInteger();
+
+    private final int _capacity;
+
+    /**
+     * Creates a new pool of buffers of {@link FileDigestReader#BUFFER_SIZE}.
+     *
+     * @param capacity the maximum number of buffers to be allocated.
+     */
+    public ReadBufferPool(int capacity) {
+        _capacity = Math.max(1, capacity);
+        _buffers = new ArrayBlockingQueue<>(_capacity);
+    }
+
+    /**
+     * Borrows a buffer from this pool, which has to be released afterwards.
+     * Blocks if all buffers have already been allocated and are in use.
+     *
+     * @return a cleared direct buffer.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public ByteBuffer acquire() throws InterruptedException {
+        ByteBuffer buffer = _buffers.poll();
+        if (buffer == null) {
+            if (_allocated.getAndUpdate(n -> n < _capacity ? n + 1 : n) < _capacity) {
+                buffer = ByteBuffer.allocateDirect(FileDigestReader.BUFFER_SIZE);
+            } else {
+                buffer = _buffers.take();
+            }
+        }
+        return buffer.clear();
+    }
+
+    /**
+     * Returns a buffer to this pool, which has previously been acquired.
+     *
+     * @param buffer the buffer to be released.
+     */
+    public void release(ByteBuffer buffer) {
+        _buffers.offer(buffer);
+    }
+
+    /**
+     * Returns the number of buffers that have been allocated so far.
+     *
+     * @return the number of allocated buffers.
+     */
+    public int getAllocatedCount() {
+        return _allocated.get();
+    }
+}
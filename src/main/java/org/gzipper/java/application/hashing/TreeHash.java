@@ -0,0 +1,402 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.hashing;
+
+import org.gzipper.java.application.util.TaskHandler;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Tree hash of a file, which allows a single file to be hashed by several
+ * threads and changed ranges to be verified without reading the whole file.
+ * <p>
+ * The file is split into chunks of a fixed size (the last chunk may be
+ * smaller). The digest of each chunk is computed over the byte {@code 0x00}
+ * followed by the content of the chunk. The root digest is computed over the
+ * byte {@code 0x01} followed by the concatenated digests of all chunks in
+ * ascending order. The prefixes distinguish chunk digests from the root
+ * digest. The result depends on the algorithm and the chunk size only, not
+ * on the number of threads.
+ * <p>
+ * This is a library utility, which is neither used by the hash view nor by
+ * the command line, since a tree hash differs from the ordinary digest of a
+ * file and is thus only of use to callers which store the chunk digests.
+ * <p>
+ * The text representation, see {@link #writeTo(Writer)}, consists of the
+ * following lines, with digests in hexadecimal (upper case):
+ * <pre>
+ * # GZipper tree hash
+ * algorithm=&lt;name of algorithm&gt;
+ * chunkSize=&lt;chunk size in bytes&gt;
+ * size=&lt;file size in bytes&gt;
+ * root=&lt;root digest&gt;
+ * &lt;chunk index&gt; &lt;chunk digest&gt;
+ * ...
+ * </pre>
+ *
+ * @author Matthias Fussenegger
+ */
+public final class TreeHash {
+
+    /**
+     * The default size of each chunk. Currently, set to 4 mebibytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024 * 4;
+
+    private static final String HEADER = "# GZipper tree hash";
+
+    private static final byte CHUNK_PREFIX = 0x00;
+
+    private static final byte ROOT_PREFIX = 0x01;
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<ByteBuffer> BUFFER
+            = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    private final MessageDigestAlgorithm _algorithm;
+
+    private final int _chunkSize;
+
+    private final long _size;
+
+    private final List<byte[]> _chunkDigests;
+
+    private final MessageDigestResult _root;
+
+    private TreeHash(MessageDigestAlgorithm algorithm, int chunkSize, long size,
+                     List<byte[]> chunkDigests, MessageDigestResult root) {
+        _algorithm = algorithm;
+        _chunkSize = chunkSize;
+        _size = size;
+        _chunkDigests = chunkDigests;
+        _root = root;
+    }
+
+    /**
+     * Computes the tree hash of the specified file. The chunks are hashed
+     * concurrently using positional reads if a {@link TaskHandler} is
+     * specified, otherwise sequentially by the current thread.
+     *
+     * @param file        the file to be hashed.
+     * @param algorithm   the algorithm to be used.
+     * @param chunkSize   the size of each chunk in bytes.
+     * @param taskHandler handler used to hash the chunks, may be {@code null}.
+     * @param proceed     evaluated regularly, hashing is stopped if
+     *                    {@code false} is returned.
+     * @return the tree hash or {@code null} if hashing has been stopped.
+     * @throws IOException              if an I/O error occurs, e.g.
+     *                                  {@link InterruptedIOException} if the
+     *                                  current thread has been interrupted.
+     * @throws NoSuchAlgorithmException if the algorithm does not exist.
+     */
+    public static TreeHash compute(Path file, MessageDigestAlgorithm algorithm, int chunkSize,
+                                   TaskHandler taskHandler, BooleanSupplier proceed)
+            throws IOException, NoSuchAlgorithmException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        MessageDigestProvider.createMessageDigest(algorithm); // fail early
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final int count = (int) ((size + chunkSize - 1) / chunkSize);
+            final List<Integer> indexes = new ArrayList<>(count);
+            for (int i = 0; i < count; ++i) {
+                indexes.add(i);
+            }
+            final byte[][] digests = hashChunks(channel, algorithm, chunkSize, indexes, taskHandler, proceed);
+            if (digests == null) {
+                return null;
+            }
+            final List<byte[]> chunkDigests = Arrays.asList(digests);
+            return new TreeHash(algorithm, chunkSize, size, chunkDigests, computeRoot(algorithm, chunkDigests));
+        }
+    }
+
+    private static byte[][] hashChunks(FileChannel channel, MessageDigestAlgorithm algorithm, int chunkSize,
+                                       List<Integer> indexes, TaskHandler taskHandler, BooleanSupplier proceed)
+            throws IOException, NoSuchAlgorithmException {
+        final byte[][] digests = new byte[indexes.size()][];
+        if (taskHandler == null) {
+            for (int i = 0; i < digests.length; ++i) {
+                digests[i] = hashChunk(channel, algorithm, chunkSize, indexes.get(i), proceed);
+                if (digests[i] == null) {
+                    return null;
+                }
+            }
+            return digests;
+        }
+
+        final List<Future<byte[]>> futures = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            futures.add(taskHandler.submit(() -> hashChunk(channel, algorithm, chunkSize, index, proceed)));
+        }
+        try {
+            for (int i = 0; i < digests.length; ++i) {
+                digests[i] = futures.get(i).get();
+                if (digests[i] == null) {
+                    futures.forEach(future -> future.cancel(false));
+                    return null;
+                }
+            }
+        } catch (InterruptedException ex) {
+            futures.forEach(future -> future.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Hashing of chunks has been interrupted");
+        } catch (ExecutionException ex) {
+            futures.forEach(future -> future.cancel(false));
+            if (ex.getCause() instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new IllegalStateException("Hashing of chunk failed", ex.getCause());
+        }
+        return digests;
+    }
+
+    /**
+     * Hashes the chunk with the specified index using positional reads, which
+     * do not modify the position of the channel and can thus be concurrent.
+     */
+    private static byte[] hashChunk(FileChannel channel, MessageDigestAlgorithm algorithm, int chunkSize,
+                                    int index, BooleanSupplier proceed) throws IOException, NoSuchAlgorithmException {
+        final MessageDigest digest = MessageDigestProvider.createMessageDigest(algorithm);
+        digest.update(CHUNK_PREFIX);
+        final ByteBuffer buffer = BUFFER.get();
+        final long start = (long) index * chunkSize;
+        final long end = Math.min(start + chunkSize, channel.size());
+        long position = start;
+        while (position < end) {
+            if (!proceed.getAsBoolean()) {
+                return null;
+            }
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            final int read = channel.read(buffer, position);
+            if (read < 0) {
+                break; // file has been truncated meanwhile
+            }
+            position += read;
+            buffer.flip();
+            digest.update(buffer);
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigestResult computeRoot(MessageDigestAlgorithm algorithm, List<byte[]> chunkDigests)
+            throws NoSuchAlgorithmException {
+        final MessageDigestProvider provider = MessageDigestProvider.createProvider(algorithm);
+        provider.updateHash(new byte[]{ROOT_PREFIX}, 0, 1);
+        for (byte[] chunkDigest : chunkDigests) {
+            provider.updateHash(chunkDigest, 0, chunkDigest.length);
+        }
+        return provider.computeHash();
+    }
+
+    /**
+     * Returns the indexes of the chunks which overlap the specified range.
+     *
+     * @param offset the offset of the range in bytes.
+     * @param length the length of the range in bytes.
+     * @return the indexes of the chunks in ascending order.
+     */
+    public List<Integer> getChunks(long offset, long length) {
+        final List<Integer> chunks = new ArrayList<>();
+        if (length > 0) {
+            final long first = Math.max(0, offset) / _chunkSize;
+            final long last = Math.min(offset + length - 1, _size - 1) / _chunkSize;
+            for (long i = first; i <= last; ++i) {
+                chunks.add((int) i);
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Verifies the specified chunks of the specified file against this tree
+     * hash. If the size of the file has changed, all chunks which do not
+     * exist in both versions are reported as changed as well.
+     *
+     * @param file        the file to be verified.
+     * @param chunks      the indexes of the chunks to be verified or
+     *                    {@code null} to verify all chunks.
+     * @param taskHandler handler used to hash the chunks, may be {@code null}.
+     * @return the indexes of the changed chunks in ascending order.
+     * @throws IOException              if an I/O error occurs, e.g.
+     *                                  {@link InterruptedIOException} if the
+     *                                  current thread has been interrupted.
+     * @throws NoSuchAlgorithmException if the algorithm does not exist.
+     */
+    public List<Integer> verify(Path file, Collection<Integer> chunks, TaskHandler taskHandler)
+            throws IOException, NoSuchAlgorithmException {
+        final SortedSet<Integer> changed = new TreeSet<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final int actualCount = (int) ((channel.size() + _chunkSize - 1) / _chunkSize);
+            final List<Integer> indexes = new ArrayList<>();
+            if (chunks == null) {
+                for (int i = 0; i < _chunkDigests.size(); ++i) {
+                    indexes.add(i);
+                }
+            } else {
+                indexes.addAll(new TreeSet<>(chunks));
+            }
+            // chunks which only exist in one version of the file
+            for (int i = Math.min(actualCount, _chunkDigests.size()); i < Math.max(actualCount, _chunkDigests.size()); ++i) {
+                changed.add(i);
+            }
+            indexes.removeIf(index -> index < 0 || index >= Math.min(actualCount, _chunkDigests.size()));
+
+            final byte[][] digests = hashChunks(channel, _algorithm, _chunkSize, indexes, taskHandler, () -> true);
+            for (int i = 0; i < indexes.size(); ++i) {
+                final int index = indexes.get(i);
+                if (!MessageDigest.isEqual(digests[i], _chunkDigests.get(index))) {
+                    changed.add(index);
+                }
+            }
+            if (channel.size() != _size && actualCount == _chunkDigests.size() && actualCount > 0) {
+                changed.add(actualCount - 1); // size of last chunk differs
+            }
+        }
+        return new ArrayList<>(changed);
+    }
+
+    /**
+     * Returns the algorithm of this tree hash.
+     *
+     * @return the algorithm of this tree hash.
+     */
+    public MessageDigestAlgorithm getAlgorithm() {
+        return _algorithm;
+    }
+
+    /**
+     * Returns the size of each chunk.
+     *
+     * @return the size of each chunk in bytes.
+     */
+    public int getChunkSize() {
+        return _chunkSize;
+    }
+
+    /**
+     * Returns the size of the hashed file.
+     *
+     * @return the size of the hashed file in bytes.
+     */
+    public long getSize() {
+        return _size;
+    }
+
+    /**
+     * Returns the digests of all chunks in ascending order.
+     *
+     * @return the digests of all chunks in ascending order.
+     */
+    public List<byte[]> getChunkDigests() {
+        return Collections.unmodifiableList(_chunkDigests);
+    }
+
+    /**
+     * Returns the root digest.
+     *
+     * @return the root digest.
+     */
+    public MessageDigestResult getRoot() {
+        return _root;
+    }
+
+    /**
+     * Writes the text representation of this tree hash.
+     *
+     * @param writer the writer to be used.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeTo(Writer writer) throws IOException {
+        final BufferedWriter bw = new BufferedWriter(writer);
+        bw.write(HEADER);
+        bw.newLine();
+        bw.write("algorithm=" + _algorithm.getAlgorithmName());
+        bw.newLine();
+        bw.write("chunkSize=" + _chunkSize);
+        bw.newLine();
+        bw.write("size=" + _size);
+        bw.newLine();
+        bw.write("root=" + _root.getHashedValue());
+        bw.newLine();
+        for (int i = 0; i < _chunkDigests.size(); ++i) {
+            bw.write(i + " " + MessageDigestProvider.convertToHex(_chunkDigests.get(i)));
+            bw.newLine();
+        }
+        bw.flush();
+    }
+
+    /**
+     * Reads a tree hash from its text representation.
+     *
+     * @param reader the reader to be used.
+     * @return the tree hash which has been read.
+     * @throws IOException if an I/O error occurs or the format is invalid.
+     */
+    public static TreeHash readFrom(Reader reader) throws IOException {
+        final BufferedReader br = new BufferedReader(reader);
+        if (!HEADER.equals(br.readLine())) {
+            throw new IOException("Not a tree hash");
+        }
+        try {
+            final String name = readValue(br, "algorithm");
+            final MessageDigestAlgorithm algorithm = Arrays.stream(MessageDigestAlgorithm.values())
+                    .filter(value -> value.getAlgorithmName().equals(name)).findFirst()
+                    .orElseThrow(() -> new IOException("Unknown algorithm: " + name));
+            final int chunkSize = Integer.parseInt(readValue(br, "chunkSize"));
+            final long size = Long.parseLong(readValue(br, "size"));
+            final String root = readValue(br, "root").toUpperCase(Locale.ROOT);
+            final List<byte[]> chunkDigests = new ArrayList<>();
+            String line;
+            while ((line = br.readLine()) != null && !line.isBlank()) {
+                final String[] parts = line.trim().split(" ");
+                if (parts.length != 2 || Integer.parseInt(parts[0]) != chunkDigests.size()) {
+                    throw new IOException("Invalid chunk line: " + line);
+                }
+                chunkDigests.add(HexFormat.of().parseHex(parts[1]));
+            }
+            final MessageDigestResult rootResult = new MessageDigestResult(HexFormat.of().parseHex(root), root);
+            if (!rootResult.equals(computeRoot(algorithm, chunkDigests))) {
+                throw new IOException("Root digest does not match chunk digests");
+            }
+            return new TreeHash(algorithm, chunkSize, size, chunkDigests, rootResult);
+        } catch (IllegalArgumentException | NoSuchAlgorithmException ex) {
+            throw new IOException("Invalid tree hash", ex);
+        }
+    }
+
+    private static String readValue(BufferedReader br, String key) throws IOException {
+        final String line = br.readLine();
+        if (line == null || !line.startsWith(key + "=")) {
+            throw new IOException("Missing value: " + key);
+        }
+        return line.substring(key.length() + 1).trim();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.hashing;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.Checksum;
+
+/**
+ * Streaming implementation of the non-cryptographic hash function xxHash64.
+ * The value of {@link #getValue()} matches the reference implementation, the
+ * canonical representation is its big-endian encoding.
+ *
+ * @author Matthias Fussenegger
+ */
+public final class XxHash64 implements Checksum {
+
+    private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME64_3 = 0x165667B19E3779F9L;
+    private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+    /**
+     * The number of bytes processed per stripe (four lanes of eight bytes).
+     */
+    private static final int STRIPE_LENGTH = 32;
+
+    private static final VarHandle LONG_HANDLE
+            = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final VarHandle INT_HANDLE
+            = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final long _seed;
+
+    private final byte[] _buffer = new byte[STRIPE_LENGTH];
+
+    private int _bufferSize;
+
+    private long _totalLength;
+
+    private long _v1, _v2, _v3, _v4;
+
+    /**
+     * Creates a new instance using the seed {@code 0}.
+     */
+    public XxHash64() {
+        this(0);
+    }
+
+    /**
+     * Creates a new instance using the specified seed.
+     *
+     * @param seed the seed of the hash function.
+     */
+    public XxHash64(long seed) {
+        _seed = seed;
+        reset();
+    }
+
+    private static long round(long acc, long input) {
+        acc += input * PRIME64_2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * PRIME64_1;
+    }
+
+    private static long mergeRound(long acc, long value) {
+        acc ^= round(0, value);
+        return acc * PRIME64_1 + PRIME64_4;
+    }
+
+    private void processStripe(byte[] b, int off) {
+        _v1 = round(_v1, (long) LONG_HANDLE.get(b, off));
+        _v2 = round(_v2, (long) LONG_HANDLE.get(b, off + 8));
+        _v3 = round(_v3, (long) LONG_HANDLE.get(b, off + 16));
+        _v4 = round(_v4, (long) LONG_HANDLE.get(b, off + 24));
+    }
+
+    @Override
+    public void update(int b) {
+        _buffer[_bufferSize++] = (byte) b;
+        ++_totalLength;
+        if (_bufferSize == STRIPE_LENGTH) {
+            processStripe(_buffer, 0);
+            _bufferSize = 0;
+        }
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        _totalLength += len;
+        if (_bufferSize > 0) { // fill pending stripe first
+            final int count = Math.min(len, STRIPE_LENGTH - _bufferSize);
+            System.arraycopy(b, off, _buffer, _bufferSize, count);
+            _bufferSize += count;
+            off += count;
+            len -= count;
+            if (_bufferSize < STRIPE_LENGTH) {
+                return;
+            }
+            processStripe(_buffer, 0);
+            _bufferSize = 0;
+        }
+        final int end = off + len;
+        for (; off + STRIPE_LENGTH <= end; off += STRIPE_LENGTH) {
+            processStripe(b, off);
+        }
+        _bufferSize = end - off;
+        System.arraycopy(b, off, _buffer, 0, _bufferSize);
+    }
+
+    /**
+     * Updates the checksum with the remaining bytes of the specified buffer.
+     * Other than the default implementation, direct buffers are processed
+     * without copying their content into a temporary array first.
+     *
+     * @param buffer the buffer to be processed.
+     */
+    @Override
+    public void update(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        } else {
+            final ByteBuffer input = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+            while (_bufferSize > 0 && input.hasRemaining()) { // fill pending stripe first
+                update(input.get());
+            }
+            while (input.remaining() >= STRIPE_LENGTH) {
+                _v1 = round(_v1, input.getLong());
+                _v2 = round(_v2, input.getLong());
+                _v3 = round(_v3, input.getLong());
+                _v4 = round(_v4, input.getLong());
+                _totalLength += STRIPE_LENGTH;
+            }
+            while (input.hasRemaining()) {
+                update(input.get());
+            }
+        }
+        buffer.position(buffer.limit());
+    }
+
+    @Override
+    public long getValue() {
+        long hash;
+        if (_totalLength >= STRIPE_LENGTH) {
+            hash = Long.rotateLeft(_v1, 1) + Long.rotateLeft(_v2, 7)
+                    + Long.rotateLeft(_v3, 12) + Long.rotateLeft(_v4, 18);
+            hash = mergeRound(hash, _v1);
+            hash = mergeRound(hash, _v2);
+            hash = mergeRound(hash, _v3);
+            hash = mergeRound(hash, _v4);
+        } else {
+            hash = _seed + PRIME64_5;
+        }
+        hash += _totalLength;
+
+        int pos = 0;
+        for (; pos + 8 <= _bufferSize; pos += 8) {
+            hash ^= round(0, (long) LONG_HANDLE.get(_buffer, pos));
+            hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+        }
+        if (pos + 4 <= _bufferSize) {
+            hash ^= Integer.toUnsignedLong((int) INT_HANDLE.get(_buffer, pos)) * PRIME64_1;
+            hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+            pos += 4;
+        }
+        for (; pos < _bufferSize; ++pos) {
+            hash ^= (_buffer[pos] & 0xFFL) * PRIME64_5;
+            hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+        }
+
+        // avalanche
+        hash ^= hash >>> 33;
+        hash *= PRIME64_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME64_3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    @Override
+    public void reset() {
+        _v1 = _seed + PRIME64_1 + PRIME64_2;
+        _v2 = _seed + PRIME64_2;
+        _v3 = _seed;
+        _v4 = _seed - PRIME64_1;
+        _totalLength = 0;
+        _bufferSize = 0;
+    }
+}
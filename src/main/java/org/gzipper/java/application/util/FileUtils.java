@@ -375,6 +375,32 @@ public final class FileUtils {
         return holder._size;
     }
 
+    /**
+     * Checks whether the specified file is located on rotational storage, e.g.
+     * a hard disk drive. This is currently only supported on Linux, hence
+     * {@code false} is returned on any other system or if it is unknown.
+     *
+     * @param file the file to be checked.
+     * @return true if the file is located on rotational storage.
+     */
+    public static boolean isOnRotationalStorage(File file) {
+        try {
+            final String name = Files.getFileStore(file.toPath()).name(); // e.g. "/dev/sda1"
+            if (!name.startsWith("/dev/")) return false;
+            final Path device = Paths.get("/sys/class/block", name.substring(5));
+            if (!Files.exists(device)) return false;
+            // partitions do not have a queue, but their parent device does
+            final Path realDevice = device.toRealPath();
+            Path rotational = realDevice.resolve("queue/rotational");
+            if (!Files.exists(rotational)) {
+                rotational = realDevice.getParent().resolve("queue/rotational");
+            }
+            return Files.exists(rotational) && Files.readString(rotational).trim().equals("1");
+        } catch (IOException | RuntimeException ex) {
+            return false;
+        }
+    }
+
     /**
      * Generates a unique file name using the specified parameters.
      *
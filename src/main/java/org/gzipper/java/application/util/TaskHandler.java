@@ -20,6 +20,8 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Handler used to execute tasks via {@link ExecutorService}.
@@ -30,8 +32,30 @@ public final class TaskHandler implements AutoCloseable {
 
     private final ExecutorService _executorService;
 
+    /**
+     * Limits the number of running tasks of {@link ExecutorType#VIRTUAL},
+     * which is {@code null} for all other types.
+     */
+    private final Semaphore _permits;
+
     public TaskHandler(ExecutorType type) {
-        _executorService = type.getExecutorService();
+        this(type, type == ExecutorType.VIRTUAL
+                ? Integer.MAX_VALUE : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a new handler using the specified type of executor.
+     *
+     * @param type        the type of the executor.
+     * @param parallelism the maximum number of threads of
+     *                    {@link ExecutorType#PARALLEL}, or the maximum number
+     *                    of running tasks of {@link ExecutorType#VIRTUAL}.
+     *                    Ignored by all other types.
+     */
+    public TaskHandler(ExecutorType type, int parallelism) {
+        _executorService = type.getExecutorService(Math.max(1, parallelism));
+        _permits = type == ExecutorType.VIRTUAL && parallelism < Integer.MAX_VALUE
+                ? new Semaphore(Math.max(1, parallelism)) : null;
     }
 
     /**
@@ -41,7 +65,10 @@ public final class TaskHandler implements AutoCloseable {
      * @return a {@link Future} which can be used to manipulate the task.
      */
     public synchronized Future<?> submit(Runnable task) {
-        return _executorService.submit(task);
+        if (_permits == null) {
+            return _executorService.submit(task);
+        }
+        return submit(Executors.callable(task));
     }
 
     /**
@@ -52,7 +79,17 @@ public final class TaskHandler implements AutoCloseable {
      * @return a {@link Future} representing the pending completion of the task.
      */
     public synchronized <T> Future<T> submit(Callable<T> task) {
-        return _executorService.submit(task);
+        if (_permits == null) {
+            return _executorService.submit(task);
+        }
+        return _executorService.submit(() -> {
+            _permits.acquire(); // blocking a virtual thread is cheap
+            try {
+                return task.call();
+            } finally {
+                _permits.release();
+            }
+        });
     }
 
     @Override
@@ -60,20 +97,52 @@ public final class TaskHandler implements AutoCloseable {
         _executorService.shutdown();
     }
 
+    /**
+     * Waits until all tasks have completed after this handler has been
+     * closed, e.g. before releasing resources which are used by the tasks.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void awaitTermination() throws InterruptedException {
+        while (!_executorService.awaitTermination(1, TimeUnit.MINUTES)) {
+            // tasks are still running
+        }
+    }
+
     public enum ExecutorType {
         CACHED {
             @Override
-            ExecutorService getExecutorService() {
+            ExecutorService getExecutorService(int parallelism) {
                 return Executors.newCachedThreadPool();
             }
         },
         QUEUED {
             @Override
-            ExecutorService getExecutorService() {
+            ExecutorService getExecutorService(int parallelism) {
                 return Executors.newSingleThreadExecutor();
             }
+        },
+        PARALLEL {
+            @Override
+            ExecutorService getExecutorService(int parallelism) {
+                return Executors.newFixedThreadPool(parallelism);
+            }
+        },
+        /**
+         * Runs each task in a new virtual thread, which is suited for tasks
+         * that mostly wait for I/O, e.g. reading files from network mounts,
+         * so that thousands of tasks may block at the same time without
+         * occupying a platform thread each. CPU-bound tasks should be
+         * executed by {@link #PARALLEL} instead. Since virtual threads are
+         * never reused, thread-local caches are of no use to such tasks.
+         */
+        VIRTUAL {
+            @Override
+            ExecutorService getExecutorService(int parallelism) {
+                return Executors.newVirtualThreadPerTaskExecutor();
+            }
         };
 
-        abstract ExecutorService getExecutorService();
+        abstract ExecutorService getExecutorService(int parallelism);
     }
 }
@@ -0,0 +1,291 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.cli;
+
+import org.gzipper.java.application.ArchiveOperation;
+import org.gzipper.java.application.CompressionMode;
+import org.gzipper.java.application.model.ArchiveType;
+import org.gzipper.java.application.util.FileUtils;
+import org.gzipper.java.application.util.TaskHandler;
+import org.gzipper.java.exceptions.GZipperException;
+import org.gzipper.java.util.Log;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+
+/**
+ * Runs the jobs of a job file, which is a properties file that describes each
+ * job by properties with the same prefix, i.e. the identifier of the job:
+ * <pre>
+ * threads=4
+ * 1.mode=compress
+ * 1.type=tgz
+ * 1.files=docs,src
+ * 1.output=backup.tgz
+ * 2.mode=extract
+ * 2.files=a.zip,b.zip
+ * 2.output=extracted
+ * </pre>
+ * Apart from {@code mode} and {@code files}, which is a comma separated list,
+ * the properties {@code type}, {@code level}, {@code name}, {@code filter},
+ * {@code output} and {@code separate} are optional and have the same meaning
+ * as the arguments of {@link Cli}. Relative paths are resolved against the
+ * folder of the job file. The jobs are run in the order of their identifiers
+ * and all operations share the same {@link TaskHandler}, hence the property
+ * {@code threads} limits the number of operations running at the same time.
+ * A job which cannot be started or fails does not affect the other jobs. The
+ * result of each operation is written as CSV to the report.
+ *
+ * @author Matthias Fussenegger
+ */
+final class Batch {
+
+    private static final String THREADS_PROPERTY = "threads";
+
+    private static final String MODE_KEY = ".mode";
+
+    private static final String REPORT_HEADER = "job,mode,archive,status,seconds,bytes,bytes_per_second,message";
+
+    private Batch() {
+        throw new AssertionError("Holds static members only");
+    }
+
+    /**
+     * Runs the jobs of the specified job file and writes the report.
+     *
+     * @param jobFile the job file.
+     * @param threads the maximum number of concurrent operations or
+     *                {@code null} to use the value of the job file.
+     * @param report  the stream to which the report is written.
+     * @param err     the stream to which messages are written.
+     * @return the exit status, which signals failure if any job failed.
+     */
+    static int run(File jobFile, Integer threads, OutputStream report, PrintStream err) {
+
+        final Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(new FileInputStream(jobFile), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException ex) {
+            err.println("Job file cannot be read: " + ex.getMessage());
+            return Pipe.EXIT_FAILURE;
+        }
+
+        final int parallelism;
+        try {
+            parallelism = threads != null ? threads : Integer.parseInt(properties.getProperty(
+                    THREADS_PROPERTY, Integer.toString(Runtime.getRuntime().availableProcessors())).trim());
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Number of threads has to be positive");
+            }
+        } catch (IllegalArgumentException ex) {
+            err.println(ex.getMessage());
+            return Pipe.EXIT_USAGE;
+        }
+
+        final File baseDir = jobFile.getAbsoluteFile().getParentFile();
+        final List<Result> results = new ArrayList<>();
+        final List<Result> pending = new ArrayList<>();
+        final List<Future<Boolean>> futures = new ArrayList<>();
+        final long startTime = System.nanoTime();
+
+        try (TaskHandler taskHandler = new TaskHandler(TaskHandler.ExecutorType.PARALLEL, parallelism)) {
+            for (String id : getJobIds(properties)) {
+                final String mode = properties.getProperty(id + MODE_KEY).trim();
+                try {
+                    final List<ArchiveOperation> operations = createOperations(properties, id, baseDir);
+                    for (ArchiveOperation operation : operations) {
+                        final Result result = new Result(id, mode);
+                        result._operation = operation;
+                        result._bytes = inputSize(operation);
+                        futures.add(taskHandler.submit(operation));
+                        pending.add(result);
+                        results.add(result);
+                    }
+                } catch (FileNotFoundException | GZipperException | IllegalArgumentException ex) {
+                    final Result result = new Result(id, mode);
+                    result._message = ex.getMessage();
+                    results.add(result);
+                    Log.w("Job {0} cannot be started: {1}", true, id, ex.getMessage());
+                }
+            }
+            for (int i = 0; i < futures.size(); ++i) {
+                final Result result = pending.get(i);
+                try {
+                    result._success = futures.get(i).get();
+                } catch (ExecutionException ex) {
+                    result._message = ex.getCause().getMessage();
+                    Log.e(ex.getCause().getLocalizedMessage(), ex.getCause());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    pending.forEach(r -> r._operation.interrupt());
+                    return Pipe.EXIT_FAILURE;
+                }
+                result._seconds = result._operation.calculateElapsedTime();
+                Log.i("Job {0}: {1} {2} in {3} seconds", true, result._job,
+                        result.getArchiveName(), result._success ? "completed" : "failed", result._seconds);
+            }
+        }
+
+        final long failures = results.stream().filter(result -> !result._success).count();
+        Log.i("{0} of {1} operations failed, total duration: {2} seconds", true,
+                failures, results.size(), (System.nanoTime() - startTime) / 1E9);
+
+        final PrintWriter writer = new PrintWriter(new OutputStreamWriter(report, StandardCharsets.UTF_8));
+        writer.println(REPORT_HEADER);
+        results.forEach(result -> writer.println(result.toCsv()));
+        writer.flush();
+
+        return failures == 0 ? Pipe.EXIT_SUCCESS : Pipe.EXIT_FAILURE;
+    }
+
+    /**
+     * Returns the identifiers of the jobs in ascending order, numeric
+     * identifiers being compared by their value.
+     */
+    private static List<String> getJobIds(Properties properties) {
+        return properties.stringPropertyNames().stream()
+                .filter(key -> key.endsWith(MODE_KEY))
+                .map(key -> key.substring(0, key.length() - MODE_KEY.length()))
+                .sorted(Comparator.comparing((String id) -> !id.matches("\\d{1,18}"))
+                        .thenComparing(id -> id.matches("\\d{1,18}") ? Long.parseLong(id) : 0L)
+                        .thenComparing(Comparator.naturalOrder()))
+                .toList();
+    }
+
+    private static List<ArchiveOperation> createOperations(Properties properties, String id, File baseDir)
+            throws FileNotFoundException, GZipperException {
+
+        final String mode = properties.getProperty(id + MODE_KEY).trim();
+        final CompressionMode compressionMode = switch (mode.toLowerCase()) {
+            case "compress" -> CompressionMode.COMPRESS;
+            case "extract" -> CompressionMode.DECOMPRESS;
+            case "update" -> CompressionMode.UPDATE;
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+
+        final String type = getProperty(properties, id, "type");
+        final String level = getProperty(properties, id, "level");
+        final String filter = getProperty(properties, id, "filter");
+        final String output = getProperty(properties, id, "output");
+        final String files = getProperty(properties, id, "files");
+        if (files == null) {
+            throw new IllegalArgumentException("No files have been specified");
+        } else if (compressionMode == CompressionMode.UPDATE && output == null) {
+            throw new IllegalArgumentException("Archive to be updated has to be specified");
+        }
+
+        final List<String> paths = new ArrayList<>();
+        for (String path : files.split(",")) {
+            if (!path.isBlank()) {
+                paths.add(resolve(baseDir, path.trim()));
+            }
+        }
+
+        return Cli.createOperations(compressionMode,
+                type != null ? Pipe.parseType(type) : null,
+                level != null ? Integer.parseInt(level) : Deflater.DEFAULT_COMPRESSION,
+                getProperty(properties, id, "name"),
+                filter != null ? Pattern.compile(filter) : null,
+                output != null ? resolve(baseDir, output) : FileUtils.getPath(baseDir),
+                Boolean.parseBoolean(getProperty(properties, id, "separate")),
+                Cli.toFiles(paths));
+    }
+
+    private static String getProperty(Properties properties, String id, String key) {
+        final String value = properties.getProperty(id + "." + key);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String resolve(File baseDir, String path) {
+        final File file = new File(path);
+        return file.isAbsolute() ? path : new File(baseDir, path).getPath();
+    }
+
+    /**
+     * Returns the number of bytes to be read by the specified operation, i.e.
+     * the size of the files to be compressed or of the archive to be extracted.
+     */
+    private static long inputSize(ArchiveOperation operation) {
+        final var info = operation.getArchiveInfo();
+        if (info.getFiles() == null) {
+            return new File(info.getArchiveName()).length();
+        }
+        long size = 0;
+        for (File file : info.getFiles()) {
+            size += FileUtils.fileSizes(file.toPath(), name -> true);
+        }
+        return size;
+    }
+
+    /**
+     * The result of an operation or of a job which could not be started.
+     */
+    private static final class Result {
+
+        private final String _job;
+
+        private final String _mode;
+
+        private ArchiveOperation _operation;
+
+        private boolean _success;
+
+        private double _seconds;
+
+        private long _bytes;
+
+        private String _message;
+
+        private Result(String job, String mode) {
+            _job = job;
+            _mode = mode;
+        }
+
+        private String getArchiveName() {
+            if (_operation == null) {
+                return "";
+            }
+            final var info = _operation.getArchiveInfo();
+            return info.getFiles() == null // name of archive to be extracted is a path
+                    ? info.getArchiveName()
+                    : new File(info.getOutputPath(), info.getArchiveName()).getPath();
+        }
+
+        private String toCsv() {
+            final long throughput = _seconds > 0 ? Math.round(_bytes / _seconds) : 0;
+            return String.join(",", escape(_job), escape(_mode), escape(getArchiveName()),
+                    _success ? "success" : "failure", String.format(Locale.ROOT, "%.3f", _seconds),
+                    Long.toString(_bytes), Long.toString(throughput), escape(_message != null ? _message : ""));
+        }
+
+        private static String escape(String value) {
+            if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+                return "\"" + value.replace("\"", "\"\"") + "\"";
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,528 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.cli;
+
+import org.gzipper.java.application.ArchiveInfo;
+import org.gzipper.java.application.ArchiveInfoFactory;
+import org.gzipper.java.application.ArchiveOperation;
+import org.gzipper.java.application.CompressionMode;
+import org.gzipper.java.application.algorithm.CompressionAlgorithm;
+import org.gzipper.java.application.algorithm.DeduplicationStats;
+import org.gzipper.java.application.hashing.ChecksumManifest;
+import org.gzipper.java.application.hashing.MessageDigestAlgorithm;
+import org.gzipper.java.application.hashing.MultiMessageDigestProvider;
+import org.gzipper.java.application.model.ArchiveType;
+import org.gzipper.java.application.predicates.PatternPredicate;
+import org.gzipper.java.application.util.FileUtils;
+import org.gzipper.java.application.util.TaskHandler;
+import org.gzipper.java.exceptions.GZipperException;
+import org.gzipper.java.i18n.I18N;
+import org.gzipper.java.util.Log;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.StreamHandler;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+
+/**
+ * Headless entry point which compresses, extracts or updates archives without
+ * loading JavaFX, e.g. for use on servers and in scripts. The operations are
+ * the same as those of the user interface and messages are written to the
+ * standard error. The digests of the entries of archives can be written to
+ * the standard output without extracting them. If the only file is
+ * {@code -}, the standard input is processed and the result is written to
+ * the standard output, see {@link Pipe}. Many operations can be described by
+ * a job file, see {@link Batch}.
+ *
+ * @author Matthias Fussenegger
+ */
+public final class Cli {
+
+    /**
+     * The default archive name of an archive if not explicitly specified.
+     */
+    private static final String DEFAULT_ARCHIVE_NAME = "gzipper_out";
+
+    /**
+     * The name of the file which refers to the standard input and output.
+     */
+    private static final String STANDARD_STREAMS = "-";
+
+    private static final String USAGE = """
+            Usage: gzipper (-c | -x | -u | -d) [OPTION]... FILE...
+              -c, --compress  compress the files into an archive
+              -x, --extract   extract the archives
+              -u, --update    update the archive specified by --output with the files
+              -d, --digest    write the digest of each entry of the archives to the standard output
+              -a, --algorithm the algorithm of the digests, e.g. sha256 (default) or md5
+              -t, --type      the archive type, e.g. zip or tgz (detected from the file name if omitted)
+              -l, --level     the compression level from -1 to 9
+              -n, --name      the name of the archive to be created
+              -f, --filter    only process files and entries whose name matches the expression
+              -j, --threads   the number of archives to be processed at the same time
+              -o, --output    the output directory or the archive to be created or updated
+              -s, --separate  put each file into a separate archive
+              -v, --verbose   write details of errors, e.g. stack traces
+              -h, --help      print this help
+            If FILE is -, the standard input is processed and written to the standard output.
+            Usage: gzipper (-b | --batch) JOBFILE [-j THREADS] [-r REPORT]
+              runs the jobs of the job file and writes a CSV report to REPORT or the standard output""";
+
+    /**
+     * Strongly referenced, since the configuration of the logger is lost
+     * once the logger has been garbage collected.
+     */
+    private static final Logger CONSOLE_LOGGER = Logger.getLogger(Cli.class.getName());
+
+    private Cli() {
+        throw new AssertionError("Holds static members only");
+    }
+
+    public static void main(String[] args) {
+        Pipe.initSettings();
+        final int status;
+        try (InputStream in = new FileInputStream(FileDescriptor.in);
+             OutputStream out = new FileOutputStream(FileDescriptor.out)) {
+            status = run(args, in, out, System.err);
+        } catch (IOException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(Pipe.EXIT_FAILURE);
+            return;
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Writes the messages which are logged for the user interface to the
+     * specified stream. All other messages are only written if verbose
+     * logging is enabled.
+     *
+     * @param err     the stream to which messages are written.
+     * @param verbose true to also write the messages of the default logger.
+     */
+    static synchronized void initLogging(PrintStream err, boolean verbose) {
+        for (Handler handler : CONSOLE_LOGGER.getHandlers()) {
+            CONSOLE_LOGGER.removeHandler(handler);
+        }
+        CONSOLE_LOGGER.setUseParentHandlers(false);
+        CONSOLE_LOGGER.addHandler(new StreamHandler(err, new Formatter() {
+            @Override
+            public String format(LogRecord record) {
+                return formatMessage(record) + System.lineSeparator();
+            }
+        }) {
+            @Override
+            public synchronized void publish(LogRecord record) {
+                super.publish(record);
+                flush();
+            }
+        });
+        Log.setLoggerForUI(CONSOLE_LOGGER.getName());
+        Log.DEFAULT_LOGGER.setUseParentHandlers(verbose);
+    }
+
+    /**
+     * Parses the specified arguments and runs the operations.
+     *
+     * @param args the command-line arguments.
+     * @param in   the standard input if the only file is {@code -}.
+     * @param out  the standard output if the only file is {@code -}.
+     * @param err  the stream to which messages are written.
+     * @return the exit status.
+     */
+    static int run(String[] args, InputStream in, OutputStream out, PrintStream err) {
+
+        CompressionMode mode = null;
+        ArchiveType type = null;
+        int level = Deflater.DEFAULT_COMPRESSION;
+        String name = null;
+        Pattern filter = null;
+        Integer threads = null;
+        String batch = null;
+        String report = null;
+        String output = null;
+        boolean separate = false;
+        boolean verbose = false;
+        boolean digest = false;
+        MessageDigestAlgorithm algorithm = MessageDigestAlgorithm.SHA_256;
+        final List<String> files = new ArrayList<>();
+
+        try {
+            boolean options = true;
+            for (int i = 0; i < args.length; ++i) {
+                if (!options || !args[i].startsWith("-") || args[i].equals(STANDARD_STREAMS)) {
+                    files.add(args[i]);
+                    continue;
+                }
+                switch (args[i]) {
+                    case "-c", "--compress" -> mode = CompressionMode.COMPRESS;
+                    case "-x", "--extract" -> mode = CompressionMode.DECOMPRESS;
+                    case "-u", "--update" -> mode = CompressionMode.UPDATE;
+                    case "-d", "--digest" -> digest = true;
+                    case "-a", "--algorithm" -> algorithm = parseAlgorithm(getValue(args, ++i));
+                    case "-t", "--type" -> type = Pipe.parseType(getValue(args, ++i));
+                    case "-l", "--level" -> level = Integer.parseInt(getValue(args, ++i));
+                    case "-n", "--name" -> name = getValue(args, ++i);
+                    case "-f", "--filter" -> filter = Pattern.compile(getValue(args, ++i));
+                    case "-j", "--threads" -> threads = Integer.parseInt(getValue(args, ++i));
+                    case "-b", "--batch" -> batch = getValue(args, ++i);
+                    case "-r", "--report" -> report = getValue(args, ++i);
+                    case "-o", "--output" -> output = getValue(args, ++i);
+                    case "-s", "--separate" -> separate = true;
+                    case "-v", "--verbose" -> verbose = true;
+                    case "-h", "--help" -> {
+                        err.println(USAGE);
+                        return Pipe.EXIT_SUCCESS;
+                    }
+                    case "--" -> options = false;
+                    default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                }
+            }
+            if (batch != null) {
+                if (mode != null || digest || !files.isEmpty()) {
+                    throw new IllegalArgumentException("Batch mode does not accept a mode or files");
+                }
+            } else if ((mode != null) == digest || files.isEmpty()) {
+                throw new IllegalArgumentException("Exactly one mode and files have to be specified");
+            }
+            if (threads != null && threads < 1) {
+                throw new IllegalArgumentException("Number of threads has to be positive");
+            } else if (mode == CompressionMode.UPDATE && output == null) {
+                throw new IllegalArgumentException("Archive to be updated has to be specified");
+            }
+        } catch (IllegalArgumentException ex) {
+            err.println(ex.getMessage());
+            err.println(USAGE);
+            return Pipe.EXIT_USAGE;
+        }
+
+        initLogging(err, verbose);
+
+        if (batch != null) {
+            if (report == null) {
+                return Batch.run(new File(batch), threads, out, err);
+            }
+            try (OutputStream stream = new FileOutputStream(report)) {
+                return Batch.run(new File(batch), threads, stream, err);
+            } catch (IOException ex) {
+                err.println("Report cannot be written: " + ex.getMessage());
+                return Pipe.EXIT_FAILURE;
+            }
+        }
+
+        if (digest) {
+            try {
+                return hashEntries(type, algorithm, filter, toFiles(files), out);
+            } catch (FileNotFoundException ex) {
+                err.println(ex.getMessage());
+                return Pipe.EXIT_FAILURE;
+            }
+        }
+
+        if (files.size() == 1 && files.get(0).equals(STANDARD_STREAMS)) {
+            if (type == null || mode == CompressionMode.UPDATE) {
+                err.println("Type has to be specified and updating is not supported");
+                return Pipe.EXIT_USAGE;
+            }
+            return Pipe.process(type.getAlgorithm(), mode == CompressionMode.COMPRESS,
+                    name, level, filter, in, out, err);
+        }
+
+        final List<ArchiveOperation> operations;
+        try {
+            operations = createOperations(mode, type, level, name, filter, output, separate, toFiles(files));
+        } catch (FileNotFoundException | GZipperException | IllegalArgumentException ex) {
+            err.println(ex.getMessage());
+            return Pipe.EXIT_FAILURE;
+        }
+
+        return performOperations(operations, threads != null
+                ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    private static String getValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value of " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    /**
+     * Creates the operations for the specified files, which are the files to
+     * be compressed or the archives to be extracted.
+     *
+     * @param mode     the mode of the operations.
+     * @param type     the archive type, which is detected from the file name
+     *                 if {@code null}.
+     * @param level    the compression level.
+     * @param name     the name of the archive to be created, may be
+     *                 {@code null}.
+     * @param filter   only files and entries whose name matches are
+     *                 processed, may be {@code null}.
+     * @param output   the output directory or the archive to be created or
+     *                 updated, may be {@code null} except for updating.
+     * @param separate true to put each file into a separate archive.
+     * @param files    the files to be processed.
+     * @return the operations, which have not yet been started.
+     * @throws FileNotFoundException    if the output folder cannot be created.
+     * @throws GZipperException         if the compression level is invalid.
+     * @throws IllegalArgumentException if the archive type cannot be
+     *                                  determined.
+     */
+    static List<ArchiveOperation> createOperations(CompressionMode mode, ArchiveType type, int level,
+                                                   String name, Pattern filter, String output,
+                                                   boolean separate, List<File> files)
+            throws FileNotFoundException, GZipperException {
+
+        final List<ArchiveInfo> infos = switch (mode) {
+            case COMPRESS -> createCompressInfos(type, level, name, output, separate, files);
+            case DECOMPRESS -> createExtractInfos(type, output, files);
+            case UPDATE -> createUpdateInfos(type, level, output, files);
+        };
+        final List<ArchiveOperation> operations = new ArrayList<>(infos.size());
+        for (ArchiveInfo info : infos) {
+            final ArchiveOperation.Builder builder = new ArchiveOperation.Builder(info, mode);
+            if (filter != null) {
+                builder.filterPredicate(new PatternPredicate(filter));
+            }
+            operations.add(builder.build());
+        }
+        return operations;
+    }
+
+    static List<File> toFiles(List<String> names) throws FileNotFoundException {
+        final List<File> files = new ArrayList<>(names.size());
+        for (String name : names) {
+            final File file = new File(name).getAbsoluteFile();
+            if (!file.exists()) {
+                throw new FileNotFoundException("File does not exist: " + name);
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+    /**
+     * Returns the archive type whose longest file extension matches the end
+     * of the specified file name.
+     *
+     * @param fileName the name of the archive.
+     * @return the archive type.
+     * @throws IllegalArgumentException if no archive type matches.
+     */
+    static ArchiveType detectType(String fileName) {
+        final String name = fileName.toLowerCase();
+        ArchiveType detected = null;
+        int length = 0;
+        for (ArchiveType type : ArchiveType.values()) {
+            for (String extensionName : type.getExtensionNames(false)) {
+                if (name.endsWith(extensionName) && extensionName.length() > length) {
+                    detected = type;
+                    length = extensionName.length();
+                }
+            }
+        }
+        if (detected == null) {
+            throw new IllegalArgumentException("Archive type cannot be determined: " + fileName);
+        }
+        return detected;
+    }
+
+    /**
+     * Returns the algorithm whose name matches the specified value, ignoring
+     * case and hyphens, e.g. {@code sha256} for {@code SHA-256}.
+     *
+     * @param value the name of the algorithm.
+     * @return the algorithm.
+     * @throws IllegalArgumentException if no algorithm matches.
+     */
+    static MessageDigestAlgorithm parseAlgorithm(String value) {
+        final String normalized = value.replace("-", "").replace("_", "");
+        for (MessageDigestAlgorithm algorithm : MessageDigestAlgorithm.values()) {
+            if (ChecksumManifest.getTag(algorithm).equalsIgnoreCase(normalized)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unknown algorithm: " + value);
+    }
+
+    /**
+     * Writes the digests of the entries of the specified archives to the
+     * specified stream in the format of checksum manifests, i.e. a line
+     * consisting of the digest and the name of each entry. The names are
+     * prefixed with the name of the archive if several archives are hashed.
+     *
+     * @param type      the archive type, which is detected from the file
+     *                  name if {@code null}.
+     * @param algorithm the algorithm of the digests.
+     * @param filter    only entries whose name matches are hashed, may be
+     *                  {@code null}.
+     * @param archives  the archives of which to hash the entries.
+     * @param out       the stream to which the digests are written.
+     * @return the exit status, which signals failure if any archive failed.
+     */
+    static int hashEntries(ArchiveType type, MessageDigestAlgorithm algorithm, Pattern filter,
+                           List<File> archives, OutputStream out) {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        int failures = 0;
+        for (File archive : archives) {
+            final String prefix = archives.size() > 1 ? archive.getName() + "/" : "";
+            try {
+                final CompressionAlgorithm compression
+                        = (type != null ? type : detectType(archive.getName())).getAlgorithm();
+                if (filter != null) {
+                    compression.setPredicate(new PatternPredicate(filter));
+                }
+                final MultiMessageDigestProvider provider
+                        = MultiMessageDigestProvider.createProvider(List.of(algorithm), null);
+                compression.hash(FileUtils.getPath(archive), provider, (entryName, results) -> {
+                    try {
+                        ChecksumManifest.write(writer, ChecksumManifest.Format.GNU, algorithm,
+                                prefix + entryName, results.get(algorithm).getHashedValue());
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                writer.flush();
+            } catch (IOException | NoSuchAlgorithmException | IllegalArgumentException ex) {
+                Log.e(ex.getLocalizedMessage(), ex);
+                ++failures;
+            } catch (UncheckedIOException ex) {
+                Log.e(ex.getCause().getLocalizedMessage(), ex.getCause());
+                ++failures;
+            }
+        }
+        return failures == 0 ? Pipe.EXIT_SUCCESS : Pipe.EXIT_FAILURE;
+    }
+
+    private static List<ArchiveInfo> createCompressInfos(ArchiveType type, int level, String name,
+                                                         String output, boolean separate,
+                                                         List<File> files) throws GZipperException {
+        final File outputFile = new File(output != null ? output : "").getAbsoluteFile();
+        final String outputPath;
+        if (output != null && (!outputFile.exists() || outputFile.isFile())) {
+            // output is the archive to be created
+            outputPath = outputFile.getParent();
+            if (name == null) name = outputFile.getName();
+            if (type == null) type = detectType(outputFile.getName());
+        } else {
+            outputPath = FileUtils.getPath(outputFile);
+            if (name == null) name = files.size() == 1 ? files.get(0).getName() : DEFAULT_ARCHIVE_NAME;
+            if (type == null) throw new IllegalArgumentException("Type has to be specified");
+        }
+
+        final List<ArchiveInfo> infos;
+        if (separate) {
+            infos = ArchiveInfoFactory.createArchiveInfos(type, level, files, outputPath);
+        } else if (type == ArchiveType.GZIP && files.size() > 1) {
+            infos = ArchiveInfoFactory.createArchiveInfos(type, name, level, files, outputPath);
+        } else {
+            infos = List.of(ArchiveInfoFactory.createArchiveInfo(type, name, level, files, outputPath));
+        }
+        infos.forEach(ArchiveInfoFactory::applySettings);
+        return infos;
+    }
+
+    private static List<ArchiveInfo> createExtractInfos(ArchiveType type, String output, List<File> archives)
+            throws FileNotFoundException {
+        final File outputFolder = new File(output != null ? output : "").getAbsoluteFile();
+        if (!outputFolder.isDirectory() && !outputFolder.mkdirs()) {
+            throw new FileNotFoundException("Output folder cannot be created: " + output);
+        }
+        final List<ArchiveInfo> infos = new ArrayList<>(archives.size());
+        for (File archive : archives) {
+            final ArchiveType archiveType = type != null ? type : detectType(archive.getName());
+            final ArchiveInfo info = ArchiveInfoFactory.createArchiveInfo(archiveType,
+                    FileUtils.getPath(archive), FileUtils.getPath(outputFolder) + File.separator);
+            ArchiveInfoFactory.applySettings(info);
+            infos.add(info);
+        }
+        return infos;
+    }
+
+    private static List<ArchiveInfo> createUpdateInfos(ArchiveType type, int level, String output,
+                                                       List<File> files) throws GZipperException {
+        final File archive = new File(output).getAbsoluteFile();
+        final ArchiveType archiveType = type != null ? type : detectType(archive.getName());
+        final ArchiveInfo info = ArchiveInfoFactory.createArchiveInfo(
+                archiveType, archive.getName(), archive.getParent());
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw GZipperException.createWithReason(
+                    GZipperException.Reason.FAULTY_COMPRESSION_LVL,
+                    "Faulty compression level specified");
+        }
+        info.setLevel(level);
+        info.setFiles(files);
+        ArchiveInfoFactory.applySettings(info);
+        return List.of(info);
+    }
+
+    /**
+     * Performs the specified operations with at most {@code threads}
+     * operations running at the same time and waits for their completion.
+     *
+     * @param operations the operations to be performed.
+     * @param threads    the maximum number of concurrent operations.
+     * @return the exit status, which signals failure if any operation failed.
+     */
+    private static int performOperations(List<ArchiveOperation> operations, int threads) {
+        int failures = 0;
+        try (TaskHandler taskHandler = new TaskHandler(TaskHandler.ExecutorType.PARALLEL, threads)) {
+            final List<Future<Boolean>> futures = new ArrayList<>(operations.size());
+            for (ArchiveOperation operation : operations) {
+                futures.add(taskHandler.submit(operation));
+            }
+            for (int i = 0; i < futures.size(); ++i) {
+                final ArchiveOperation operation = operations.get(i);
+                final String archiveName = operation.getArchiveInfo().getArchiveName();
+                boolean success = false;
+                try {
+                    success = futures.get(i).get();
+                } catch (ExecutionException ex) {
+                    Log.e(ex.getCause().getLocalizedMessage(), ex.getCause());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    operations.forEach(ArchiveOperation::interrupt);
+                    return Pipe.EXIT_FAILURE;
+                }
+                if (success) {
+                    Log.i(I18N.getString("operationSuccess.text"), true, archiveName);
+                } else {
+                    Log.w(I18N.getString("operationNoSuccess.text"), true, archiveName);
+                    ++failures;
+                }
+                Log.i(I18N.getString("elapsedTime.text"), true, operation.calculateElapsedTime());
+                final DeduplicationStats stats = operation.getDeduplicationStats();
+                if (stats.getDuplicateCount() > 0) {
+                    Log.i(I18N.getString("deduplicationStats.text"), true,
+                            stats.getDuplicateCount(), stats.getSavedBytes());
+                }
+            }
+        }
+        return failures == 0 ? Pipe.EXIT_SUCCESS : Pipe.EXIT_FAILURE;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.cli;
+
+import org.gzipper.java.presentation.GZipper;
+
+import java.util.Set;
+
+/**
+ * Main entry point of the application, which starts the headless command-line
+ * mode if the first argument is one of its modes, see {@link Cli}, and the
+ * user interface otherwise. The user interface is only referenced if started,
+ * hence JavaFX is never loaded in headless mode.
+ *
+ * @author Matthias Fussenegger
+ */
+public final class Launcher {
+
+    /**
+     * The arguments which select the headless command-line mode.
+     */
+    private static final Set<String> CLI_MODES = Set.of(
+            "-c", "--compress", "-x", "--extract", "-u", "--update",
+            "-d", "--digest", "-b", "--batch", "-h", "--help");
+
+    private Launcher() {
+        throw new AssertionError("Holds static members only");
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0 && CLI_MODES.contains(args[0])) {
+            Cli.main(args);
+        } else {
+            GZipper.main(args);
+        }
+    }
+}
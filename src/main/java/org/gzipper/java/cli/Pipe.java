@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.cli;
+
+import org.gzipper.java.application.algorithm.ArchivingAlgorithm;
+import org.gzipper.java.application.algorithm.CompressionAlgorithm;
+import org.gzipper.java.application.model.ArchiveType;
+import org.gzipper.java.application.model.OS;
+import org.gzipper.java.application.model.OperatingSystem;
+import org.gzipper.java.application.predicates.PatternPredicate;
+import org.gzipper.java.application.util.AppUtils;
+import org.gzipper.java.exceptions.GZipperException;
+import org.gzipper.java.util.Settings;
+
+import java.io.*;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+
+/**
+ * Headless entry point which compresses the data read from the standard input
+ * and writes the result to the standard output, or decompresses it, so that
+ * the data flows through shell pipelines without temporary files, e.g.
+ * {@code pg_dump db | java -m org.gzipper/org.gzipper.java.cli.Pipe -c -t gzip > db.gz}.
+ * JavaFX is never loaded and messages are written to the standard error.
+ *
+ * @author Matthias Fussenegger
+ */
+public final class Pipe {
+
+    /**
+     * The exit status if the operation has been successful.
+     */
+    static final int EXIT_SUCCESS = 0;
+
+    /**
+     * The exit status if the operation has failed.
+     */
+    static final int EXIT_FAILURE = 1;
+
+    /**
+     * The exit status if the arguments are invalid.
+     */
+    static final int EXIT_USAGE = 2;
+
+    /**
+     * The name of the entry of archive types if no name is specified.
+     */
+    private static final String DEFAULT_ENTRY_NAME = "stdin";
+
+    private static final String USAGE = """
+            Usage: Pipe (-c | -x) -t TYPE [-l LEVEL] [-n NAME] [-f REGEX]
+              -c, --compress  compress the standard input
+              -x, --extract   decompress the standard input
+              -t, --type      the archive type, e.g. gzip, zip or tgz
+              -l, --level     the compression level
+              -n, --name      the name of the entry or the file name in the header
+              -f, --filter    only write entries whose name matches the expression""";
+
+    private Pipe() {
+        throw new AssertionError("Holds static members only");
+    }
+
+    public static void main(String[] args) {
+        initSettings();
+        Cli.initLogging(System.err, false);
+        final int status;
+        try (InputStream in = new FileInputStream(FileDescriptor.in);
+             OutputStream out = new FileOutputStream(FileDescriptor.out)) {
+            status = run(args, in, out, System.err);
+        } catch (IOException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(EXIT_FAILURE);
+            return;
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Initializes the settings with the settings file of the application if
+     * it exists, otherwise the default values apply.
+     */
+    static void initSettings() {
+        final File settings = new File(AppUtils.getDecodedRootPath(Pipe.class) + "settings.properties");
+        final OperatingSystem os = System.getProperty("os.name")
+                .toLowerCase().startsWith("windows")
+                ? new OperatingSystem(OS.WINDOWS)
+                : new OperatingSystem(OS.UNIX);
+        Settings.getInstance().init(settings.isFile() ? settings : null, os);
+    }
+
+    /**
+     * Parses the specified arguments and runs the operation.
+     *
+     * @param args the command-line arguments.
+     * @param in   the stream of the data to be processed.
+     * @param out  the stream to which the result is written.
+     * @param err  the stream to which messages are written.
+     * @return the exit status.
+     */
+    static int run(String[] args, InputStream in, OutputStream out, PrintStream err) {
+
+        Boolean compress = null;
+        ArchiveType type = null;
+        int level = Deflater.DEFAULT_COMPRESSION;
+        String name = null;
+        Pattern filter = null;
+
+        try {
+            for (int i = 0; i < args.length; ++i) {
+                switch (args[i]) {
+                    case "-c", "--compress" -> compress = true;
+                    case "-x", "--extract" -> compress = false;
+                    case "-t", "--type" -> type = parseType(getValue(args, ++i));
+                    case "-l", "--level" -> level = Integer.parseInt(getValue(args, ++i));
+                    case "-n", "--name" -> name = getValue(args, ++i);
+                    case "-f", "--filter" -> filter = Pattern.compile(getValue(args, ++i));
+                    default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                }
+            }
+            if (compress == null || type == null) {
+                throw new IllegalArgumentException("Mode and type have to be specified");
+            }
+        } catch (IllegalArgumentException ex) {
+            err.println(ex.getMessage());
+            err.println(USAGE);
+            return EXIT_USAGE;
+        }
+
+        return process(type.getAlgorithm(), compress, name, level, filter, in, out, err);
+    }
+
+    /**
+     * Compresses or decompresses the data of the specified stream.
+     *
+     * @param algorithm the algorithm of the archive type.
+     * @param compress  true to compress, false to decompress the data.
+     * @param name      the name of the entry, may be {@code null}.
+     * @param level     the compression level.
+     * @param filter    only entries whose name matches are written, may be
+     *                  {@code null}.
+     * @param in        the stream of the data to be processed.
+     * @param out       the stream to which the result is written.
+     * @param err       the stream to which messages are written.
+     * @return the exit status.
+     */
+    static int process(CompressionAlgorithm algorithm, boolean compress, String name, int level,
+                       Pattern filter, InputStream in, OutputStream out, PrintStream err) {
+
+        if (filter != null) {
+            algorithm.setPredicate(new PatternPredicate(filter));
+        }
+
+        try {
+            if (compress) {
+                if (name == null && algorithm instanceof ArchivingAlgorithm) {
+                    name = DEFAULT_ENTRY_NAME;
+                }
+                algorithm.compress(in, out, name, level);
+            } else {
+                algorithm.extract(in, out);
+            }
+            return EXIT_SUCCESS;
+        } catch (IOException ex) { // including errors of archivers and compressors
+            err.println(ex.getCause() instanceof GZipperException ? ex.getCause().getMessage() : ex.getMessage());
+            return EXIT_FAILURE;
+        }
+    }
+
+    private static String getValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value of " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    /**
+     * Returns the archive type with the specified name, which may either be
+     * the name of the type or one of its file extensions.
+     *
+     * @param value the name of the archive type or one of its extensions.
+     * @return the archive type.
+     * @throws IllegalArgumentException if no such archive type exists.
+     */
+    static ArchiveType parseType(String value) {
+        final String extension = value.startsWith(".") ? value : "." + value;
+        for (ArchiveType type : ArchiveType.values()) {
+            if (type.name().equalsIgnoreCase(value) || type.getName().equalsIgnoreCase(value)) {
+                return type;
+            }
+            for (String extensionName : type.getExtensionNames(false)) {
+                if (extensionName.equalsIgnoreCase(extension)) {
+                    return type;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown archive type: " + value);
+    }
+}
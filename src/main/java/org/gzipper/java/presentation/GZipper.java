@@ -23,6 +23,7 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import javafx.stage.WindowEvent;
+import org.gzipper.java.application.hashing.DigestCache;
 import org.gzipper.java.application.model.OS;
 import org.gzipper.java.application.model.OperatingSystem;
 import org.gzipper.java.application.util.AppUtils;
@@ -74,6 +75,10 @@ public final class GZipper extends Application {
                 : new OperatingSystem(OS.UNIX);
 
         Settings.getInstance().init(settings, os);
+
+        // initialize persistent cache of message digests
+        final int capacity = Settings.getInstance().evaluateIntProperty("digestCacheCapacity", 0);
+        DigestCache.getInstance().init(new File(decPath + "digests.cache"), capacity);
     }
 
     private void initLogger() {
@@ -218,6 +223,7 @@ public final class GZipper extends Application {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             try {
                 Settings.getInstance().storeAway();
+                DigestCache.getInstance().close();
                 final Logger logger = Log.DEFAULT_LOGGER;
                 for (Handler handler : logger.getHandlers()) {
                     handler.close();
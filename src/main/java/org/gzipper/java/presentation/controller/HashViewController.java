@@ -31,10 +31,16 @@ import javafx.scene.input.*;
 import javafx.scene.paint.Color;
 import javafx.stage.FileChooser;
 import org.gzipper.java.application.concurrency.Interruptible;
+import org.gzipper.java.application.hashing.ChecksumManifest;
+import org.gzipper.java.application.hashing.DigestCache;
+import org.gzipper.java.application.hashing.FileDigestReader;
+import org.gzipper.java.application.hashing.FileIdentity;
+import org.gzipper.java.application.hashing.ManifestVerifier;
 import org.gzipper.java.application.hashing.MessageDigestAlgorithm;
-import org.gzipper.java.application.hashing.MessageDigestProvider;
 import org.gzipper.java.application.hashing.MessageDigestResult;
+import org.gzipper.java.application.hashing.MultiMessageDigestProvider;
 import org.gzipper.java.application.hashing.NamedMessageDigestResult;
+import org.gzipper.java.application.hashing.ReadBufferPool;
 import org.gzipper.java.application.util.FileUtils;
 import org.gzipper.java.application.util.ListUtils;
 import org.gzipper.java.application.util.StringUtils;
@@ -46,15 +52,22 @@ import org.gzipper.java.presentation.GUIUtils;
 import org.gzipper.java.presentation.Toast;
 import org.gzipper.java.presentation.model.HashViewTableModel;
 import org.gzipper.java.util.Log;
+import org.gzipper.java.util.Settings;
 
-import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.Writer;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 /**
  * Controller for the FXML named "HashView.fxml".
@@ -64,14 +77,21 @@ import java.util.*;
 public final class HashViewController extends BaseController implements Interruptible {
 
     /**
-     * Default buffer size when reading large files. Currently, set to 1 mebibyte.
+     * Name of the property which defines the number of files to be hashed in
+     * parallel. If the value is less than one, it is determined automatically.
      */
-    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final String PARALLELISM_PROPERTY = "hashingParallelism";
 
     /**
-     * Threshold at which {@link #BUFFER_SIZE} will be used. Currently, set to 100 Mebibyte.
+     * Name of the property which defines the algorithms (separated by comma)
+     * of which the hash values are computed in addition to the selected one.
      */
-    private static final int LARGE_FILE_THRESHOLD = 1024 * 1024 * 100;
+    private static final String ALGORITHMS_PROPERTY = "hashingAlgorithms";
+
+    /**
+     * The maximum number of files of which the hash values are cached.
+     */
+    private static final int CACHE_CAPACITY = 4096;
 
     /**
      * The currently selected {@link MessageDigestAlgorithm}.
@@ -81,7 +101,29 @@ public final class HashViewController extends BaseController implements Interrup
     /**
      * Set to remember results for {@link #_resultTable} to avoid duplicates.
      */
-    private final Set<NamedMessageDigestResult> _models = new HashSet<>();
+    private final Set<NamedMessageDigestResult> _models = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Rows which are yet to be added to {@link #_resultTable}.
+     */
+    private final Queue<HashViewTableModel> _pendingRows = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether the addition of {@link #_pendingRows} is already scheduled.
+     */
+    private final AtomicBoolean _drainScheduled = new AtomicBoolean();
+
+    /**
+     * Cache which holds the hash values of each processed file, so that
+     * switching the algorithm does not require the files to be read again.
+     */
+    private final Map<String, CachedDigests> _digestCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedDigests> eldest) {
+                    return size() > CACHE_CAPACITY;
+                }
+            });
 
     /**
      * Handler used to execute tasks.
@@ -102,16 +144,24 @@ public final class HashViewController extends BaseController implements Interrup
     @FXML
     private TableColumn<HashViewTableModel, String> _hashValueColumn;
     @FXML
+    private TableColumn<HashViewTableModel, String> _statusColumn;
+    @FXML
     private ComboBox<MessageDigestAlgorithm> _algorithmComboBox;
     @FXML
     private Button _addFilesButton;
     @FXML
+    private Button _verifyButton;
+    @FXML
+    private Button _exportButton;
+    @FXML
     private Button _closeButton;
     @FXML
     private CheckBox _appendFilesCheckBox;
     @FXML
     private CheckBox _lowerCaseCheckBox;
     @FXML
+    private CheckBox _keepOrderCheckBox;
+    @FXML
     private ProgressIndicator _progressIndicator;
 
     /**
@@ -138,6 +188,39 @@ public final class HashViewController extends BaseController implements Interrup
         }
     }
 
+    @FXML
+    void handleVerifyButtonAction(ActionEvent evt) {
+        if (evt.getSource().equals(_verifyButton)) {
+            final FileChooser fc = new FileChooser();
+            fc.setTitle(I18N.getString("browseForManifest.text"));
+
+            final File manifest = fc.showOpenDialog(primaryStage);
+            if (manifest != null) {
+                verify(manifest);
+            }
+        }
+    }
+
+    @FXML
+    void handleExportButtonAction(ActionEvent evt) {
+        if (evt.getSource().equals(_exportButton)) {
+            final FileChooser fc = new FileChooser();
+            fc.setTitle(I18N.getString("exportManifest.text"));
+            final FileChooser.ExtensionFilter gnuFilter = new FileChooser.ExtensionFilter(
+                    I18N.getString("manifestFormatGnu.text"), "*");
+            final FileChooser.ExtensionFilter bsdFilter = new FileChooser.ExtensionFilter(
+                    I18N.getString("manifestFormatBsd.text"), "*");
+            fc.getExtensionFilters().addAll(gnuFilter, bsdFilter);
+
+            final File manifest = fc.showSaveDialog(primaryStage);
+            if (manifest != null) {
+                final ChecksumManifest.Format format = bsdFilter.equals(fc.getSelectedExtensionFilter())
+                        ? ChecksumManifest.Format.BSD : ChecksumManifest.Format.GNU;
+                export(manifest, format);
+            }
+        }
+    }
+
     @FXML
     void handleLowerCaseCheckBoxAction(ActionEvent evt) {
         if (evt.getSource().equals(_lowerCaseCheckBox)) {
@@ -193,9 +276,11 @@ public final class HashViewController extends BaseController implements Interrup
         _fileNameColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getFileName()));
         _filePathColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getFilePath()));
         _hashValueColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getHashValue()));
+        _statusColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getStatus()));
         setCellFactory(_fileNameColumn);
         setCellFactory(_filePathColumn);
         setCellFactory(_hashValueColumn);
+        setCellFactory(_statusColumn);
     }
 
     private void setCellFactory(TableColumn<HashViewTableModel, String> column) {
@@ -292,40 +377,115 @@ public final class HashViewController extends BaseController implements Interrup
     }
 
     /**
-     * Computes the hash value of the specified file and appends the result as a
-     * row to {@link #_resultTable}.
+     * Determines the number of files to be hashed in parallel. Unless
+     * specified in the settings, this equals the number of available
+     * processors or one if the files are located on rotational storage, since
+     * concurrent reads would then cause the disk to seek back and forth.
      *
-     * @param file the file of which to compute and append the hashing result.
+     * @param files the files to be hashed.
+     * @return the number of files to be hashed in parallel.
      */
-    private void computeAndAppend(File file) {
+    private int determineParallelism(List<File> files) {
+        final int parallelism = Settings.getInstance().evaluateIntProperty(PARALLELISM_PROPERTY, 0);
+        if (parallelism > 0) {
+            return parallelism;
+        }
+        return FileUtils.isOnRotationalStorage(files.get(0))
+                ? 1 : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Determines the algorithms of which to compute the hash values in a
+     * single pass, i.e. the ones specified in the settings and the selected one.
+     *
+     * @param selected the currently selected algorithm.
+     * @return the algorithms of which to compute the hash values.
+     */
+    private Set<MessageDigestAlgorithm> determineAlgorithms(MessageDigestAlgorithm selected) {
+        final Set<MessageDigestAlgorithm> algorithms = EnumSet.of(selected);
+        final String property = Settings.getInstance().getProperty(ALGORITHMS_PROPERTY);
+        if (property != null) {
+            for (String name : property.split(",")) {
+                Arrays.stream(MessageDigestAlgorithm.values())
+                        .filter(algorithm -> algorithm.getAlgorithmName().equalsIgnoreCase(name.trim()))
+                        .findFirst().ifPresent(algorithms::add);
+            }
+        }
+        return algorithms;
+    }
+
+    /**
+     * Computes the hash value of the specified file. The hash values of all
+     * specified algorithms are computed in a single pass and cached, hence
+     * the file is only read if no valid result is cached, neither in memory
+     * nor in the persistent {@link DigestCache}.
+     *
+     * @param file        the file of which to compute the hash value.
+     * @param selected    the algorithm of which to return the result.
+     * @param algorithms  the algorithms of which to compute the hash values.
+     * @param taskHandler handler used to update the digests in parallel or
+     *                    {@code null} to update them sequentially.
+     * @param buffers     the buffers to read the file with if it is read on a
+     *                    virtual thread, {@code null} otherwise.
+     * @return the result or {@code null} if the specified file is not a normal
+     * file or if the computation has been interrupted.
+     */
+    private NamedMessageDigestResult computeHash(File file,
+                                                 MessageDigestAlgorithm selected,
+                                                 Set<MessageDigestAlgorithm> algorithms,
+                                                 TaskHandler taskHandler,
+                                                 ReadBufferPool buffers) {
+        if (!file.isFile()) {
+            return null; // folders are not supported
+        }
         try {
-            MessageDigestResult result;
-            if (file.isFile()) { // folders are not supported
-                final MessageDigestAlgorithm algorithm = _algorithm.get();
-                if (file.length() > LARGE_FILE_THRESHOLD) {
-                    final MessageDigestProvider provider = MessageDigestProvider.createProvider(algorithm);
-                    try (FileInputStream fis = new FileInputStream(file);
-                         BufferedInputStream bis = new BufferedInputStream(fis, BUFFER_SIZE)) {
-                        final byte[] buffer = new byte[BUFFER_SIZE];
-                        int readBytes;
-                        while ((readBytes = bis.read(buffer, 0, buffer.length)) > 0) {
-                            provider.updateHash(buffer, 0, readBytes);
-                        }
-                    }
-                    result = provider.computeHash();
-                } else {
-                    byte[] bytes = Files.readAllBytes(file.toPath());
-                    result = MessageDigestProvider.computeHash(bytes, algorithm);
-                }
+            final String path = FileUtils.getPath(file);
+            final long length = file.length(), lastModified = file.lastModified();
+            final CachedDigests cached = _digestCache.get(path);
+            if (cached != null && cached.isValid(length, lastModified)
+                    && cached._results.containsKey(selected)) {
+                return new NamedMessageDigestResult(cached._results.get(selected), path);
+            }
+
+            // identity has to be determined before reading in case the file is modified meanwhile
+            final FileIdentity identity = FileIdentity.of(file.toPath());
+            final Optional<MessageDigestResult> persisted = DigestCache.getInstance().get(identity, selected);
+            if (persisted.isPresent()) {
+                return new NamedMessageDigestResult(persisted.get(), path);
+            }
 
-                final String path = FileUtils.getPath(file);
-                NamedMessageDigestResult namedResult = new NamedMessageDigestResult(result, path);
-                appendColumn(namedResult, file);
+            final MultiMessageDigestProvider provider
+                    = MultiMessageDigestProvider.createProvider(algorithms, taskHandler);
+            if (!read(file, provider, buffers)) {
+                return null; // interrupted
             }
+
+            final Map<MessageDigestAlgorithm, MessageDigestResult> results = provider.computeHash();
+            _digestCache.put(path, new CachedDigests(length, lastModified, results));
+            DigestCache.getInstance().put(identity, results);
+            return new NamedMessageDigestResult(results.get(selected), path);
         } catch (IOException | NoSuchAlgorithmException ex) {
             Log.e("Error reading file", ex);
             final MessageDigestResult result = new MessageDigestResult();
-            appendColumn(new NamedMessageDigestResult(result, StringUtils.EMPTY), file);
+            return new NamedMessageDigestResult(result, StringUtils.EMPTY);
+        }
+    }
+
+    private boolean read(File file, MultiMessageDigestProvider provider, ReadBufferPool buffers) throws IOException {
+        if (buffers == null) {
+            return FileDigestReader.read(file.toPath(), provider::updateHash, () -> _isAlive);
+        }
+        final ByteBuffer buffer;
+        try {
+            buffer = buffers.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try {
+            return FileDigestReader.read(file.toPath(), buffer, provider::updateHash, () -> _isAlive);
+        } finally {
+            buffers.release(buffer);
         }
     }
 
@@ -333,6 +493,8 @@ public final class HashViewController extends BaseController implements Interrup
      * Starts new task if none is already active to compute the hash values for
      * the specified list of files and to eventually append the results to
      * {@link #_resultTable}. A task is being used to avoid a non-responsive UI.
+     * The files are hashed in parallel and the results are appended as soon
+     * as they are available, unless the original order is to be kept.
      *
      * @param files list of files to be processed.
      */
@@ -346,16 +508,45 @@ public final class HashViewController extends BaseController implements Interrup
             clearRows();
         }
 
+        final boolean keepOrder = _keepOrderCheckBox.isSelected();
+        final MessageDigestAlgorithm selected = _algorithm.get();
+
         final Task<Boolean> task = new Task<>() {
             @Override
-            protected Boolean call() {
-                for (File file : files) {
-                    if (!_isAlive) {
-                        return false;
+            protected Boolean call() throws Exception {
+                final int parallelism = determineParallelism(files);
+                final Set<MessageDigestAlgorithm> algorithms = determineAlgorithms(selected);
+                // let digests make use of the processors which are not occupied by files
+                final boolean parallelDigests = files.size() < parallelism && algorithms.size() > 1;
+                // files are then only read by virtual threads, whereas digests are updated by the handler
+                final ReadBufferPool buffers = parallelDigests ? new ReadBufferPool(parallelism) : null;
+                try (TaskHandler handler = new TaskHandler(parallelDigests
+                        ? TaskHandler.ExecutorType.VIRTUAL : TaskHandler.ExecutorType.PARALLEL, parallelism);
+                     TaskHandler digestHandler = parallelDigests
+                             ? new TaskHandler(TaskHandler.ExecutorType.PARALLEL, parallelism) : null) {
+                    final List<Future<NamedMessageDigestResult>> futures = new ArrayList<>(files.size());
+                    for (File file : files) {
+                        futures.add(handler.submit(() -> {
+                            if (!_isAlive) {
+                                return null;
+                            }
+                            final NamedMessageDigestResult result
+                                    = computeHash(file, selected, algorithms, digestHandler, buffers);
+                            if (!keepOrder && result != null) {
+                                appendColumn(result, file, selected);
+                            }
+                            return result;
+                        }));
+                    }
+                    // wait for completion and append results in original order if requested
+                    for (int i = 0; i < futures.size(); ++i) {
+                        final NamedMessageDigestResult result = futures.get(i).get();
+                        if (keepOrder && result != null) {
+                            appendColumn(result, files.get(i), selected);
+                        }
                     }
-                    computeAndAppend(file);
                 }
-                return true;
+                return _isAlive;
             }
         };
 
@@ -378,6 +569,125 @@ public final class HashViewController extends BaseController implements Interrup
         }
     }
 
+    /**
+     * Starts a new task if none is already active to verify all files listed
+     * in the specified manifest. The results are appended to
+     * {@link #_resultTable} as soon as they are available and a summary is
+     * shown once all files have been verified.
+     *
+     * @param manifest the manifest, either in GNU or BSD format.
+     */
+    private void verify(File manifest) {
+        if (_isAlive) {
+            return;
+        }
+        clearRows();
+        _statusColumn.setVisible(true);
+
+        final MessageDigestAlgorithm hint = ChecksumManifest.guessAlgorithm(manifest.getName());
+        final Path baseDir = manifest.getAbsoluteFile().toPath().getParent();
+        final List<File> files = List.of(manifest);
+
+        final Task<ManifestVerifier.Summary> task = new Task<>() {
+            @Override
+            protected ManifestVerifier.Summary call() throws Exception {
+                final ManifestVerifier verifier = new ManifestVerifier(baseDir, determineParallelism(files), true);
+                try (Stream<ChecksumManifest.Entry> entries = ChecksumManifest.read(
+                        Files.newBufferedReader(manifest.toPath()), hint)) {
+                    return verifier.verify(entries, result -> enqueueRow(createModel(result, baseDir)), () -> _isAlive);
+                }
+            }
+        };
+
+        task.setOnSucceeded(evt -> {
+            onTaskCompleted(evt);
+            final ManifestVerifier.Summary summary = task.getValue();
+            Dialogs.showDialog(summary.isSuccessful() ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING,
+                    I18N.getString("verificationSummary.text"), manifest.getName(),
+                    I18N.getString("verificationSummaryContent.text",
+                            summary.getCount(ManifestVerifier.Status.OK),
+                            summary.getCount(ManifestVerifier.Status.MISMATCH),
+                            summary.getCount(ManifestVerifier.Status.MISSING),
+                            summary.getCount(ManifestVerifier.Status.FAILED)),
+                    theme, iconImage, ButtonType.OK);
+        });
+        task.setOnFailed(evt -> {
+            Log.e("Verification failed", task.getException());
+            onTaskCompleted(evt);
+        });
+
+        bindUIControls(task);
+        _isAlive = true;
+        _taskHandler.submit(task);
+    }
+
+    private HashViewTableModel createModel(ManifestVerifier.Result result, Path baseDir) {
+        final ChecksumManifest.Entry entry = result.getEntry();
+        final String path = entry.isValid() ? baseDir.resolve(entry.getPath()).toString() : entry.getPath();
+        final String fileName = entry.isValid() ? new File(entry.getPath()).getName() : StringUtils.EMPTY;
+        final String hashValue = result.getActual() != null
+                ? setCase(result.getActual().getHashedValue())
+                : setCase(StringUtils.isNullOrEmpty(entry.getDigest()) ? StringUtils.EMPTY : entry.getDigest());
+        final String status = switch (result.getStatus()) {
+            case OK -> I18N.getString("verificationOk.text");
+            case MISMATCH -> I18N.getString("verificationMismatch.text");
+            case MISSING -> I18N.getString("verificationMissing.text");
+            case FAILED -> I18N.getString("verificationFailed.text");
+        };
+        final MessageDigestAlgorithm algorithm = result.getActual() != null ? entry.getAlgorithm() : null;
+        return new HashViewTableModel(fileName, path, hashValue, algorithm, status);
+    }
+
+    /**
+     * Adds the specified row to {@link #_resultTable}. Rows are added in
+     * batches to avoid flooding the application thread with updates.
+     *
+     * @param model the row to be added.
+     */
+    private void enqueueRow(HashViewTableModel model) {
+        _pendingRows.add(model);
+        if (_drainScheduled.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                _drainScheduled.set(false);
+                final List<HashViewTableModel> rows = new ArrayList<>();
+                HashViewTableModel row;
+                while ((row = _pendingRows.poll()) != null) {
+                    rows.add(row);
+                }
+                _resultTable.getItems().addAll(rows);
+            });
+        }
+    }
+
+    /**
+     * Writes all successfully computed hash values in {@link #_resultTable}
+     * to the specified manifest. Paths below the directory of the manifest
+     * are written relative to it, all others are written as absolute paths.
+     *
+     * @param manifest the manifest to be written.
+     * @param format   the format of the manifest.
+     */
+    private void export(File manifest, ChecksumManifest.Format format) {
+        final Path baseDir = manifest.getAbsoluteFile().toPath().getParent();
+        try (Writer writer = Files.newBufferedWriter(manifest.toPath())) {
+            for (HashViewTableModel model : _resultTable.getItems()) {
+                if (model.getAlgorithm() == null) {
+                    continue; // file could not be read
+                }
+                final Path path = Path.of(model.getFilePath()).toAbsolutePath();
+                final String name = path.startsWith(baseDir)
+                        ? baseDir.relativize(path).toString().replace(File.separatorChar, '/')
+                        : path.toString();
+                ChecksumManifest.write(writer, format, model.getAlgorithm(), name, model.getHashValue());
+            }
+        } catch (IOException ex) {
+            Log.e("Error writing manifest", ex);
+            Dialogs.showDialog(Alert.AlertType.ERROR, I18N.getString("error.text"),
+                    I18N.getString("error.text"), I18N.getString("errorWritingFile.text"),
+                    theme, iconImage, ButtonType.OK);
+        }
+    }
+
     private void onTaskCompleted(Event evt) {
         Platform.runLater(this::unbindUIControls);
         _isAlive = false;
@@ -389,18 +699,24 @@ public final class HashViewController extends BaseController implements Interrup
         final ReadOnlyBooleanProperty running = task.runningProperty();
 
         _addFilesButton.disableProperty().bind(running);
+        _verifyButton.disableProperty().bind(running);
+        _exportButton.disableProperty().bind(running);
         _algorithmComboBox.disableProperty().bind(running);
         _appendFilesCheckBox.disableProperty().bind(running);
         _lowerCaseCheckBox.disableProperty().bind(running);
+        _keepOrderCheckBox.disableProperty().bind(running);
         _progressIndicator.disableProperty().bind(Bindings.not(running));
         _progressIndicator.visibleProperty().bind(running);
     }
 
     private void unbindUIControls() {
         _addFilesButton.disableProperty().unbind();
+        _verifyButton.disableProperty().unbind();
+        _exportButton.disableProperty().unbind();
         _algorithmComboBox.disableProperty().unbind();
         _appendFilesCheckBox.disableProperty().unbind();
         _lowerCaseCheckBox.disableProperty().unbind();
+        _keepOrderCheckBox.disableProperty().unbind();
         _progressIndicator.disableProperty().unbind();
         _progressIndicator.visibleProperty().unbind();
     }
@@ -413,26 +729,25 @@ public final class HashViewController extends BaseController implements Interrup
     private void clearRows() {
         _resultTable.getItems().clear();
         _models.clear();
+        _statusColumn.setVisible(false);
     }
 
-    private void appendColumn(NamedMessageDigestResult namedResult, File file) {
-        if (!_models.contains(namedResult)) {
+    private void appendColumn(NamedMessageDigestResult namedResult, File file, MessageDigestAlgorithm algorithm) {
+        if (_models.add(namedResult)) {
             final HashViewTableModel model;
             if (!namedResult.getMessageDigestResult().isEmpty()) {
                 model = new HashViewTableModel(
                         file.getName(),
                         FileUtils.getPath(file),
-                        setCase(namedResult.getMessageDigestResult().toString()));
+                        setCase(namedResult.getMessageDigestResult().toString()),
+                        algorithm, null);
             } else {
                 model = new HashViewTableModel(
                         file.getName(),
                         FileUtils.getPath(file),
                         I18N.getString("errorReadingFile.text"));
             }
-            Platform.runLater(() -> {
-                _resultTable.getItems().add(model);
-                _models.add(namedResult);
-            });
+            Platform.runLater(() -> _resultTable.getItems().add(model));
         }
     }
 
@@ -454,4 +769,27 @@ public final class HashViewController extends BaseController implements Interrup
     public void interrupt() {
         _isAlive = false;
     }
+
+    /**
+     * Holds the cached hash values of a file together with the attributes of
+     * the file at the time of the computation, which are used for validation.
+     */
+    private static final class CachedDigests {
+
+        private final long _length;
+
+        private final long _lastModified;
+
+        private final Map<MessageDigestAlgorithm, MessageDigestResult> _results;
+
+        CachedDigests(long length, long lastModified, Map<MessageDigestAlgorithm, MessageDigestResult> results) {
+            _length = length;
+            _lastModified = lastModified;
+            _results = results;
+        }
+
+        boolean isValid(long length, long lastModified) {
+            return _length == length && _lastModified == lastModified;
+        }
+    }
 }
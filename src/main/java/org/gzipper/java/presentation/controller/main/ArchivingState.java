@@ -6,6 +6,7 @@ import javafx.stage.FileChooser;
 import javafx.util.converter.PercentageStringConverter;
 import org.gzipper.java.application.ArchiveInfo;
 import org.gzipper.java.application.ArchiveOperation;
+import org.gzipper.java.application.algorithm.DeduplicationStats;
 import org.gzipper.java.application.model.ArchiveType;
 import org.gzipper.java.application.observer.Listener;
 import org.gzipper.java.application.observer.Notifier;
@@ -178,6 +179,11 @@ abstract class ArchivingState implements Listener<Integer> {
      */
     private void finishArchivingJob(ArchiveOperation operation, Task<?> task) {
         Log.i(I18N.getString("elapsedTime.text"), true, operation.calculateElapsedTime());
+        final DeduplicationStats stats = operation.getDeduplicationStats();
+        if (stats.getDuplicateCount() > 0) {
+            Log.i(I18N.getString("deduplicationStats.text"), true,
+                    stats.getDuplicateCount(), stats.getSavedBytes());
+        }
         controller.getActiveTasks().remove(task.hashCode());
         if (controller.getActiveTasks().isEmpty()) {
             controller.enableUIControls();
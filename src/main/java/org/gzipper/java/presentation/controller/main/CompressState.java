@@ -65,6 +65,7 @@ final class CompressState extends ArchivingState {
         }
 
         for (ArchiveInfo info : infos) {
+            ArchiveInfoFactory.applySettings(info);
             var builder = new ArchiveOperation.Builder(info, CompressionMode.COMPRESS);
             builder.addListener(this).filterPredicate(_filterPredicate);
             operations.add(builder.build());
@@ -128,6 +129,7 @@ final class CompressState extends ArchivingState {
             var archiveName = info.getArchiveName();
             controller.setArchiveName(archiveName);
             controller.setTextOfOutputPathTextField(FileUtils.combine(info.getOutputPath(), archiveName));
+            ArchiveInfoFactory.applySettings(info);
             var builder = new ArchiveOperation.Builder(info, CompressionMode.COMPRESS);
             builder.addListener(this).filterPredicate(_filterPredicate);
             operations.add(builder.build());
@@ -57,6 +57,7 @@ final class DecompressState extends ArchivingState {
         for (File file : selectedFiles) {
             var info = ArchiveInfoFactory.createArchiveInfo(archiveType, FileUtils.getPath(file),
                     FileUtils.getPath(controller.getOutputFile()) + File.separator);
+            ArchiveInfoFactory.applySettings(info);
             var builder = new ArchiveOperation.Builder(info, CompressionMode.DECOMPRESS);
             builder.addListener(this).filterPredicate(_filterPredicate);
             operations.add(builder.build());
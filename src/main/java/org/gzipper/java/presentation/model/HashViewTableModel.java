@@ -18,6 +18,7 @@ package org.gzipper.java.presentation.model;
 
 import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.beans.property.SimpleStringProperty;
+import org.gzipper.java.application.hashing.MessageDigestAlgorithm;
 
 /**
  * @author Matthias Fussenegger
@@ -27,11 +28,31 @@ public final class HashViewTableModel {
     private final ReadOnlyStringWrapper _fileName;
     private final ReadOnlyStringWrapper _filePath;
     private final ReadOnlyStringWrapper _hashValue;
+    private final ReadOnlyStringWrapper _status;
+
+    private final MessageDigestAlgorithm _algorithm;
 
     private final SimpleStringProperty _hashValueProperty;
 
     public HashViewTableModel(String fileName, String filePath, String hashValue) {
+        this(fileName, filePath, hashValue, null, null);
+    }
+
+    /**
+     * Constructs a new model which also holds the algorithm of the hash value
+     * and a status, e.g. the result of a verification.
+     *
+     * @param fileName  the name of the file.
+     * @param filePath  the path of the file.
+     * @param hashValue the hash value of the file.
+     * @param algorithm the algorithm of the hash value, may be {@code null}.
+     * @param status    the status to be displayed, may be {@code null}.
+     */
+    public HashViewTableModel(String fileName, String filePath, String hashValue,
+                              MessageDigestAlgorithm algorithm, String status) {
         _fileName = new ReadOnlyStringWrapper(fileName);
+        _status = new ReadOnlyStringWrapper(status);
+        _algorithm = algorithm;
         _filePath = new ReadOnlyStringWrapper(filePath);
         _hashValue = new ReadOnlyStringWrapper();
         // bind read/write property to allow update of hash value
@@ -52,6 +73,14 @@ public final class HashViewTableModel {
         return _hashValue.get();
     }
 
+    public String getStatus() {
+        return _status.get();
+    }
+
+    public MessageDigestAlgorithm getAlgorithm() {
+        return _algorithm;
+    }
+
     public void setHashValue(String value) {
         _hashValueProperty.setValue(value);
     }
@@ -68,11 +97,16 @@ public final class HashViewTableModel {
         return _hashValue;
     }
 
+    public ReadOnlyStringWrapper statusProperty() {
+        return _status;
+    }
+
     @Override
     public String toString() {
         return "HashViewTableModel{"
                 + "_fileName=" + _fileName
                 + ", _filePath=" + _filePath
-                + ", _hashValue=" + _hashValue + '}';
+                + ", _hashValue=" + _hashValue
+                + ", _status=" + _status + '}';
     }
 }
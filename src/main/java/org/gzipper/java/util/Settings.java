@@ -66,9 +66,9 @@ public final class Settings {
     public void init(File props, OperatingSystem os) {
         if (_props == null) {
             _os = os; // to receive environment variables
+            _props = new Properties(_defaults); // defaults apply without file
             if (props != null) {
                 _propsFile = props;
-                _props = new Properties(_defaults);
 
                 try (final FileInputStream fis = new FileInputStream(props);
                      final BufferedInputStream bis = new BufferedInputStream(fis)) {
@@ -93,6 +93,14 @@ public final class Settings {
         defaults.setProperty("recentPath", StringUtils.EMPTY);
         defaults.setProperty("darkThemeEnabled", FALSE_STRING);
         defaults.setProperty("showGzipInfoDialog", TRUE_STRING);
+        defaults.setProperty("hashingParallelism", "0");
+        defaults.setProperty("hashingAlgorithms", "MD5,SHA-1,SHA-256");
+        defaults.setProperty("digestCacheCapacity", "10000");
+        defaults.setProperty("compressionManifestAlgorithm", StringUtils.EMPTY);
+        defaults.setProperty("compressionDeduplicationEnabled", FALSE_STRING);
+        defaults.setProperty("compressionVolumeSize", "0");
+        defaults.setProperty("tarGzipIndexEnabled", FALSE_STRING);
+        defaults.setProperty("extractionJournalEnabled", FALSE_STRING);
 
         return defaults;
     }
@@ -139,6 +147,23 @@ public final class Settings {
         return property != null && property.equals(TRUE_STRING);
     }
 
+    /**
+     * Evaluates and returns the property with the specified key as integer.
+     *
+     * @param key          the key of the property.
+     * @param defaultValue the value to be returned if the property does not
+     *                     exist or is not a valid integer.
+     * @return the value of the property as integer.
+     */
+    public int evaluateIntProperty(String key, int defaultValue) {
+        final String property = _props.getProperty(key);
+        try {
+            return property != null ? Integer.parseInt(property.trim()) : defaultValue;
+        } catch (NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
+
     /**
      * Returns the operating system on which the JVM is running on.
      *
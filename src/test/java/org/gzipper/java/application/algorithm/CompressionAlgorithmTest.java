@@ -16,10 +16,18 @@
  */
 package org.gzipper.java.application.algorithm;
 
+import org.gzipper.java.application.ArchiveInfo;
 import org.gzipper.java.application.algorithm.TestUtils.TestObject;
 import org.gzipper.java.application.algorithm.type.*;
+import org.gzipper.java.application.hashing.MessageDigestAlgorithm;
+import org.gzipper.java.application.hashing.MessageDigestProvider;
+import org.gzipper.java.application.hashing.MessageDigestResult;
+import org.gzipper.java.application.hashing.MultiMessageDigestProvider;
+import org.gzipper.java.application.model.ArchiveType;
 import org.gzipper.java.application.model.OperatingSystem;
+import org.gzipper.java.application.predicates.Predicates;
 import org.gzipper.java.application.util.FileUtils;
+import org.gzipper.java.exceptions.GZipperException;
 import org.gzipper.java.util.Settings;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -29,13 +37,20 @@ import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.Arrays;
-import java.util.Iterator;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -93,6 +108,8 @@ public class CompressionAlgorithmTest {
 
     @Before
     public void setUp() {
+        // instances are shared by the tests of each parameter
+        _algorithm.setPredicate(Predicates.createAlwaysTrue());
         final LocalTime time = LocalTime.now();
         // define name of test archive
         _archiveFileNamePrefix = "gzipper_aa_test_archive-"
@@ -121,6 +138,347 @@ public class CompressionAlgorithmTest {
         }
     }
 
+    /**
+     * Test of hash method, of class CompressionAlgorithm.
+     */
+    @Test
+    public void testHashEntries() throws Exception {
+        final String location = _tempDirectory;
+        final String name = _archiveFileNamePrefix + _fileNameExtension;
+        final String filename = FileUtils.combine(location, name);
+
+        final TestObject testObj = TestUtils
+                .generateTestObject(_tempDirectory, _testFileNamePrefix);
+        final File testFile = testObj._testFile;
+
+        try {
+            _algorithm.compress(new File[]{testFile}, location, name);
+            final byte[] bytes = Files.readAllBytes(testFile.toPath());
+            final MultiMessageDigestProvider provider = MultiMessageDigestProvider.createProvider(
+                    EnumSet.of(MessageDigestAlgorithm.MD5, MessageDigestAlgorithm.SHA_256), null);
+
+            final Map<String, Map<MessageDigestAlgorithm, MessageDigestResult>> entries = new LinkedHashMap<>();
+            _algorithm.hash(filename, provider, entries::put);
+            assertEquals(Collections.singleton(testFile.getName()), entries.keySet());
+            final Map<MessageDigestAlgorithm, MessageDigestResult> results = entries.get(testFile.getName());
+            assertEquals(MessageDigestProvider.computeHash(bytes, MessageDigestAlgorithm.MD5),
+                    results.get(MessageDigestAlgorithm.MD5));
+            assertEquals(MessageDigestProvider.computeHash(bytes, MessageDigestAlgorithm.SHA_256),
+                    results.get(MessageDigestAlgorithm.SHA_256));
+
+            entries.clear();
+            _algorithm.setPredicate(entryName -> false);
+            _algorithm.hash(filename, provider, entries::put);
+            assertTrue(entries.isEmpty());
+        }
+        finally {
+            testFile.delete();
+            new File(filename).delete();
+        }
+    }
+
+    /**
+     * Test of compress method with a sidecar manifest, of class
+     * AbstractAlgorithm.
+     */
+    @Test
+    public void testCompressWithManifest() throws Exception {
+        final String location = _tempDirectory;
+        final String name = _archiveFileNamePrefix + _fileNameExtension;
+        final String filename = FileUtils.combine(location, name);
+        final File manifest = new File(filename + ".sha256");
+
+        final TestObject testObj = TestUtils
+                .generateTestObject(_tempDirectory, _testFileNamePrefix);
+        final File testFile = testObj._testFile;
+
+        try {
+            // the type is not evaluated by the algorithm itself
+            final ArchiveInfo info = new ArchiveInfo(ArchiveType.ZIP, name, 6, List.of(testFile), location);
+            info.setManifestAlgorithm(MessageDigestAlgorithm.SHA_256);
+            _algorithm.compress(info);
+
+            final String expected = MessageDigestProvider.computeHash(
+                    Files.readAllBytes(testFile.toPath()), MessageDigestAlgorithm.SHA_256).getHashedValue();
+            assertTrue(manifest.exists());
+            assertEquals(List.of(expected.toLowerCase() + "  " + testFile.getName()),
+                    Files.readAllLines(manifest.toPath()));
+
+            // the manifest of an interrupted archive is deleted
+            assertTrue(manifest.delete());
+            final CompressionAlgorithm interrupted = _algorithm.getClass().getDeclaredConstructor().newInstance();
+            interrupted.interrupt();
+            interrupted.compress(info);
+            assertFalse(manifest.exists());
+        }
+        finally {
+            ((AbstractAlgorithm) _algorithm).manifestAlgorithm = null; // instances are shared
+            testFile.delete();
+            manifest.delete();
+            new File(filename).delete();
+        }
+    }
+
+    /**
+     * Test of list method, of class CompressionAlgorithm.
+     */
+    @Test
+    public void testList() throws Exception {
+        final String location = _tempDirectory;
+        final String name = _archiveFileNamePrefix + _fileNameExtension;
+        final String filename = FileUtils.combine(location, name);
+
+        final TestObject testObj = TestUtils
+                .generateTestObject(_tempDirectory, _testFileNamePrefix);
+        final File testFile = testObj._testFile;
+
+        try {
+            _algorithm.compress(new File[]{testFile}, location, name);
+
+            final List<ArchiveEntryInfo> entries;
+            try (Stream<ArchiveEntryInfo> stream = _algorithm.list(filename)) {
+                entries = stream.collect(Collectors.toList());
+            }
+            assertEquals(1, entries.size());
+            final ArchiveEntryInfo entry = entries.get(0);
+            assertEquals(testFile.getName(), entry.getName());
+            assertFalse(entry.isDirectory());
+            if (!(_algorithm instanceof Gzip)) { // size is unknown without decompression
+                assertEquals(testFile.length(), entry.getSize());
+            }
+
+            _algorithm.setPredicate(entryName -> false);
+            try (Stream<ArchiveEntryInfo> stream = _algorithm.list(filename)) {
+                assertEquals(0, stream.count());
+            }
+        }
+        finally {
+            testFile.delete();
+            new File(filename).delete();
+        }
+    }
+
+    /**
+     * Test of extract method with a filter, of class ArchivingAlgorithm.
+     */
+    @Test
+    public void testSelectiveExtraction() throws Exception {
+        if (_algorithm instanceof Gzip) {
+            return; // gzip consists of a single file only
+        }
+
+        final String location = _tempDirectory;
+        final String name = _archiveFileNamePrefix + _fileNameExtension;
+        final String filename = FileUtils.combine(location, name);
+        final File outputFolder = new File(FileUtils.combine(location, _archiveFileNamePrefix));
+
+        final File selectedFile = TestUtils.generateTestObject(_tempDirectory, _testFileNamePrefix)._testFile;
+        final File skippedFile = TestUtils.generateTestObject(_tempDirectory, _testFileNamePrefix)._testFile;
+
+        try {
+            _algorithm.compress(new File[]{selectedFile, skippedFile}, location, name);
+            _algorithm.setPredicate(entryName -> entryName.equals(selectedFile.getName()));
+            _algorithm.extract(location, filename);
+
+            final File extractedFile = new File(outputFolder, selectedFile.getName());
+            assertTrue(extractedFile.exists());
+            assertArrayEquals(Files.readAllBytes(selectedFile.toPath()), Files.readAllBytes(extractedFile.toPath()));
+            assertFalse(new File(outputFolder, skippedFile.getName()).exists());
+        }
+        finally {
+            selectedFile.delete();
+            skippedFile.delete();
+            new File(outputFolder, selectedFile.getName()).delete();
+            outputFolder.delete();
+            new File(filename).delete();
+        }
+    }
+
+    /**
+     * Test of compress method with deduplication, of class AbstractAlgorithm.
+     */
+    @Test
+    public void testCompressWithDeduplication() throws Exception {
+        if (_algorithm instanceof Gzip) {
+            return; // gzip consists of a single file only
+        }
+
+        final String location = _tempDirectory;
+        final String name = _archiveFileNamePrefix + _fileNameExtension;
+        final String filename = FileUtils.combine(location, name);
+        final File outputFolder = new File(FileUtils.combine(location, _archiveFileNamePrefix));
+
+        final File original = TestUtils.generateTestObject(_tempDirectory, _testFileNamePrefix)._testFile;
+        final File duplicate = TestUtils.generateTestObject(_tempDirectory, _testFileNamePrefix)._testFile;
+        Files.copy(original.toPath(), duplicate.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        try {
+            // the type is not evaluated by the algorithm itself
+            final ArchiveInfo info = new ArchiveInfo(ArchiveType.ZIP, name, 6, List.of(original, duplicate), location);
+            info.setDeduplicate(true);
+            _algorithm.compress(info);
+            assertEquals(1, _algorithm.getDeduplicationStats().getDuplicateCount());
+            assertEquals(original.length(), _algorithm.getDeduplicationStats().getSavedBytes());
+
+            _algorithm.extract(location, filename);
+            final byte[] expected = Files.readAllBytes(original.toPath());
+            assertArrayEquals(expected, Files.readAllBytes(new File(outputFolder, original.getName()).toPath()));
+            assertArrayEquals(expected, Files.readAllBytes(new File(outputFolder, duplicate.getName()).toPath()));
+        }
+        finally {
+            original.delete();
+            duplicate.delete();
+            new File(outputFolder, original.getName()).delete();
+            new File(outputFolder, duplicate.getName()).delete();
+            outputFolder.delete();
+            new File(filename).delete();
+        }
+    }
+
+    /**
+     * Test of compress and extract method using streams, of class
+     * CompressionAlgorithm.
+     */
+    @Test
+    public void testCompressExtractStream() throws Exception {
+        final byte[] content = "stream content ".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try {
+            _algorithm.compress(new ByteArrayInputStream(content), archive, "stream.txt", 6);
+        } catch (IOException ex) {
+            // TAR requires the size of each entry in advance
+            assertTrue(_fileNameExtension.startsWith(".t"));
+            assertTrue(ex.getCause() instanceof GZipperException);
+            assertEquals(GZipperException.Reason.NO_STREAM_SUPPORTED, ((GZipperException) ex.getCause()).getReason());
+            return;
+        }
+        assertFalse(_fileNameExtension.startsWith(".t"));
+
+        final ByteArrayOutputStream extracted = new ByteArrayOutputStream();
+        _algorithm.extract(new ByteArrayInputStream(archive.toByteArray()), extracted);
+        assertArrayEquals(content, extracted.toByteArray());
+    }
+
+    /**
+     * Test of compress method with volumes, of class ArchivingAlgorithm.
+     */
+    @Test
+    public void testCompressIntoVolumes() throws Exception {
+        if (!(_algorithm instanceof ArchivingAlgorithm algorithm)) {
+            return; // gzip consists of a single file only
+        }
+
+        final String location = _tempDirectory;
+        final String name = _archiveFileNamePrefix + _fileNameExtension;
+        final String filename = FileUtils.combine(location, name);
+        final File outputFolder = new File(FileUtils.combine(location, _archiveFileNamePrefix));
+
+        final File testFile = new File(_tempDirectory, _testFileNamePrefix + ".bin");
+        final byte[] content = new byte[256 * 1024];
+        new Random(42).nextBytes(content); // incompressible
+        Files.write(testFile.toPath(), content);
+        List<File> volumes = List.of();
+
+        try {
+            // the type is not evaluated by the algorithm itself
+            final ArchiveInfo info = new ArchiveInfo(ArchiveType.ZIP, name, 6, List.of(testFile), location);
+            info.setVolumeSize(64 * 1024); // which is the minimum size of ZIP volumes
+            algorithm.compress(info);
+            volumes = algorithm.getVolumes(new File(filename));
+            assertTrue(volumes.size() > 1);
+            for (File volume : volumes) {
+                assertTrue(volume.length() <= 64 * 1024);
+            }
+
+            try (Stream<ArchiveEntryInfo> entries = algorithm.list(filename)) {
+                assertEquals(List.of(testFile.getName()),
+                        entries.map(ArchiveEntryInfo::getName).collect(Collectors.toList()));
+            }
+            final Map<String, Map<MessageDigestAlgorithm, MessageDigestResult>> hashes = new HashMap<>();
+            algorithm.hash(filename, MultiMessageDigestProvider.createProvider(
+                    EnumSet.of(MessageDigestAlgorithm.SHA_256), null), hashes::put);
+            assertEquals(MessageDigestProvider.computeHash(content, MessageDigestAlgorithm.SHA_256),
+                    hashes.get(testFile.getName()).get(MessageDigestAlgorithm.SHA_256));
+
+            algorithm.extract(location, filename);
+            assertArrayEquals(content, Files.readAllBytes(new File(outputFolder, testFile.getName()).toPath()));
+        }
+        finally {
+            algorithm.volumeSize = 0; // instances are shared
+            testFile.delete();
+            new File(outputFolder, testFile.getName()).delete();
+            outputFolder.delete();
+            volumes.forEach(File::delete);
+        }
+    }
+
+    /**
+     * Test of resuming an interrupted extraction, of class ArchivingAlgorithm.
+     */
+    @Test
+    public void testResumeExtraction() throws Exception {
+        if (!(_algorithm instanceof ArchivingAlgorithm algorithm)) {
+            return; // gzip consists of a single file only
+        }
+
+        final String location = _tempDirectory;
+        final String name = _archiveFileNamePrefix + _fileNameExtension;
+        final String filename = FileUtils.combine(location, name);
+        final File outputFolder = new File(FileUtils.combine(location, _archiveFileNamePrefix));
+
+        final File completed = TestUtils.generateTestObject(_tempDirectory, _testFileNamePrefix)._testFile;
+        final File partial = TestUtils.generateTestObject(_tempDirectory, _testFileNamePrefix)._testFile;
+        final File remaining = TestUtils.generateTestObject(_tempDirectory, _testFileNamePrefix)._testFile;
+        final File[] files = {completed, partial, remaining};
+
+        try {
+            algorithm.compress(files, location, name);
+            // simulate an extraction which has been interrupted while writing the second file
+            assertTrue(outputFolder.mkdirs());
+            final File completedCopy = new File(outputFolder, completed.getName());
+            final byte[] marker = new byte[(int) completed.length()];
+            Arrays.fill(marker, (byte) 'x');
+            Files.write(completedCopy.toPath(), marker);
+            final File partialCopy = new File(outputFolder, partial.getName());
+            Files.write(partialCopy.toPath(), new byte[]{'x'});
+            try (ExtractionJournal journal = ExtractionJournal.open(outputFolder)) {
+                journal.begin(completed.getName(), completedCopy);
+                journal.complete(completedCopy);
+                journal.begin(partial.getName(), partialCopy);
+            }
+            // the record which completes the second file has been truncated by a crash
+            final File journalFile = ExtractionJournal.getFile(outputFolder);
+            final long length = journalFile.length();
+            Files.write(journalFile.toPath(), new byte[]{'C', 0, 0}, StandardOpenOption.APPEND);
+            try (ExtractionJournal journal = ExtractionJournal.open(outputFolder)) {
+                assertEquals(1, journal.getCompletedCount());
+            }
+            assertEquals(length, journalFile.length());
+
+            // the type is not evaluated by the algorithm itself
+            final ArchiveInfo info = new ArchiveInfo(ArchiveType.ZIP, filename, 0, null, location);
+            info.setResumable(true);
+            algorithm.extract(info);
+
+            assertArrayEquals(marker, Files.readAllBytes(completedCopy.toPath())); // skipped
+            assertArrayEquals(Files.readAllBytes(partial.toPath()), Files.readAllBytes(partialCopy.toPath()));
+            assertArrayEquals(Files.readAllBytes(remaining.toPath()),
+                    Files.readAllBytes(new File(outputFolder, remaining.getName()).toPath()));
+            assertEquals(files.length, Objects.requireNonNull(outputFolder.list()).length);
+            assertFalse(ExtractionJournal.getFile(outputFolder).exists());
+        }
+        finally {
+            algorithm.resumable = false; // instances are shared
+            for (File file : files) {
+                file.delete();
+                new File(outputFolder, file.getName()).delete();
+            }
+            ExtractionJournal.getFile(outputFolder).delete();
+            outputFolder.delete();
+            new File(filename).delete();
+        }
+    }
+
     private void testCompressionExtraction(
             CompressionAlgorithm instance, String suffix) throws Exception {
 
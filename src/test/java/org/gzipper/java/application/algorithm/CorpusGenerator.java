@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Generates a deterministic corpus of test files. The same seed always
+ * results in the same file names, sizes and contents.
+ *
+ * @author Matthias Fussenegger
+ */
+public final class CorpusGenerator {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final Path _root;
+
+    private final Random _random;
+
+    private long _totalSize = 0;
+
+    /**
+     * Creates a new generator which writes all files below the specified root.
+     *
+     * @param root the root directory of the corpus.
+     * @param seed the seed to be used for sizes and contents.
+     * @throws IOException if the root directory could not be created.
+     */
+    CorpusGenerator(Path root, long seed) throws IOException {
+        _root = Files.createDirectories(root);
+        _random = new Random(seed);
+    }
+
+    /**
+     * Generates the default corpus, which consists of small files of
+     * different entropy levels in a deep directory tree, two large files (one
+     * with low and one with high entropy), a zero-filled and a sparse file.
+     *
+     * @param root  the root directory of the corpus.
+     * @param seed  the seed to be used for sizes and contents.
+     * @param scale the scale of the corpus, {@code 1} is approximately 16 MiB.
+     * @return the generator, which provides the total size of the corpus.
+     * @throws IOException if an I/O error occurs.
+     */
+    static CorpusGenerator generateDefault(Path root, long seed, double scale) throws IOException {
+        final CorpusGenerator generator = new CorpusGenerator(root, seed);
+        final Path deepest = generator.generateDirectoryTree("tree", 8);
+        generator.generateFiles(deepest.getParent(), (int) (100 * scale), 512, 16 * 1024, 0.25, 0.5, 0.75, 1.0);
+        generator.generateFiles(deepest, (int) (100 * scale), 512, 16 * 1024, 0.25, 0.5, 0.75, 1.0);
+        generator.generateFile(generator._root, "large_low_entropy.bin", (long) (4 * 1024 * 1024 * scale), 0.3);
+        generator.generateFile(generator._root, "large_high_entropy.bin", (long) (4 * 1024 * 1024 * scale), 1.0);
+        generator.generateFile(generator._root, "zero_filled.bin", (long) (2 * 1024 * 1024 * scale), 0.0);
+        generator.generateSparseFile(generator._root, "sparse.bin", (long) (4 * 1024 * 1024 * scale));
+        return generator;
+    }
+
+    /**
+     * Returns the root directory of the corpus.
+     *
+     * @return the root directory of the corpus.
+     */
+    Path getRoot() {
+        return _root;
+    }
+
+    /**
+     * Returns the total size of all files generated so far.
+     *
+     * @return the total size of all files generated so far in bytes.
+     */
+    long getTotalSize() {
+        return _totalSize;
+    }
+
+    /**
+     * Creates a chain of nested directories below the root directory.
+     *
+     * @param name  the name prefix of each directory.
+     * @param depth the number of nested directories.
+     * @return the deepest directory.
+     * @throws IOException if an I/O error occurs.
+     */
+    Path generateDirectoryTree(String name, int depth) throws IOException {
+        Path dir = _root;
+        for (int i = 0; i < depth; ++i) {
+            dir = dir.resolve(name + i);
+        }
+        return Files.createDirectories(dir);
+    }
+
+    /**
+     * Generates files with random sizes. The entropy levels are assigned to
+     * the files in a round-robin fashion.
+     *
+     * @param dir           the directory in which to create the files.
+     * @param count         the number of files to be generated.
+     * @param minSize       the minimum size of each file (inclusive).
+     * @param maxSize       the maximum size of each file (exclusive).
+     * @param entropyLevels the entropy levels, see {@link #generateFile(Path, String, long, double)}.
+     * @throws IOException if an I/O error occurs.
+     */
+    void generateFiles(Path dir, int count, int minSize, int maxSize, double... entropyLevels) throws IOException {
+        for (int i = 0; i < count; ++i) {
+            final long size = minSize + _random.nextInt(maxSize - minSize);
+            final double entropy = entropyLevels[i % entropyLevels.length];
+            generateFile(dir, "file" + i + ".dat", size, entropy);
+        }
+    }
+
+    /**
+     * Generates a single file. The entropy level defines the size of the
+     * alphabet the bytes are chosen from, i.e. {@code 256^entropy} symbols.
+     * Hence, an entropy level of {@code 0} results in a zero-filled file and a
+     * level of {@code 1} in a file which consists of random bytes only.
+     *
+     * @param dir     the directory in which to create the file.
+     * @param name    the name of the file.
+     * @param size    the size of the file in bytes.
+     * @param entropy the entropy level between {@code 0} and {@code 1}.
+     * @return the generated file.
+     * @throws IOException if an I/O error occurs.
+     */
+    File generateFile(Path dir, String name, long size, double entropy) throws IOException {
+        final int symbols = Math.max(1, Math.min(256, (int) Math.round(Math.pow(256, entropy))));
+        final Path file = dir.resolve(name);
+        final byte[] chunk = new byte[CHUNK_SIZE];
+
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(file))) {
+            long written = 0;
+            while (written < size) {
+                final int length = (int) Math.min(chunk.length, size - written);
+                if (symbols == 256) {
+                    _random.nextBytes(chunk);
+                } else if (symbols > 1) {
+                    for (int i = 0; i < length; ++i) {
+                        chunk[i] = (byte) _random.nextInt(symbols);
+                    }
+                } // else zero-filled
+                os.write(chunk, 0, length);
+                written += length;
+            }
+        }
+
+        _totalSize += size;
+        return file.toFile();
+    }
+
+    /**
+     * Generates a sparse file, i.e. a file of which only the last byte is
+     * written, if supported by the file system.
+     *
+     * @param dir  the directory in which to create the file.
+     * @param name the name of the file.
+     * @param size the size of the file in bytes.
+     * @return the generated file.
+     * @throws IOException if an I/O error occurs.
+     */
+    File generateSparseFile(Path dir, String name, long size) throws IOException {
+        final File file = dir.resolve(name).toFile();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(size);
+            raf.seek(size - 1);
+            raf.write(1);
+        }
+        _totalSize += size;
+        return file;
+    }
+
+    /**
+     * Deletes the specified file or directory recursively.
+     *
+     * @param path the file or directory to be deleted.
+     * @throws IOException if an I/O error occurs.
+     */
+    static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(path)) {
+            for (Path p : (Iterable<Path>) walk.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm;
+
+import org.gzipper.java.PerformanceTests;
+import org.gzipper.java.application.ArchiveInfo;
+import org.gzipper.java.application.ArchiveInfoFactory;
+import org.gzipper.java.application.model.ArchiveType;
+import org.gzipper.java.util.Settings;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Performance regression tests, which run each algorithm against a generated
+ * corpus (see {@link CorpusGenerator}) and compare throughput and allocation
+ * rate with a stored baseline. Since absolute throughput depends on the
+ * machine, it is recorded relative to a calibration workload (deflating the
+ * corpus using {@link GZIPOutputStream}) which is measured in the same run.
+ * Allocation is summed up across all threads, so that work delegated to worker
+ * threads (e.g. parallel compression or digests) is accounted for as well.
+ * The following system properties are supported:
+ * <ul>
+ * <li>{@code perf.baseline} - path of the baseline file, defaults to the
+ * resource {@value #DEFAULT_BASELINE}.</li>
+ * <li>{@code perf.tolerance.throughput} - allowed relative decrease of the
+ * throughput relative to the calibration workload, e.g. {@code 0.3} for 30
+ * percent.</li>
+ * <li>{@code perf.tolerance.allocation} - allowed relative increase of the
+ * allocated bytes per processed byte.</li>
+ * <li>{@code perf.runs} - the number of measured runs (the best one counts).</li>
+ * <li>{@code perf.scale} - the scale of the corpus.</li>
+ * <li>{@code perf.record} - path of a file to which the measured values are
+ * written, so that they can be used as a new baseline.</li>
+ * </ul>
+ * The tolerances may also be specified in the baseline file itself, system
+ * properties take precedence. Missing baseline values are not checked.
+ *
+ * @author Matthias Fussenegger
+ */
+@Category(PerformanceTests.class)
+@RunWith(Parameterized.class)
+public class PerformanceRegressionTest {
+
+    private static final String DEFAULT_BASELINE = "/perf/baseline.properties";
+
+    private static final String THROUGHPUT_TOLERANCE_KEY = "perf.tolerance.throughput";
+
+    private static final String ALLOCATION_TOLERANCE_KEY = "perf.tolerance.allocation";
+
+    private static final long SEED = 20260101L;
+
+    private static final double MEBIBYTE = 1024 * 1024;
+
+    private static final Properties _baseline = new Properties();
+
+    private static final Properties _measured = new Properties();
+
+    private static CorpusGenerator _corpus;
+
+    private static Path _workDir;
+
+    /**
+     * The throughput of the calibration workload in mebibytes per second.
+     */
+    private static double _calibrationThroughput;
+
+    private final ArchiveType _archiveType;
+
+    @Parameters(name = "{0}")
+    public static Iterable<Object[]> data() {
+        return Arrays.stream(ArchiveType.values()).map(type -> new Object[]{type}).toList();
+    }
+
+    public PerformanceRegressionTest(ArchiveType archiveType) {
+        _archiveType = archiveType;
+    }
+
+    @BeforeClass
+    public static void setUpClass() throws IOException {
+        Settings.getInstance().init(null, TestUtils.getOperatingSystem());
+
+        final String baselineFile = System.getProperty("perf.baseline");
+        try (InputStream is = baselineFile != null
+                ? new FileInputStream(baselineFile)
+                : PerformanceRegressionTest.class.getResourceAsStream(DEFAULT_BASELINE)) {
+            if (is != null) {
+                _baseline.load(is);
+            }
+        }
+
+        final double scale = Double.parseDouble(System.getProperty("perf.scale", "0.5"));
+        _workDir = Files.createTempDirectory("gzipper_perf");
+        _corpus = CorpusGenerator.generateDefault(_workDir.resolve("corpus"), SEED, scale);
+        _calibrationThroughput = calibrate();
+        System.out.printf(Locale.ROOT, "calibration: %.2f MiB/s%n", _calibrationThroughput);
+    }
+
+    /**
+     * Measures the throughput of the calibration workload, which is the
+     * deflation of all corpus files into a discarding stream.
+     *
+     * @return the throughput in mebibytes per second.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static double calibrate() throws IOException {
+        final List<Path> files;
+        try (Stream<Path> stream = Files.walk(_corpus.getRoot())) {
+            files = stream.filter(Files::isRegularFile).toList();
+        }
+        final int runs = Integer.getInteger("perf.runs", 3);
+        long bestTime = Long.MAX_VALUE;
+        for (int i = 0; i <= runs; ++i) { // first run is warm-up
+            final long start = System.nanoTime();
+            try (OutputStream os = new GZIPOutputStream(OutputStream.nullOutputStream())) {
+                for (Path file : files) {
+                    Files.copy(file, os);
+                }
+            }
+            if (i > 0) {
+                bestTime = Math.min(bestTime, System.nanoTime() - start);
+            }
+        }
+        return (_corpus.getTotalSize() / MEBIBYTE) / (bestTime / 1E9);
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws IOException {
+        CorpusGenerator.delete(_workDir);
+        final String recordFile = System.getProperty("perf.record");
+        if (recordFile != null) {
+            _measured.setProperty(THROUGHPUT_TOLERANCE_KEY,
+                    Double.toString(getTolerance(THROUGHPUT_TOLERANCE_KEY, "0.3")));
+            _measured.setProperty(ALLOCATION_TOLERANCE_KEY,
+                    Double.toString(getTolerance(ALLOCATION_TOLERANCE_KEY, "0.5")));
+            try (OutputStream os = new FileOutputStream(recordFile)) {
+                _measured.store(os, "GZipper performance baseline");
+            }
+        }
+    }
+
+    private static double getTolerance(String key, String defaultValue) {
+        return Double.parseDouble(System.getProperty(key, _baseline.getProperty(key, defaultValue)));
+    }
+
+    /**
+     * Returns the bytes allocated by all threads since the start of the JVM
+     * (including threads which have already terminated) or {@code -1} if this
+     * is not supported by the JVM. Reflection is used since the application
+     * module reads neither {@code java.management} nor {@code jdk.management}.
+     */
+    private static long getAllocatedBytes() {
+        try {
+            final Object bean = Class.forName("java.lang.management.ManagementFactory")
+                    .getMethod("getThreadMXBean").invoke(null);
+            final Class<?> type = Class.forName("com.sun.management.ThreadMXBean");
+            final Method method = type.getMethod("getTotalThreadAllocatedBytes");
+            return (long) method.invoke(bean);
+        } catch (ReflectiveOperationException ex) {
+            return -1;
+        }
+    }
+
+    private static void deleteChildren(Path dir) throws IOException {
+        try (Stream<Path> children = Files.list(dir)) {
+            for (Path child : (Iterable<Path>) children::iterator) {
+                CorpusGenerator.delete(child);
+            }
+        }
+    }
+
+    private Measurement measure(Operation operation, Operation cleanUp, long processedBytes) throws Exception {
+        final int runs = Integer.getInteger("perf.runs", 3);
+        operation.perform(); // warm-up
+        long bestTime = Long.MAX_VALUE, bestAllocation = Long.MAX_VALUE;
+        for (int i = 0; i < runs; ++i) {
+            cleanUp.perform();
+            final long allocatedBefore = getAllocatedBytes();
+            final long start = System.nanoTime();
+            operation.perform();
+            bestTime = Math.min(bestTime, System.nanoTime() - start);
+            bestAllocation = Math.min(bestAllocation, getAllocatedBytes() - allocatedBefore);
+        }
+        final double throughput = (processedBytes / MEBIBYTE) / (bestTime / 1E9);
+        final double allocationRate = allocatedBytesAvailable() ? (double) bestAllocation / processedBytes : -1;
+        return new Measurement(throughput, allocationRate);
+    }
+
+    private static boolean allocatedBytesAvailable() {
+        return getAllocatedBytes() >= 0;
+    }
+
+    private void check(String operationName, Measurement measurement) {
+        final String prefix = _archiveType.name() + "." + operationName;
+        final double relativeThroughput = measurement._throughput / _calibrationThroughput;
+        _measured.setProperty(prefix + ".throughput", String.format(Locale.ROOT, "%.4f", relativeThroughput));
+        if (measurement._allocationRate >= 0) {
+            _measured.setProperty(prefix + ".allocation", String.format(Locale.ROOT, "%.4f", measurement._allocationRate));
+        }
+
+        System.out.printf(Locale.ROOT, "%s: %.2f MiB/s (%.4f of calibration), %.4f allocated bytes per byte%n",
+                prefix, measurement._throughput, relativeThroughput, measurement._allocationRate);
+
+        final String throughput = _baseline.getProperty(prefix + ".throughput");
+        if (throughput != null) {
+            final double minimum = Double.parseDouble(throughput) * (1 - getTolerance(THROUGHPUT_TOLERANCE_KEY, "0.3"));
+            assertTrue(String.format(Locale.ROOT, "%s relative throughput regressed: %.4f < %.4f",
+                    prefix, relativeThroughput, minimum), relativeThroughput >= minimum);
+        }
+
+        final String allocation = _baseline.getProperty(prefix + ".allocation");
+        if (allocation != null && measurement._allocationRate >= 0) {
+            final double maximum = Double.parseDouble(allocation) * (1 + getTolerance(ALLOCATION_TOLERANCE_KEY, "0.5"));
+            assertTrue(String.format(Locale.ROOT, "%s allocation rate regressed: %.4f > %.4f",
+                    prefix, measurement._allocationRate, maximum), measurement._allocationRate <= maximum);
+        }
+    }
+
+    @Test
+    public void testThroughputAndAllocationRate() throws Exception {
+        final Path outputDir = Files.createDirectories(_workDir.resolve("out_" + _archiveType.name()));
+        final Path extractDir = Files.createDirectories(_workDir.resolve("extract_" + _archiveType.name()));
+        final Path corpusRoot = _corpus.getRoot();
+
+        final List<File> files;
+        final long totalSize;
+        if (_archiveType == ArchiveType.GZIP) { // supports single files only
+            final File file = corpusRoot.resolve("large_low_entropy.bin").toFile();
+            files = List.of(file);
+            totalSize = file.length();
+        } else {
+            files = List.of(Objects.requireNonNull(corpusRoot.toFile().listFiles()));
+            totalSize = _corpus.getTotalSize();
+        }
+
+        final ArchiveInfo compressInfo = ArchiveInfoFactory.createArchiveInfo(
+                _archiveType, "perf", 6, files, outputDir.toString());
+        final String archiveName = outputDir.resolve(compressInfo.getArchiveName()).toString();
+        final ArchiveInfo extractInfo = ArchiveInfoFactory.createArchiveInfo(
+                _archiveType, archiveName, extractDir.toString());
+
+        try {
+            check("compress", measure(() -> _archiveType.getAlgorithm().compress(compressInfo),
+                    () -> deleteChildren(outputDir), totalSize));
+            check("extract", measure(() -> _archiveType.getAlgorithm().extract(extractInfo),
+                    () -> deleteChildren(extractDir), totalSize));
+        } finally {
+            CorpusGenerator.delete(outputDir);
+            CorpusGenerator.delete(extractDir);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+
+        void perform() throws Exception;
+    }
+
+    private static final class Measurement {
+
+        /**
+         * The throughput in mebibytes per second.
+         */
+        final double _throughput;
+
+        /**
+         * The allocated bytes per processed byte or {@code -1} if unknown.
+         */
+        final double _allocationRate;
+
+        Measurement(double throughput, double allocationRate) {
+            _throughput = throughput;
+            _allocationRate = allocationRate;
+        }
+    }
+}
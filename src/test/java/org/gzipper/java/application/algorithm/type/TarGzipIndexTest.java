@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm.type;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarConstants;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipParameters;
+import org.gzipper.java.application.model.OS;
+import org.gzipper.java.application.model.OperatingSystem;
+import org.gzipper.java.util.Settings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Matthias Fussenegger
+ */
+public class TarGzipIndexTest {
+
+    private static final int MEMBER_SIZE = 4096;
+
+    private final Map<String, byte[]> _contents = new LinkedHashMap<>();
+
+    private Path _dir;
+
+    private Path _archive;
+
+    @BeforeClass
+    public static void setUpClass() {
+        Settings.getInstance().init(null, new OperatingSystem(OS.UNIX));
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        _dir = Files.createTempDirectory("gzipper_index");
+        _archive = _dir.resolve("archive.tgz");
+        final Random random = new Random(42);
+        for (int i = 0; i < 8; ++i) {
+            final byte[] content = new byte[random.nextInt(3 * MEMBER_SIZE)];
+            random.nextBytes(content);
+            _contents.put("dir/file" + i + ".bin", content);
+        }
+        writeArchive(null);
+    }
+
+    /**
+     * Writes the archive, which optionally ends with a hard link to the
+     * second file.
+     */
+    private void writeArchive(String linkName) throws IOException {
+        try (TarArchiveOutputStream taos = new TarArchiveOutputStream(new MultiMemberGzipOutputStream(
+                Files.newOutputStream(_archive), new GzipParameters(), MEMBER_SIZE))) {
+            for (Map.Entry<String, byte[]> file : _contents.entrySet()) {
+                final TarArchiveEntry entry = new TarArchiveEntry(file.getKey());
+                entry.setSize(file.getValue().length);
+                taos.putArchiveEntry(entry);
+                taos.write(file.getValue());
+                taos.closeArchiveEntry();
+            }
+            if (linkName != null) {
+                final TarArchiveEntry link = new TarArchiveEntry(linkName, TarConstants.LF_LINK);
+                link.setLinkName("dir/file1.bin");
+                taos.putArchiveEntry(link);
+                taos.closeArchiveEntry();
+            }
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Settings.getInstance().setProperty("tarGzipIndexEnabled", false);
+        try (Stream<Path> files = Files.walk(_dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testMembersAreReadAsWhole() throws IOException {
+        try (InputStream gcis = GzipCompressorInputStream.builder()
+                .setInputStream(Files.newInputStream(_archive))
+                .setDecompressConcatenated(true)
+                .get();
+             InputStream gmis = new GzipMemberInputStream(Files.newInputStream(_archive), 0, 0, null)) {
+            assertArrayEquals(gcis.readAllBytes(), gmis.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testBuildAndReadIndex() throws IOException {
+        final TarGzipIndex index = TarGzipIndex.build(_archive);
+        assertTrue(index.getCheckpointCount() > 1);
+        assertEquals(_contents.size(), index.getEntries().size());
+
+        assertNull(TarGzipIndex.read(_archive)); // not written yet
+        index.write(_archive);
+        final TarGzipIndex read = TarGzipIndex.read(_archive);
+        assertNotNull(read);
+        assertEquals(index.getCheckpointCount(), read.getCheckpointCount());
+        assertEquals("dir/file3.bin", read.getEntries().get(3).getName());
+        assertEquals(_contents.get("dir/file3.bin").length, read.getEntries().get(3).getSize());
+    }
+
+    @Test
+    public void testExtractUsingIndex() throws Exception {
+        // index is created while extracting the whole archive
+        Settings.getInstance().setProperty("tarGzipIndexEnabled", true);
+        final Path all = Files.createDirectory(_dir.resolve("all"));
+        new TarGzip().extract(all.toString(), _archive.toString());
+        assertTrue(Files.exists(TarGzipIndex.getIndexPath(_archive)));
+        for (Map.Entry<String, byte[]> file : _contents.entrySet()) {
+            assertArrayEquals(file.getValue(), Files.readAllBytes(all.resolve("archive").resolve(file.getKey())));
+        }
+
+        final Path selected = Files.createDirectory(_dir.resolve("selected"));
+        final TarGzip algorithm = new TarGzip();
+        algorithm.setPredicate(name -> name.endsWith("file2.bin") || name.endsWith("file6.bin"));
+        algorithm.extract(selected.toString(), _archive.toString());
+        final File outputFolder = selected.resolve("archive").resolve("dir").toFile();
+        assertEquals(2, outputFolder.list().length);
+        assertArrayEquals(_contents.get("dir/file6.bin"), Files.readAllBytes(outputFolder.toPath().resolve("file6.bin")));
+        assertArrayEquals(_contents.get("dir/file2.bin"), Files.readAllBytes(outputFolder.toPath().resolve("file2.bin")));
+    }
+
+    @Test
+    public void testExtractLinkToSkippedEntryUsingIndex() throws Exception {
+        writeArchive("dir/link.bin");
+        TarGzipIndex.build(_archive).write(_archive);
+        final TarGzip algorithm = new TarGzip();
+        algorithm.setPredicate(name -> name.endsWith("link.bin"));
+        algorithm.extract(_dir.toString(), _archive.toString());
+        final File outputFolder = _dir.resolve("archive").resolve("dir").toFile();
+        assertArrayEquals(new String[]{"link.bin"}, outputFolder.list());
+        assertArrayEquals(_contents.get("dir/file1.bin"), Files.readAllBytes(outputFolder.toPath().resolve("link.bin")));
+    }
+}
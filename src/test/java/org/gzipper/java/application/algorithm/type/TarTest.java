@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm.type;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.gzipper.java.application.ArchiveInfo;
+import org.gzipper.java.application.model.ArchiveType;
+import org.gzipper.java.util.Log;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Matthias Fussenegger
+ */
+public class TarTest {
+
+    private Path _dir;
+
+    private Path _sources;
+
+    private Path _archive;
+
+    @Before
+    public void setUp() throws IOException {
+        _dir = Files.createTempDirectory("gzipper_tar");
+        _sources = Files.createDirectory(_dir.resolve("sources"));
+        _archive = _dir.resolve("archive.tar");
+        final Random random = new Random(42);
+        for (String name : new String[]{"a.bin", "b.bin", "c.bin"}) {
+            final byte[] content = new byte[10_000 + random.nextInt(10_000)];
+            random.nextBytes(content);
+            Files.write(_sources.resolve(name), content);
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(_dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private File[] sources(String... names) {
+        final File[] files = new File[names.length];
+        for (int i = 0; i < names.length; ++i) {
+            files[i] = _sources.resolve(names[i]).toFile();
+        }
+        return files;
+    }
+
+    private Map<String, byte[]> readEntries() throws IOException {
+        final Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (TarArchiveInputStream tis = new TarArchiveInputStream(Files.newInputStream(_archive))) {
+            TarArchiveEntry entry;
+            while ((entry = tis.getNextEntry()) != null) {
+                assertNull("Duplicate entry " + entry.getName(), entries.put(entry.getName(), tis.readAllBytes()));
+            }
+        }
+        return entries;
+    }
+
+    private void assertEntries(String... names) throws IOException {
+        final Map<String, byte[]> entries = readEntries();
+        assertArrayEquals(names, entries.keySet().toArray());
+        for (String name : names) {
+            assertArrayEquals(Files.readAllBytes(_sources.resolve(name)), entries.get(name));
+        }
+    }
+
+    @Test
+    public void testAppend() throws Exception {
+        new Tar().compress(sources("a.bin"), _dir.toString(), "archive.tar");
+        new Tar().update(sources("a.bin", "b.bin"), _dir.toString(), "archive.tar");
+        new Tar().update(sources("c.bin"), _dir.toString(), "archive.tar");
+        assertEntries("a.bin", "b.bin", "c.bin");
+    }
+
+    @Test
+    public void testResumeInterruptedCompression() throws Exception {
+        new Tar().compress(sources("a.bin", "b.bin", "c.bin"), _dir.toString(), "archive.tar");
+        final long completeSize = Files.size(_archive);
+        for (long size : new long[]{completeSize / 2, 512 + 100}) {
+            try (RandomAccessFile file = new RandomAccessFile(_archive.toFile(), "rw")) {
+                file.setLength(size); // simulates an interrupted compression
+            }
+            new Tar().update(sources("a.bin", "b.bin", "c.bin"), _dir.toString(), "archive.tar");
+            assertEntries("a.bin", "b.bin", "c.bin");
+        }
+    }
+
+    @Test
+    public void testUpdateWithDuplicates() throws Exception {
+        Files.copy(_sources.resolve("a.bin"), _sources.resolve("d.bin"));
+        final ArchiveInfo info = new ArchiveInfo(ArchiveType.TAR, "archive.tar", 6,
+                List.of(sources("a.bin", "d.bin")), _dir.toString());
+        info.setDeduplicate(true);
+        new Tar().compress(info);
+
+        final List<LogRecord> warnings = new ArrayList<>();
+        final Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getLevel() == Level.WARNING) {
+                    warnings.add(record);
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Log.setLoggerForUI(TarTest.class.getName());
+        Log.DEFAULT_LOGGER.addHandler(handler);
+        try { // hard links have no size of their own, which must not be reported as modification
+            new Tar().update(sources("a.bin", "d.bin", "c.bin"), _dir.toString(), "archive.tar");
+        } finally {
+            Log.DEFAULT_LOGGER.removeHandler(handler);
+        }
+        assertTrue(warnings.isEmpty());
+        assertArrayEquals(new String[]{"a.bin", "d.bin", "c.bin"}, readEntries().keySet().toArray());
+    }
+}
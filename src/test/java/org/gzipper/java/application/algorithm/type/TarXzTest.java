@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm.type;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarConstants;
+import org.gzipper.java.application.algorithm.ArchiveEntryInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.tukaani.xz.LZMA2Options;
+import org.tukaani.xz.SeekableXZInputStream;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Matthias Fussenegger
+ */
+public class TarXzTest {
+
+    private static final int BLOCK_SIZE = 4096;
+
+    private final Map<String, byte[]> _contents = new LinkedHashMap<>();
+
+    private Path _dir;
+
+    private Path _archive;
+
+    @Before
+    public void setUp() throws IOException {
+        _dir = Files.createTempDirectory("gzipper_xz");
+        _archive = _dir.resolve("archive.txz");
+        final Random random = new Random(42);
+        for (int i = 0; i < 8; ++i) {
+            final byte[] content = new byte[random.nextInt(3 * BLOCK_SIZE)];
+            random.nextBytes(content);
+            _contents.put("dir/file" + i + ".bin", content);
+        }
+        writeArchive(null);
+    }
+
+    /**
+     * Writes the archive, which optionally ends with a hard link to the
+     * second file.
+     */
+    private void writeArchive(String linkName) throws IOException {
+        try (TarArchiveOutputStream taos = new TarArchiveOutputStream(new MultiBlockXZOutputStream(
+                Files.newOutputStream(_archive), new LZMA2Options(1), BLOCK_SIZE))) {
+            for (Map.Entry<String, byte[]> file : _contents.entrySet()) {
+                final TarArchiveEntry entry = new TarArchiveEntry(file.getKey());
+                entry.setSize(file.getValue().length);
+                taos.putArchiveEntry(entry);
+                taos.write(file.getValue());
+                taos.closeArchiveEntry();
+            }
+            if (linkName != null) {
+                final TarArchiveEntry link = new TarArchiveEntry(linkName, TarConstants.LF_LINK);
+                link.setLinkName("dir/file1.bin");
+                taos.putArchiveEntry(link);
+                taos.closeArchiveEntry();
+            }
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(_dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testArchiveConsistsOfBlocks() throws IOException {
+        try (SeekableXZInputStream stream = ParallelXZInputStream.open(_archive.toFile())) {
+            assertTrue(stream.getBlockCount() > 1);
+            assertTrue(stream.getLargestBlockSize() <= BLOCK_SIZE);
+        }
+    }
+
+    @Test
+    public void testExtractInParallel() throws Exception {
+        new TarXz().extract(_dir.toString(), _archive.toString());
+        for (Map.Entry<String, byte[]> file : _contents.entrySet()) {
+            assertArrayEquals(file.getValue(), Files.readAllBytes(_dir.resolve("archive").resolve(file.getKey())));
+        }
+    }
+
+    @Test
+    public void testCloseWhileDecompressing() throws IOException {
+        final byte[] expected;
+        try (SeekableXZInputStream stream = ParallelXZInputStream.open(_archive.toFile())) {
+            expected = stream.readAllBytes();
+        }
+        for (int i = 0; i < 20; ++i) {
+            // blocks ahead of the reader are still being decompressed when closed
+            try (ParallelXZInputStream stream = new ParallelXZInputStream(_archive.toFile(), 4)) {
+                assertTrue(stream.read() >= 0);
+            }
+        }
+        try (ParallelXZInputStream stream = new ParallelXZInputStream(_archive.toFile(), 4)) {
+            assertArrayEquals(expected, stream.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testExtractSelectedEntries() throws Exception {
+        final TarXz algorithm = new TarXz();
+        algorithm.setPredicate(name -> name.endsWith("file2.bin") || name.endsWith("file6.bin"));
+        algorithm.extract(_dir.toString(), _archive.toString());
+        final File outputFolder = _dir.resolve("archive").resolve("dir").toFile();
+        assertEquals(2, outputFolder.list().length);
+        assertArrayEquals(_contents.get("dir/file2.bin"), Files.readAllBytes(outputFolder.toPath().resolve("file2.bin")));
+        assertArrayEquals(_contents.get("dir/file6.bin"), Files.readAllBytes(outputFolder.toPath().resolve("file6.bin")));
+    }
+
+    @Test
+    public void testExtractLinkToUniquelyNamedFile() throws Exception {
+        writeArchive("dir/link.bin");
+        final Path outputFolder = Files.createDirectories(_dir.resolve("archive").resolve("dir"));
+        Files.writeString(outputFolder.resolve("file1.bin"), "stale");
+        new TarXz().extract(_dir.toString(), _archive.toString());
+        // the link is a copy of the extracted file rather than the existing one
+        assertArrayEquals(_contents.get("dir/file1.bin"), Files.readAllBytes(outputFolder.resolve("link.bin")));
+        assertEquals("stale", Files.readString(outputFolder.resolve("file1.bin")));
+    }
+
+    @Test
+    public void testExtractLinkToSkippedEntry() throws Exception {
+        writeArchive("dir/link.bin");
+        final TarXz algorithm = new TarXz();
+        algorithm.setPredicate(name -> name.endsWith("link.bin"));
+        algorithm.extract(_dir.toString(), _archive.toString());
+        final File outputFolder = _dir.resolve("archive").resolve("dir").toFile();
+        assertArrayEquals(new String[]{"link.bin"}, outputFolder.list());
+        assertArrayEquals(_contents.get("dir/file1.bin"), Files.readAllBytes(outputFolder.toPath().resolve("link.bin")));
+    }
+
+    @Test
+    public void testList() throws Exception {
+        final List<ArchiveEntryInfo> entries;
+        try (Stream<ArchiveEntryInfo> stream = new TarXz().list(_archive.toString())) {
+            entries = stream.collect(Collectors.toList());
+        }
+        assertEquals(_contents.size(), entries.size());
+        int i = 0;
+        for (Map.Entry<String, byte[]> file : _contents.entrySet()) {
+            assertEquals(file.getKey(), entries.get(i).getName());
+            assertEquals(file.getValue().length, entries.get(i++).getSize());
+        }
+    }
+}
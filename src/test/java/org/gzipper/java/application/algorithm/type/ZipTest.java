@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.algorithm.type;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.gzipper.java.exceptions.GZipperException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Matthias Fussenegger
+ */
+public class ZipTest {
+
+    private Path _dir;
+
+    private Path _sources;
+
+    @Before
+    public void setUp() throws IOException {
+        _dir = Files.createTempDirectory("gzipper_zip");
+        _sources = Files.createDirectory(_dir.resolve("sources"));
+        Files.writeString(_sources.resolve("a.txt"), "unchanged ".repeat(100));
+        Files.writeString(_sources.resolve("b.txt"), "modified ".repeat(100));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(_dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private File[] sources() {
+        return new File[]{_sources.toFile()};
+    }
+
+    private static byte[] readRaw(ZipFile zipFile, String name) throws IOException {
+        try (InputStream stream = zipFile.getRawInputStream(zipFile.getEntry(name))) {
+            return stream.readAllBytes();
+        }
+    }
+
+    private static String read(ZipFile zipFile, String name) throws IOException {
+        try (InputStream stream = zipFile.getInputStream(zipFile.getEntry(name))) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        final Path archive = _dir.resolve("archive.zip");
+        new Zip().compress(sources(), _dir.toString(), "archive.zip");
+        final byte[] unchanged;
+        try (ZipFile zipFile = ZipFile.builder().setPath(archive).get()) {
+            unchanged = readRaw(zipFile, "sources/a.txt");
+        }
+
+        final Path modified = _sources.resolve("b.txt");
+        Files.writeString(modified, "modified content");
+        Files.setLastModifiedTime(modified, FileTime.fromMillis(
+                Files.getLastModifiedTime(modified).toMillis() + 10_000));
+        Files.writeString(_sources.resolve("c.txt"), "new");
+
+        new Zip().update(sources(), _dir.toString(), "archive.zip");
+        assertFalse(Files.exists(_dir.resolve("archive.zip.tmp")));
+
+        try (ZipFile zipFile = ZipFile.builder().setPath(archive).get()) {
+            assertEquals(3, Collections.list(zipFile.getEntries()).size());
+            assertArrayEquals(unchanged, readRaw(zipFile, "sources/a.txt"));
+            assertEquals("modified content", read(zipFile, "sources/b.txt"));
+            assertEquals("new", read(zipFile, "sources/c.txt"));
+            final ZipArchiveEntry entry = zipFile.getEntry("sources/a.txt");
+            assertEquals("unchanged ".repeat(100), read(zipFile, entry.getName()));
+        }
+    }
+
+    @Test
+    public void testUpdateNotSupported() {
+        try {
+            new TarGzip().update(sources(), _dir.toString(), "archive.tgz");
+            fail("Updating should not be supported");
+        } catch (Exception ex) {
+            assertTrue(ex instanceof IOException);
+            assertTrue(ex.getCause() instanceof GZipperException);
+            assertEquals(GZipperException.Reason.NO_UPDATE_SUPPORTED, ((GZipperException) ex.getCause()).getReason());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.hashing;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Matthias Fussenegger
+ */
+public class ChecksumManifestTest {
+
+    private static final String MD5 = "de0f5d52f214223991ad720af4c19bb0"; // of "gzipper"
+
+    private static final String SHA_256 = "31685001b8f052a6aa701be092231e8f4404bdff1aeb2e0a6214440c16476a5f";
+
+    private static List<ChecksumManifest.Entry> read(String manifest, MessageDigestAlgorithm hint) {
+        try (Stream<ChecksumManifest.Entry> entries = ChecksumManifest.read(
+                new BufferedReader(new StringReader(manifest)), hint)) {
+            return entries.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testReadFormats() {
+        final List<ChecksumManifest.Entry> entries = read("# comment\n"
+                + MD5 + "  text file.txt\n"
+                + SHA_256 + " *binary.bin\n"
+                + "\\" + MD5 + "  back\\\\slash\\nnewline\n"
+                + "SHA256 (tagged file) = " + SHA_256 + "\n"
+                + "\n"
+                + "malformed line\n", null);
+
+        assertEquals(5, entries.size());
+        assertEquals("text file.txt", entries.get(0).getPath());
+        assertEquals(MessageDigestAlgorithm.MD5, entries.get(0).getAlgorithm());
+        assertEquals("binary.bin", entries.get(1).getPath());
+        assertEquals(MessageDigestAlgorithm.SHA_256, entries.get(1).getAlgorithm());
+        assertEquals("back\\slash\nnewline", entries.get(2).getPath());
+        assertEquals("tagged file", entries.get(3).getPath());
+        assertEquals(MessageDigestAlgorithm.SHA_256, entries.get(3).getAlgorithm());
+        assertEquals(5, entries.get(3).getLineNumber());
+        assertFalse(entries.get(4).isValid());
+    }
+
+    @Test
+    public void testGuessAlgorithm() {
+        assertEquals(MessageDigestAlgorithm.SHA_256, ChecksumManifest.guessAlgorithm("SHA256SUMS"));
+        assertEquals(MessageDigestAlgorithm.SHA_1, ChecksumManifest.guessAlgorithm("release.sha1"));
+        assertEquals(MessageDigestAlgorithm.ADLER_32, ChecksumManifest.guessAlgorithm("files.adler32"));
+        assertNull(ChecksumManifest.guessAlgorithm("checksums.txt"));
+        // CRC32C and Adler-32 cannot be distinguished by the length of the digest
+        assertEquals(MessageDigestAlgorithm.ADLER_32, read("0c0d0302  a\n", MessageDigestAlgorithm.ADLER_32).get(0).getAlgorithm());
+    }
+
+    @Test
+    public void testWriteAndReadBack() throws IOException {
+        final StringWriter writer = new StringWriter();
+        ChecksumManifest.write(writer, ChecksumManifest.Format.GNU, MessageDigestAlgorithm.MD5, "dir/a.txt", MD5.toUpperCase());
+        ChecksumManifest.write(writer, ChecksumManifest.Format.BSD, MessageDigestAlgorithm.SHA_256, "b\\c", SHA_256);
+        assertEquals(MD5 + "  dir/a.txt\n\\SHA256 (b\\\\c) = " + SHA_256 + "\n", writer.toString());
+
+        final List<ChecksumManifest.Entry> entries = read(writer.toString(), null);
+        assertEquals("dir/a.txt", entries.get(0).getPath());
+        assertEquals("b\\c", entries.get(1).getPath());
+    }
+
+    @Test
+    public void testVerify() throws IOException, InterruptedException {
+        final Path dir = Files.createTempDirectory("gzipper_manifest");
+        try {
+            Files.writeString(dir.resolve("ok.txt"), "gzipper");
+            Files.writeString(dir.resolve("changed.txt"), "GZipper");
+            final String manifest = MD5 + "  ok.txt\n"
+                    + MD5 + "  changed.txt\n"
+                    + MD5 + "  missing.txt\n"
+                    + "garbage\n";
+
+            final Map<String, ManifestVerifier.Status> results = new ConcurrentHashMap<>();
+            final ManifestVerifier verifier = new ManifestVerifier(dir, 2, false);
+            final ManifestVerifier.Summary summary;
+            try (Stream<ChecksumManifest.Entry> entries = ChecksumManifest.read(
+                    new BufferedReader(new StringReader(manifest)), null)) {
+                summary = verifier.verify(entries,
+                        result -> results.put(result.getEntry().getPath(), result.getStatus()), () -> true);
+            }
+
+            assertEquals(ManifestVerifier.Status.OK, results.get("ok.txt"));
+            assertEquals(ManifestVerifier.Status.MISMATCH, results.get("changed.txt"));
+            assertEquals(ManifestVerifier.Status.MISSING, results.get("missing.txt"));
+            assertEquals(ManifestVerifier.Status.FAILED, results.get("garbage"));
+            assertEquals(1, summary.getCount(ManifestVerifier.Status.OK));
+            assertFalse(summary.isSuccessful());
+        } finally {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+}
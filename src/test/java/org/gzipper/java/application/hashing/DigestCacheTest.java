@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.hashing;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Matthias Fussenegger
+ */
+public class DigestCacheTest {
+
+    private Path _dir;
+
+    private Path _cacheFile;
+
+    @Before
+    public void setUp() throws IOException {
+        _dir = Files.createTempDirectory("gzipper_cache");
+        _cacheFile = _dir.resolve("digests.cache");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> walk = Files.walk(_dir)) {
+            for (Path p : (Iterable<Path>) walk.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static Map<MessageDigestAlgorithm, MessageDigestResult> hash(byte[] bytes) {
+        final Map<MessageDigestAlgorithm, MessageDigestResult> results = new EnumMap<>(MessageDigestAlgorithm.class);
+        results.put(MessageDigestAlgorithm.MD5, MessageDigestProvider.computeHash(bytes, MessageDigestAlgorithm.MD5));
+        results.put(MessageDigestAlgorithm.SHA_256, MessageDigestProvider.computeHash(bytes, MessageDigestAlgorithm.SHA_256));
+        return results;
+    }
+
+    private Path createFile(String name, String content) throws IOException {
+        return Files.writeString(_dir.resolve(name), content);
+    }
+
+    @Test
+    public void testPersistence() throws IOException {
+        final Path file = createFile("a.txt", "gzipper");
+        final FileIdentity identity = FileIdentity.of(file);
+        final Map<MessageDigestAlgorithm, MessageDigestResult> results = hash("gzipper".getBytes());
+
+        try (DigestCache cache = new DigestCache(_cacheFile, 10)) {
+            cache.put(identity, results);
+            assertEquals(results.get(MessageDigestAlgorithm.MD5), cache.get(identity, MessageDigestAlgorithm.MD5).orElseThrow());
+        }
+
+        try (DigestCache cache = new DigestCache(_cacheFile, 10)) {
+            assertEquals(1, cache.size());
+            assertEquals(results.get(MessageDigestAlgorithm.SHA_256),
+                    cache.get(FileIdentity.of(file), MessageDigestAlgorithm.SHA_256).orElseThrow());
+            assertTrue(cache.get(identity, MessageDigestAlgorithm.SHA_1).isEmpty());
+        }
+    }
+
+    @Test
+    public void testModifiedFileIsNotReturned() throws IOException {
+        final Path file = createFile("a.txt", "gzipper");
+        try (DigestCache cache = new DigestCache(_cacheFile, 10)) {
+            cache.put(FileIdentity.of(file), hash("gzipper".getBytes()));
+            Files.writeString(file, "gzipper was modified");
+            assertTrue(cache.get(FileIdentity.of(file), MessageDigestAlgorithm.MD5).isEmpty());
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws IOException {
+        final FileIdentity first = FileIdentity.of(createFile("1.txt", "1"));
+        final FileIdentity second = FileIdentity.of(createFile("2.txt", "2"));
+        final FileIdentity third = FileIdentity.of(createFile("3.txt", "3"));
+
+        try (DigestCache cache = new DigestCache(_cacheFile, 2)) {
+            cache.put(first, hash("1".getBytes()));
+            cache.put(second, hash("2".getBytes()));
+            assertTrue(cache.get(first, MessageDigestAlgorithm.MD5).isPresent()); // first is now most recently used
+            cache.put(third, hash("3".getBytes()));
+            assertTrue(cache.get(second, MessageDigestAlgorithm.MD5).isEmpty());
+        }
+
+        try (DigestCache cache = new DigestCache(_cacheFile, 2)) {
+            assertEquals(2, cache.size());
+            assertTrue(cache.get(first, MessageDigestAlgorithm.MD5).isPresent());
+            assertTrue(cache.get(third, MessageDigestAlgorithm.MD5).isPresent());
+        }
+    }
+
+    @Test
+    public void testTruncatedLogIsRecovered() throws IOException {
+        final FileIdentity first = FileIdentity.of(createFile("1.txt", "1"));
+        final FileIdentity second = FileIdentity.of(createFile("2.txt", "2"));
+        try (DigestCache cache = new DigestCache(_cacheFile, 10)) {
+            cache.put(first, hash("1".getBytes()));
+            cache.put(second, hash("2".getBytes()));
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(_cacheFile.toFile(), "rw")) {
+            raf.setLength(raf.length() - 5); // cut off the last record
+        }
+
+        try (DigestCache cache = new DigestCache(_cacheFile, 10)) {
+            assertTrue(cache.get(first, MessageDigestAlgorithm.MD5).isPresent());
+            assertTrue(cache.get(second, MessageDigestAlgorithm.MD5).isEmpty());
+            cache.put(second, hash("2".getBytes()));
+        }
+
+        try (DigestCache cache = new DigestCache(_cacheFile, 10)) {
+            assertEquals(2, cache.size());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.hashing;
+
+import org.gzipper.java.application.util.TaskHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Matthias Fussenegger
+ */
+public class FileDigestReaderTest {
+
+    private Path _dir;
+
+    @Before
+    public void setUp() throws IOException {
+        _dir = Files.createTempDirectory("gzipper_reader");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(_dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Hashes a file which is mapped into memory window by window, the last
+     * window being smaller than the others, and compares the digest with the
+     * one of the file being read into a buffer.
+     */
+    @Test
+    public void testReadMappedWindows() throws Exception {
+        final int windowSize = 64 * 1024;
+        final byte[] bytes = new byte[5 * windowSize + 1234];
+        new Random(3).nextBytes(bytes);
+        final Path file = Files.write(_dir.resolve("large.bin"), bytes);
+
+        final MessageDigest mapped = MessageDigest.getInstance("SHA-256");
+        final List<Boolean> windows = new ArrayList<>(); // mapped buffers must not be kept
+        assertTrue(FileDigestReader.read(file, ByteBuffer.allocate(4096), buffer -> {
+            windows.add(buffer instanceof MappedByteBuffer);
+            mapped.update(buffer);
+        }, () -> true, windowSize, windowSize));
+        assertEquals(List.of(true, true, true, true, true, true), windows);
+
+        final MessageDigest streamed = MessageDigest.getInstance("SHA-256");
+        assertTrue(FileDigestReader.read(file, ByteBuffer.allocate(4096), streamed::update, () -> true));
+        final byte[] expected = MessageDigest.getInstance("SHA-256").digest(bytes);
+        assertArrayEquals(expected, streamed.digest());
+        assertArrayEquals(expected, mapped.digest());
+    }
+
+    /**
+     * Reading of a mapped file is stopped before the next window as soon as
+     * {@code proceed} returns {@code false}.
+     */
+    @Test
+    public void testReadMappedWindowsStopped() throws Exception {
+        final int windowSize = 64 * 1024;
+        final Path file = Files.write(_dir.resolve("large.bin"), new byte[3 * windowSize]);
+        final int[] windows = {0};
+        assertFalse(FileDigestReader.read(file, ByteBuffer.allocate(4096), buffer -> ++windows[0],
+                () -> windows[0] < 2, windowSize, windowSize));
+        assertEquals(2, windows[0]);
+    }
+
+    /**
+     * Hashes many small files on virtual threads, which only read the files
+     * using buffers borrowed from a {@link ReadBufferPool}, whereas the
+     * digests are updated by platform threads.
+     */
+    @Test
+    public void testReadFilesOnVirtualThreads() throws Exception {
+        final int files = 2000;
+        final int parallelism = 16;
+        final List<Path> paths = new ArrayList<>(files);
+        final List<byte[]> contents = new ArrayList<>(files);
+        final Random random = new Random(2);
+        for (int i = 0; i < files; ++i) {
+            // some files exceed the threshold of updating the digests in parallel
+            final byte[] bytes = new byte[random.nextInt(i % 10 == 0 ? 256 * 1024 : 4096)];
+            random.nextBytes(bytes);
+            paths.add(Files.write(_dir.resolve(i + ".bin"), bytes));
+            contents.add(bytes);
+        }
+
+        final ReadBufferPool pool = new ReadBufferPool(parallelism);
+        final List<MessageDigestAlgorithm> algorithms
+                = List.of(MessageDigestAlgorithm.SHA_256, MessageDigestAlgorithm.MD5);
+        final List<Future<Map<MessageDigestAlgorithm, MessageDigestResult>>> futures = new ArrayList<>(files);
+        try (TaskHandler handler = new TaskHandler(TaskHandler.ExecutorType.VIRTUAL, parallelism);
+             TaskHandler digestHandler = new TaskHandler(TaskHandler.ExecutorType.PARALLEL, parallelism)) {
+            for (Path path : paths) {
+                futures.add(handler.submit(() -> {
+                    assertTrue(Thread.currentThread().isVirtual());
+                    final MultiMessageDigestProvider provider
+                            = MultiMessageDigestProvider.createProvider(algorithms, digestHandler);
+                    final ByteBuffer buffer = pool.acquire();
+                    try {
+                        assertTrue(FileDigestReader.read(path, buffer, provider::updateHash, () -> true));
+                    } finally {
+                        pool.release(buffer);
+                    }
+                    return provider.computeHash();
+                }));
+            }
+            for (int i = 0; i < files; ++i) {
+                final Map<MessageDigestAlgorithm, MessageDigestResult> results = futures.get(i).get();
+                for (MessageDigestAlgorithm algorithm : algorithms) {
+                    assertEquals(MessageDigestProvider.computeHash(contents.get(i), algorithm),
+                            results.get(algorithm));
+                }
+            }
+        }
+        // buffers are reused instead of being allocated by each virtual thread
+        assertTrue(pool.getAllocatedCount() <= parallelism);
+    }
+}
@@ -16,11 +16,21 @@
  */
 package org.gzipper.java.application.hashing;
 
+import org.gzipper.java.application.util.TaskHandler;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  *
@@ -55,6 +65,9 @@ public class MessageDigestProviderImplTest {
                 + "e353764416537f3febf45f9183ddb2e9"
                 + "5e4006dc0fc69d3b59e3570f3201fa14"
                 + "3928adc2560e44eaf11ad25d0b7");
+        _resultMap.put(MessageDigestAlgorithm.CRC32C, "4ebd2422");
+        _resultMap.put(MessageDigestAlgorithm.ADLER_32, "0c0d0302");
+        _resultMap.put(MessageDigestAlgorithm.XXHASH_64, "758a40f2db16abda");
     }
 
     /**
@@ -76,4 +89,86 @@ public class MessageDigestProviderImplTest {
         }
         System.out.println("All tests successful");
     }
+
+    /**
+     * Test of computeHash method, of class MultiMessageDigestProvider.
+     */
+    @Test
+    public void testComputeMultipleHashes() throws NoSuchAlgorithmException {
+        System.out.println("computeMultipleHashes");
+
+        final MultiMessageDigestProvider provider = MultiMessageDigestProvider.createProvider(
+                Arrays.asList(MessageDigestAlgorithm.values()), null);
+        final byte[] bytes = TEST_VALUE.getBytes();
+        provider.updateHash(bytes, 0, bytes.length);
+        provider.computeHash().forEach((algorithm, result) ->
+                assertEquals(_resultMap.get(algorithm).toUpperCase(), result.toString()));
+
+        // large buffers are processed in parallel if a task handler is specified
+        final byte[] largeBytes = new byte[1024 * 1024];
+        new Random(0).nextBytes(largeBytes);
+        try (TaskHandler taskHandler = new TaskHandler(TaskHandler.ExecutorType.PARALLEL)) {
+            final MultiMessageDigestProvider parallelProvider = MultiMessageDigestProvider.createProvider(
+                    Arrays.asList(MessageDigestAlgorithm.values()), taskHandler);
+            parallelProvider.updateHash(largeBytes, 0, largeBytes.length);
+            final Map<MessageDigestAlgorithm, MessageDigestResult> results = parallelProvider.computeHash();
+            assertEquals(MessageDigestAlgorithm.values().length, results.size());
+            results.forEach((algorithm, result) ->
+                    assertEquals(MessageDigestProvider.computeHash(largeBytes, algorithm), result));
+        }
+        System.out.println("All tests successful");
+    }
+
+    /**
+     * Test of read method, of class FileDigestReader.
+     */
+    @Test
+    public void testReadFile() throws IOException, NoSuchAlgorithmException {
+        System.out.println("readFile");
+
+        final byte[] bytes = new byte[FileDigestReader.BUFFER_SIZE * 2 + 17];
+        new Random(1).nextBytes(bytes);
+        final Path file = Files.createTempFile("gzipper_hash", null);
+        try {
+            Files.write(file, bytes);
+            final MessageDigestProvider provider = MessageDigestProvider.createProvider(MessageDigestAlgorithm.SHA_256);
+            assertTrue(FileDigestReader.read(file, provider::updateHash, () -> true));
+            assertEquals(MessageDigestProvider.computeHash(bytes, MessageDigestAlgorithm.SHA_256), provider.computeHash());
+        } finally {
+            Files.delete(file);
+        }
+        System.out.println("All tests successful");
+    }
+
+    /**
+     * Test of class XxHash64 using the test vectors of the reference
+     * implementation, including inputs which are updated in pieces.
+     */
+    @Test
+    public void testXxHash64() {
+        System.out.println("xxHash64");
+
+        final XxHash64 checksum = new XxHash64();
+        assertEquals(0xEF46DB3751D8E999L, checksum.getValue());
+
+        final byte[] bytes = "Nobody inspects the spammish repetition".getBytes();
+        checksum.update(bytes, 0, bytes.length);
+        assertEquals(0xFBCEA83C8A378BF1L, checksum.getValue());
+
+        for (int split = 0; split <= bytes.length; ++split) {
+            checksum.reset();
+            checksum.update(bytes, 0, split);
+            for (int i = split; i < bytes.length; ++i) {
+                checksum.update(bytes[i]);
+            }
+            assertEquals(0xFBCEA83C8A378BF1L, checksum.getValue());
+        }
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        checksum.reset();
+        checksum.update(direct.slice(0, 3));
+        checksum.update(direct.slice(3, bytes.length - 3));
+        assertEquals(0xFBCEA83C8A378BF1L, checksum.getValue());
+        System.out.println("All tests successful");
+    }
 }
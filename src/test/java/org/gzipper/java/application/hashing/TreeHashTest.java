@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.hashing;
+
+import org.gzipper.java.application.util.TaskHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Matthias Fussenegger
+ */
+public class TreeHashTest {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private Path _file;
+
+    private byte[] _bytes;
+
+    @Before
+    public void setUp() throws IOException {
+        _bytes = new byte[CHUNK_SIZE * 5 + 123];
+        new Random(42).nextBytes(_bytes);
+        _file = Files.createTempFile("gzipper_tree", null);
+        Files.write(_file, _bytes);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(_file);
+    }
+
+    @Test
+    public void testFormat() throws IOException, NoSuchAlgorithmException {
+        final TreeHash treeHash = TreeHash.compute(_file, MessageDigestAlgorithm.SHA_256, CHUNK_SIZE, null, () -> true);
+        assertEquals(6, treeHash.getChunkDigests().size());
+
+        // compute expected values according to the documented format
+        final MessageDigestProvider root = MessageDigestProvider.createProvider(MessageDigestAlgorithm.SHA_256);
+        root.updateHash(new byte[]{1}, 0, 1);
+        for (int i = 0; i < 6; ++i) {
+            final int from = i * CHUNK_SIZE, to = Math.min(from + CHUNK_SIZE, _bytes.length);
+            final MessageDigestProvider chunk = MessageDigestProvider.createProvider(MessageDigestAlgorithm.SHA_256);
+            chunk.updateHash(new byte[]{0}, 0, 1);
+            chunk.updateHash(_bytes, from, to - from);
+            final byte[] digest = chunk.computeHash().getHashedBytes();
+            assertArrayEquals(digest, treeHash.getChunkDigests().get(i));
+            root.updateHash(digest, 0, digest.length);
+        }
+        assertEquals(root.computeHash(), treeHash.getRoot());
+    }
+
+    @Test
+    public void testParallelAndExport() throws IOException, NoSuchAlgorithmException {
+        final TreeHash sequential = TreeHash.compute(_file, MessageDigestAlgorithm.XXHASH_64, CHUNK_SIZE, null, () -> true);
+        final TreeHash parallel;
+        try (TaskHandler taskHandler = new TaskHandler(TaskHandler.ExecutorType.PARALLEL, 4)) {
+            parallel = TreeHash.compute(_file, MessageDigestAlgorithm.XXHASH_64, CHUNK_SIZE, taskHandler, () -> true);
+        }
+        assertEquals(sequential.getRoot(), parallel.getRoot());
+
+        final StringWriter writer = new StringWriter();
+        parallel.writeTo(writer);
+        final TreeHash imported = TreeHash.readFrom(new StringReader(writer.toString()));
+        assertEquals(parallel.getRoot(), imported.getRoot());
+        assertEquals(parallel.getSize(), imported.getSize());
+        assertEquals(CHUNK_SIZE, imported.getChunkSize());
+    }
+
+    @Test
+    public void testVerifyChangedRanges() throws IOException, NoSuchAlgorithmException {
+        final TreeHash treeHash = TreeHash.compute(_file, MessageDigestAlgorithm.SHA_1, CHUNK_SIZE, null, () -> true);
+        assertTrue(treeHash.verify(_file, null, null).isEmpty());
+
+        final long offset = CHUNK_SIZE * 2L + 10;
+        try (RandomAccessFile raf = new RandomAccessFile(_file.toFile(), "rw")) {
+            raf.seek(offset);
+            raf.write(~_bytes[(int) offset]);
+        }
+        final List<Integer> range = treeHash.getChunks(offset, 1);
+        assertEquals(List.of(2), range);
+        assertEquals(List.of(2), treeHash.verify(_file, range, null));
+        assertTrue(treeHash.verify(_file, Arrays.asList(0, 1, 3), null).isEmpty());
+        try (TaskHandler taskHandler = new TaskHandler(TaskHandler.ExecutorType.PARALLEL, 2)) {
+            assertEquals(List.of(2), treeHash.verify(_file, null, taskHandler));
+        }
+    }
+
+    @Test
+    public void testVerifyInterrupted() throws Exception {
+        final TreeHash treeHash = TreeHash.compute(_file, MessageDigestAlgorithm.SHA_256, CHUNK_SIZE, null, () -> true);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread current = Thread.currentThread();
+        final Thread interrupter = new Thread(() -> {
+            while (current.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait(); // until waiting for the chunks
+            }
+            current.interrupt();
+        });
+        try (TaskHandler taskHandler = new TaskHandler(TaskHandler.ExecutorType.PARALLEL, 1)) {
+            taskHandler.submit(() -> {
+                release.await(); // occupies the only thread
+                return null;
+            });
+            interrupter.start();
+            treeHash.verify(_file, null, taskHandler);
+            fail("Verification has not been interrupted");
+        } catch (InterruptedIOException ex) {
+            assertTrue(Thread.interrupted());
+        } finally {
+            release.countDown();
+            interrupter.join();
+        }
+    }
+}
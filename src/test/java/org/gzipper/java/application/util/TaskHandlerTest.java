@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.application.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Matthias Fussenegger
+ */
+public class TaskHandlerTest {
+
+    @Test
+    public void testVirtualThreads() throws Exception {
+        final int tasks = 10_000;
+        final int parallelism = 100;
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<Future<Boolean>> futures = new ArrayList<>(tasks);
+
+        try (TaskHandler handler = new TaskHandler(TaskHandler.ExecutorType.VIRTUAL, parallelism)) {
+            for (int i = 0; i < tasks; ++i) {
+                futures.add(handler.submit(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(1); // simulates waiting for I/O
+                    running.decrementAndGet();
+                    return Thread.currentThread().isVirtual();
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        }
+        assertTrue(maxRunning.get() <= parallelism);
+    }
+}
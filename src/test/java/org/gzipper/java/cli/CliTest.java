@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026 Matthias Fussenegger
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.gzipper.java.cli;
+
+import org.gzipper.java.application.hashing.MessageDigestAlgorithm;
+import org.gzipper.java.application.model.ArchiveType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Matthias Fussenegger
+ */
+public class CliTest {
+
+    private Path _dir;
+
+    @BeforeClass
+    public static void setUpClass() {
+        Pipe.initSettings();
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        _dir = Files.createTempDirectory("gzipper_cli");
+        Files.createDirectories(_dir.resolve("sources/sub"));
+        Files.writeString(_dir.resolve("sources/a.txt"), "a");
+        Files.writeString(_dir.resolve("sources/sub/b.txt"), "b");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(_dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static int run(String... args) {
+        return Cli.run(args, new ByteArrayInputStream(new byte[0]),
+                new ByteArrayOutputStream(), new PrintStream(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void testDetectType() {
+        assertEquals(ArchiveType.TAR_GZ, Cli.detectType("archive.tar.gz"));
+        assertEquals(ArchiveType.GZIP, Cli.detectType("file.GZ"));
+        assertEquals(ArchiveType.TAR_XZ, Cli.detectType("archive.txz"));
+        try {
+            Cli.detectType("archive.rar");
+            fail("Archive type should not be detected");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCompressAndExtract() throws IOException {
+        final Path archive = _dir.resolve("archive.tgz");
+        final Path output = _dir.resolve("output");
+        assertEquals(Pipe.EXIT_SUCCESS, run("-c", "-o", archive.toString(), _dir.resolve("sources").toString()));
+        assertTrue(Files.isRegularFile(archive));
+        assertEquals(Pipe.EXIT_SUCCESS, run("-x", "-o", output.toString(), archive.toString()));
+        assertEquals("a", Files.readString(output.resolve("archive/sources/a.txt")));
+        assertEquals("b", Files.readString(output.resolve("archive/sources/sub/b.txt")));
+        assertEquals(Pipe.EXIT_USAGE, run("-c", archive.toString(), "-j", "0"));
+        assertEquals(Pipe.EXIT_FAILURE, run("-x", _dir.resolve("missing.zip").toString()));
+    }
+
+    @Test
+    public void testDigest() throws IOException {
+        final Path archive = _dir.resolve("archive.zip");
+        assertEquals(Pipe.EXIT_SUCCESS, run("-c", "-o", archive.toString(), _dir.resolve("sources").toString()));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final int status = Cli.run(new String[]{"-d", "-a", "md5", "-f", "a\\.txt", archive.toString()},
+                new ByteArrayInputStream(new byte[0]), out, new PrintStream(new ByteArrayOutputStream()));
+        assertEquals(Pipe.EXIT_SUCCESS, status);
+        // digest of "a", followed by the name of the entry
+        assertEquals("0cc175b9c0f1b6a831c399e269772661  sources/a.txt\n", out.toString(StandardCharsets.UTF_8));
+
+        assertEquals(MessageDigestAlgorithm.SHA_256, Cli.parseAlgorithm("SHA-256"));
+        assertEquals(Pipe.EXIT_USAGE, run("-d", "-a", "sha3", archive.toString()));
+        assertEquals(Pipe.EXIT_USAGE, run("-d", "-x", archive.toString()));
+    }
+
+    @Test
+    public void testBatch() throws IOException {
+        final Path jobFile = _dir.resolve("jobs.properties");
+        Files.writeString(jobFile, String.join("\n",
+                "threads=2",
+                "1.mode=compress",
+                "1.type=zip",
+                "1.files=sources/a.txt, sources/sub",
+                "1.separate=true",
+                "2.mode=compress",
+                "2.files=missing",
+                "2.type=tar"));
+        final ByteArrayOutputStream report = new ByteArrayOutputStream();
+        final int status = Cli.run(new String[]{"-b", jobFile.toString()}, new ByteArrayInputStream(new byte[0]),
+                report, new PrintStream(new ByteArrayOutputStream()));
+
+        assertEquals(Pipe.EXIT_FAILURE, status);
+        assertTrue(Files.isRegularFile(_dir.resolve("a.txt.zip")));
+        assertTrue(Files.isRegularFile(_dir.resolve("sub.zip")));
+        final String[] lines = report.toString(StandardCharsets.UTF_8).split("\\R");
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].startsWith("1,compress,") && lines[1].contains(",success,"));
+        assertTrue(lines[2].startsWith("1,compress,") && lines[2].contains(",success,"));
+        assertTrue(lines[3].startsWith("2,compress,,failure,"));
+    }
+}